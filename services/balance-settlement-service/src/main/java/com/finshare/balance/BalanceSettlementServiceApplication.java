@@ -2,6 +2,7 @@ package com.finshare.balance;
 
 import org.springframework.boot.SpringApplication;
 import org.springframework.boot.autoconfigure.SpringBootApplication;
+import org.springframework.scheduling.annotation.EnableScheduling;
 
 /**
  * Main application class for the FinShare Balance & Settlement Service.
@@ -13,6 +14,7 @@ import org.springframework.boot.autoconfigure.SpringBootApplication;
  * - Integration with external payment systems
  */
 @SpringBootApplication
+@EnableScheduling
 public class BalanceSettlementServiceApplication {
 
     public static void main(String[] args) {
@@ -0,0 +1,31 @@
+package com.finshare.balance.config;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+
+import java.util.concurrent.ThreadPoolExecutor;
+
+/**
+ * Configuration for the bounded executor running per-chunk reads of multi-group requests.
+ *
+ * The pool and its queue are both bounded; once they are full the request thread runs
+ * the work itself, so a burst of large requests slows down instead of queueing without limit.
+ */
+@Configuration
+public class FanOutExecutorConfig {
+
+    @Bean(name = "balanceFanOutExecutor")
+    public ThreadPoolTaskExecutor balanceFanOutExecutor(
+            @Value("${finshare.balance.fan-out.threads:8}") int threads,
+            @Value("${finshare.balance.fan-out.queue-capacity:100}") int queueCapacity) {
+        ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+        executor.setCorePoolSize(threads);
+        executor.setMaxPoolSize(threads);
+        executor.setQueueCapacity(queueCapacity);
+        executor.setThreadNamePrefix("balance-fan-out-");
+        executor.setRejectedExecutionHandler(new ThreadPoolExecutor.CallerRunsPolicy());
+        return executor;
+    }
+}
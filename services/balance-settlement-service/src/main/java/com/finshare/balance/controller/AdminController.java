@@ -0,0 +1,67 @@
+package com.finshare.balance.controller;
+
+import com.finshare.balance.service.BalanceLedgerService;
+import com.finshare.balance.service.TransactionCompactionService;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import java.util.Map;
+
+/**
+ * REST controller for operational maintenance of the balance service.
+ * 
+ * Provides endpoints for:
+ * - Rebuilding the materialized balance projections from transactions
+ * - Archiving old settled transactions on demand
+ */
+@RestController
+@RequestMapping("/api/admin")
+public class AdminController {
+
+    private final BalanceLedgerService balanceLedgerService;
+    private final TransactionCompactionService transactionCompactionService;
+
+    @Autowired
+    public AdminController(BalanceLedgerService balanceLedgerService,
+                         TransactionCompactionService transactionCompactionService) {
+        this.balanceLedgerService = balanceLedgerService;
+        this.transactionCompactionService = transactionCompactionService;
+    }
+
+    /**
+     * Rebuild all balance projections (group, per-user and per-counterparty) from unsettled transactions.
+     * 
+     * @return Number of transactions replayed into the projections
+     */
+    @PostMapping("/balances/rebuild")
+    public ResponseEntity<Map<String, Object>> rebuildBalances() {
+        long replayed = balanceLedgerService.rebuildAll();
+        
+        return ResponseEntity.ok(Map.of(
+            "status", "rebuilt",
+            "transactionsReplayed", replayed,
+            "timestamp", java.time.Instant.now().toString()
+        ));
+    }
+
+    /**
+     * Archive settled transactions now instead of waiting for the scheduled run.
+     * 
+     * @param settledBefore Cutoff; defaults to the configured retention period
+     * @return Number of transactions archived
+     */
+    @PostMapping("/transactions/compact")
+    public ResponseEntity<Map<String, Object>> compactTransactions(
+            @RequestParam(required = false) java.time.Instant settledBefore) {
+        long archived = settledBefore != null
+            ? transactionCompactionService.compact(settledBefore)
+            : transactionCompactionService.compactExpired();
+        
+        return ResponseEntity.ok(Map.of(
+            "status", "compacted",
+            "transactionsArchived", archived,
+            "timestamp", java.time.Instant.now().toString()
+        ));
+    }
+}
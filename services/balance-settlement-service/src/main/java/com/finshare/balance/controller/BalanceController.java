@@ -2,37 +2,41 @@ package com.finshare.balance.controller;
 
 import com.finshare.balance.dto.GroupBalanceDto;
 import com.finshare.balance.dto.OverallBalanceDto;
+import com.finshare.balance.dto.PairwiseBalanceDto;
 import com.finshare.balance.dto.SimplifiedDebtsDto;
 import com.finshare.balance.service.BalanceCalculationService;
 import com.finshare.balance.service.DebtSimplificationService;
-import com.finshare.balance.service.TransactionSyncService;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 
+import java.time.Instant;
+import java.util.List;
+import java.util.Map;
+
 /**
  * REST controller for balance-related operations.
  * 
  * Provides endpoints for:
  * - Overall user balance calculations
- * - Group-specific balance queries
- * - Debt simplification algorithms
+ * - Group-specific balance queries, singly or for many groups at once
+ * - Pairwise balances with a single counterparty
+ * - Debt simplification algorithms, per group or across a user's groups
  */
 @RestController
 @RequestMapping("/api")
 public class BalanceController {
 
+    private static final int MAX_GROUPS_PER_REQUEST = 100;
+
     private final BalanceCalculationService balanceCalculationService;
     private final DebtSimplificationService debtSimplificationService;
-    private final TransactionSyncService transactionSyncService;
 
     @Autowired
     public BalanceController(BalanceCalculationService balanceCalculationService,
-                           DebtSimplificationService debtSimplificationService,
-                           TransactionSyncService transactionSyncService) {
+                           DebtSimplificationService debtSimplificationService) {
         this.balanceCalculationService = balanceCalculationService;
         this.debtSimplificationService = debtSimplificationService;
-        this.transactionSyncService = transactionSyncService;
     }
 
     /**
@@ -49,22 +53,77 @@ public class BalanceController {
         return ResponseEntity.ok(balance);
     }
 
+    /**
+     * Get a settlement plan for the authenticated user across all groups they belong to.
+     * 
+     * The user's balances with each counterparty are netted across their shared groups,
+     * so two users sharing several groups settle with a single payment. Each payment lists
+     * the amount to record in each group, as a payment of that amount between the two users.
+     * 
+     * @param userId The authenticated user ID (injected by API Gateway)
+     * @return One payment per counterparty with its per-group allocations
+     */
+    @GetMapping("/balances/me/simplified-debts")
+    public ResponseEntity<SimplifiedDebtsDto> getNetworkSimplifiedDebts(
+            @RequestHeader("X-Authenticated-User-ID") String userId) {
+        
+        return ResponseEntity.ok(debtSimplificationService.simplifyUserNetworkDebts(userId));
+    }
+
+    /**
+     * Get balance information for several groups in one request, e.g. for the home screen.
+     * 
+     * @param ids IDs of the groups to query (1-100, comma-separated or repeated)
+     * @param userId The authenticated user ID (injected by API Gateway)
+     * @return Balance information keyed by group ID, or 400 Bad Request for too few or too many IDs
+     */
+    @GetMapping("/balances/groups")
+    public ResponseEntity<Map<String, GroupBalanceDto>> getGroupsBalances(
+            @RequestParam List<String> ids,
+            @RequestHeader("X-Authenticated-User-ID") String userId) {
+        
+        if (ids.isEmpty() || ids.size() > MAX_GROUPS_PER_REQUEST) {
+            return ResponseEntity.badRequest().build();
+        }
+        return ResponseEntity.ok(balanceCalculationService.calculateGroupBalances(ids, userId));
+    }
+
+    /**
+     * Get the net balance between the authenticated user and one counterparty.
+     * 
+     * @param counterpartyId The other user's ID
+     * @param userId The authenticated user ID (injected by API Gateway)
+     * @return Net balance (positive when the counterparty owes the user) with a per-group breakdown
+     */
+    @GetMapping("/balances/counterparties/{counterpartyId}")
+    public ResponseEntity<PairwiseBalanceDto> getPairwiseBalance(
+            @PathVariable String counterpartyId,
+            @RequestHeader("X-Authenticated-User-ID") String userId) {
+        
+        PairwiseBalanceDto balance = balanceCalculationService.calculatePairwiseBalance(userId, counterpartyId);
+        return ResponseEntity.ok(balance);
+    }
+
     /**
      * Get balance information for all users within a specific group.
      * 
+     * Transactions arrive as events from the Group & Expense Service, so this read
+     * never calls another service.
+     * 
      * @param groupId The ID of the group to query
+     * @param asOf Optional point in time (ISO-8601) to report past balances instead of current ones
      * @param userId The authenticated user ID (injected by API Gateway)
      * @return Balance information for all group members
      */
     @GetMapping("/groups/{groupId}/balances")
     public ResponseEntity<GroupBalanceDto> getGroupBalances(
             @PathVariable String groupId,
+            @RequestParam(required = false) Instant asOf,
             @RequestHeader("X-Authenticated-User-ID") String userId) {
         
-        // Auto-sync transactions for this group to ensure we have latest data
-        transactionSyncService.syncGroupTransactions(groupId);
-        
-        GroupBalanceDto balances = balanceCalculationService.calculateGroupBalances(groupId, userId);
+        GroupBalanceDto balances = asOf != null
+            ? balanceCalculationService.calculateGroupBalancesAsOf(groupId, userId, asOf)
+            : balanceCalculationService.calculateGroupBalances(groupId, userId);
         return ResponseEntity.ok(balances);
     }
 
@@ -72,7 +131,8 @@ public class BalanceController {
      * Get simplified debt settlement plan for a group.
      * 
      * Applies the debt simplification algorithm to reduce complex IOUs
-     * into the minimum number of payments required.
+     * into the minimum number of payments required. The plan is cached per group
+     * and only recomputed after a transaction or settlement changes the group.
      * 
      * @param groupId The ID of the group to simplify debts for
      * @param userId The authenticated user ID (injected by API Gateway)
@@ -83,9 +143,6 @@ public class BalanceController {
             @PathVariable String groupId,
             @RequestHeader("X-Authenticated-User-ID") String userId) {
         
-        // Ensure we have test data for demonstration
-        transactionSyncService.createTestTransactions(groupId, "dev-user-644", "dev-user-545");
-        
         SimplifiedDebtsDto simplifiedDebts = debtSimplificationService.simplifyGroupDebts(groupId, userId);
         return ResponseEntity.ok(simplifiedDebts);
     }
@@ -1,10 +1,15 @@
 package com.finshare.balance.controller;
 
+import com.finshare.balance.dto.GroupBalanceDto;
 import com.finshare.balance.dto.RecordPaymentDto;
-import com.finshare.balance.entity.Transaction;
+import com.finshare.balance.dto.SettlementHistoryDto;
+import com.finshare.balance.service.BalanceCalculationService;
 import com.finshare.balance.service.SettlementService;
 import jakarta.validation.Valid;
+import jakarta.validation.constraints.NotEmpty;
+import jakarta.validation.constraints.Size;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 
@@ -16,7 +21,7 @@ import java.util.Map;
  * REST controller for settlement-related operations.
  * 
  * Provides endpoints for:
- * - Recording manual payments
+ * - Recording manual payments, singly or as a batch
  * - Generating payment deep links
  * - Settlement history tracking
  */
@@ -24,11 +29,17 @@ import java.util.Map;
 @RequestMapping("/api/settlements")
 public class SettlementController {
 
+    private static final int MAX_HISTORY_PAGE_SIZE = 100;
+    private static final int MAX_BATCH_SIZE = 100;
+
     private final SettlementService settlementService;
+    private final BalanceCalculationService balanceCalculationService;
 
     @Autowired
-    public SettlementController(SettlementService settlementService) {
+    public SettlementController(SettlementService settlementService,
+                              BalanceCalculationService balanceCalculationService) {
         this.settlementService = settlementService;
+        this.balanceCalculationService = balanceCalculationService;
     }
 
     /**
@@ -51,6 +62,34 @@ public class SettlementController {
         return ResponseEntity.noContent().build();
     }
 
+    /**
+     * Record several payments in one group at once, e.g. a whole simplified debt plan.
+     * 
+     * All payments are applied in a single transaction: either every payment is
+     * recorded or none is. Payments without a {@code fromUserId} are made by the
+     * authenticated user, who must be the payer or the recipient of each payment.
+     * 
+     * @param payments Payments in the same group (1-100)
+     * @param userId The authenticated user ID (injected by API Gateway)
+     * @return The group's balances after the payments, 400 Bad Request if they span several groups,
+     *         or 403 Forbidden if one is between two other users
+     */
+    @PostMapping("/batch")
+    public ResponseEntity<GroupBalanceDto> recordPayments(
+            @RequestBody @NotEmpty @Size(max = MAX_BATCH_SIZE) List<@Valid RecordPaymentDto> payments,
+            @RequestHeader("X-Authenticated-User-ID") String userId) {
+        
+        String groupId;
+        try {
+            groupId = settlementService.recordPayments(userId, payments);
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().build();
+        } catch (SecurityException e) {
+            return ResponseEntity.status(HttpStatus.FORBIDDEN).build();
+        }
+        return ResponseEntity.ok(balanceCalculationService.calculateGroupBalances(groupId, userId));
+    }
+
     /**
      * Generate a deep link for external payment apps.
      * 
@@ -80,17 +119,27 @@ public class SettlementController {
     }
 
     /**
-     * Get settlement history for the authenticated user.
+     * Get settlement history for the authenticated user, newest first, a page at a time.
      * 
      * @param userId The authenticated user ID (injected by API Gateway)
-     * @return List of settlement transactions
+     * @param cursor The {@code nextCursor} of the previous page; omit for the first page
+     * @param limit Maximum settlements per page (1-100)
+     * @return Page of settlement transactions, or 400 Bad Request for an invalid cursor or limit
      */
     @GetMapping("/history")
-    public ResponseEntity<List<Transaction>> getSettlementHistory(
-            @RequestHeader("X-Authenticated-User-ID") String userId) {
+    public ResponseEntity<SettlementHistoryDto> getSettlementHistory(
+            @RequestHeader("X-Authenticated-User-ID") String userId,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "20") int limit) {
         
-        List<Transaction> history = settlementService.getSettlementHistory(userId);
-        return ResponseEntity.ok(history);
+        if (limit < 1 || limit > MAX_HISTORY_PAGE_SIZE) {
+            return ResponseEntity.badRequest().build();
+        }
+        try {
+            return ResponseEntity.ok(settlementService.getSettlementHistory(userId, cursor, limit));
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().build();
+        }
     }
 
     /**
@@ -0,0 +1,77 @@
+package com.finshare.balance.controller;
+
+import com.finshare.balance.dto.TransactionEventDto;
+import com.finshare.balance.service.TransactionEventService;
+import jakarta.validation.ConstraintViolation;
+import jakarta.validation.Validator;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * REST controller receiving events from other FinShare services.
+ * 
+ * Internal endpoint, not routed by the API Gateway.
+ */
+@RestController
+@RequestMapping("/internal")
+public class TransactionEventController {
+
+    private final TransactionEventService transactionEventService;
+    private final Validator validator;
+
+    @Autowired
+    public TransactionEventController(TransactionEventService transactionEventService,
+                                    Validator validator) {
+        this.transactionEventService = transactionEventService;
+        this.validator = validator;
+    }
+
+    /**
+     * Apply a batch of transaction events from the Group & Expense Service outbox.
+     * 
+     * The batch is validated as a whole before anything is applied. An invalid event
+     * is answered with 400 Bad Request, which the relay does not retry.
+     * 
+     * @param events Events in publication order
+     * @return Number of events received and applied, or 400 Bad Request listing the invalid fields
+     */
+    @PostMapping("/transaction-events")
+    public ResponseEntity<Map<String, Object>> receiveTransactionEvents(
+            @RequestBody List<TransactionEventDto> events) {
+        
+        List<String> errors = validate(events);
+        if (!errors.isEmpty()) {
+            return ResponseEntity.badRequest().body(Map.of("errors", errors));
+        }
+        
+        int applied = transactionEventService.applyEvents(events);
+        
+        return ResponseEntity.ok(Map.of(
+            "received", events.size(),
+            "applied", applied
+        ));
+    }
+
+    private List<String> validate(List<TransactionEventDto> events) {
+        List<String> errors = new ArrayList<>();
+        if (events.isEmpty()) {
+            errors.add("At least one event is required");
+        }
+        for (int i = 0; i < events.size(); i++) {
+            TransactionEventDto event = events.get(i);
+            if (event == null) {
+                errors.add("[" + i + "]: Event is required");
+                continue;
+            }
+            for (ConstraintViolation<TransactionEventDto> violation : validator.validate(event)) {
+                errors.add("[" + i + "]." + violation.getPropertyPath() + ": " + violation.getMessage());
+            }
+        }
+        return errors;
+    }
+}
@@ -1,6 +1,7 @@
 package com.finshare.balance.dto;
 
 import java.math.BigDecimal;
+import java.util.Map;
 
 /**
  * DTO representing a user's overall financial position across all groups.
@@ -10,6 +11,7 @@ public class OverallBalanceDto {
     private BigDecimal netBalance;
     private BigDecimal totalOwedToYou;
     private BigDecimal totalYouOwe;
+    private Map<String, BigDecimal> counterpartyBalances;
 
     // Constructors
     public OverallBalanceDto() {}
@@ -20,6 +22,12 @@ public class OverallBalanceDto {
         this.totalYouOwe = totalYouOwe;
     }
 
+    public OverallBalanceDto(BigDecimal netBalance, BigDecimal totalOwedToYou, BigDecimal totalYouOwe,
+                             Map<String, BigDecimal> counterpartyBalances) {
+        this(netBalance, totalOwedToYou, totalYouOwe);
+        this.counterpartyBalances = counterpartyBalances;
+    }
+
     // Getters and Setters
     public BigDecimal getNetBalance() {
         return netBalance;
@@ -44,4 +52,12 @@ public class OverallBalanceDto {
     public void setTotalYouOwe(BigDecimal totalYouOwe) {
         this.totalYouOwe = totalYouOwe;
     }
+
+    public Map<String, BigDecimal> getCounterpartyBalances() {
+        return counterpartyBalances;
+    }
+
+    public void setCounterpartyBalances(Map<String, BigDecimal> counterpartyBalances) {
+        this.counterpartyBalances = counterpartyBalances;
+    }
 }
\ No newline at end of file
@@ -0,0 +1,49 @@
+package com.finshare.balance.dto;
+
+import java.math.BigDecimal;
+import java.util.Map;
+
+/**
+ * DTO representing the net balance between the authenticated user and one counterparty.
+ * Positive amounts mean the counterparty owes the user.
+ */
+public class PairwiseBalanceDto {
+
+    private String counterpartyId;
+    private BigDecimal netBalance;
+    private Map<String, BigDecimal> groupBalances;
+
+    // Constructors
+    public PairwiseBalanceDto() {}
+
+    public PairwiseBalanceDto(String counterpartyId, BigDecimal netBalance, Map<String, BigDecimal> groupBalances) {
+        this.counterpartyId = counterpartyId;
+        this.netBalance = netBalance;
+        this.groupBalances = groupBalances;
+    }
+
+    // Getters and Setters
+    public String getCounterpartyId() {
+        return counterpartyId;
+    }
+
+    public void setCounterpartyId(String counterpartyId) {
+        this.counterpartyId = counterpartyId;
+    }
+
+    public BigDecimal getNetBalance() {
+        return netBalance;
+    }
+
+    public void setNetBalance(BigDecimal netBalance) {
+        this.netBalance = netBalance;
+    }
+
+    public Map<String, BigDecimal> getGroupBalances() {
+        return groupBalances;
+    }
+
+    public void setGroupBalances(Map<String, BigDecimal> groupBalances) {
+        this.groupBalances = groupBalances;
+    }
+}
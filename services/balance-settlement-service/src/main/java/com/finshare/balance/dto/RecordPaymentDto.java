@@ -1,5 +1,6 @@
 package com.finshare.balance.dto;
 
+import jakarta.validation.constraints.Digits;
 import jakarta.validation.constraints.NotBlank;
 import jakarta.validation.constraints.NotNull;
 import jakarta.validation.constraints.Positive;
@@ -13,11 +14,18 @@ public class RecordPaymentDto {
     @NotBlank(message = "Group ID is required")
     private String groupId;
     
+    /**
+     * Payer, for batch settlements where the recipient records payments made to them.
+     * Defaults to the authenticated user; ignored for a single recorded payment.
+     */
+    private String fromUserId;
+    
     @NotBlank(message = "Recipient user ID is required")
     private String toUserId;
     
     @NotNull(message = "Payment amount is required")
     @Positive(message = "Payment amount must be positive")
+    @Digits(integer = 17, fraction = 2, message = "Payment amount must have at most two decimal places")
     private BigDecimal amount;
 
     private String description;
@@ -40,6 +48,14 @@ public class RecordPaymentDto {
         this.groupId = groupId;
     }
 
+    public String getFromUserId() {
+        return fromUserId;
+    }
+
+    public void setFromUserId(String fromUserId) {
+        this.fromUserId = fromUserId;
+    }
+
     public String getToUserId() {
         return toUserId;
     }
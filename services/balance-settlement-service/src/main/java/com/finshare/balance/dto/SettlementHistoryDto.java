@@ -0,0 +1,42 @@
+package com.finshare.balance.dto;
+
+import com.finshare.balance.entity.Transaction;
+
+import java.util.List;
+
+/**
+ * DTO representing one page of a user's settlement history, newest first.
+ */
+public class SettlementHistoryDto {
+
+    private List<Transaction> settlements;
+    private String nextCursor;
+
+    // Constructors
+    public SettlementHistoryDto() {}
+
+    public SettlementHistoryDto(List<Transaction> settlements, String nextCursor) {
+        this.settlements = settlements;
+        this.nextCursor = nextCursor;
+    }
+
+    // Getters and Setters
+    public List<Transaction> getSettlements() {
+        return settlements;
+    }
+
+    public void setSettlements(List<Transaction> settlements) {
+        this.settlements = settlements;
+    }
+
+    /**
+     * Cursor for the following page, or null if this is the last page.
+     */
+    public String getNextCursor() {
+        return nextCursor;
+    }
+
+    public void setNextCursor(String nextCursor) {
+        this.nextCursor = nextCursor;
+    }
+}
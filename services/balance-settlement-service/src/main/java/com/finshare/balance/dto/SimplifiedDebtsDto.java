@@ -1,6 +1,7 @@
 package com.finshare.balance.dto;
 
 import java.util.List;
+import java.util.Map;
 
 /**
  * DTO representing the optimized payment plan for a group after debt simplification.
@@ -32,6 +33,8 @@ public class SimplifiedDebtsDto {
         private String fromUserId;
         private String toUserId;
         private java.math.BigDecimal amount;
+        // Cross-group plans only: amount to record per group, negative when paid the other way
+        private Map<String, java.math.BigDecimal> groupAllocations;
 
         // Constructors
         public PaymentInstruction() {}
@@ -42,6 +45,12 @@ public class SimplifiedDebtsDto {
             this.amount = amount;
         }
 
+        public PaymentInstruction(String fromUserId, String toUserId, java.math.BigDecimal amount,
+                                  Map<String, java.math.BigDecimal> groupAllocations) {
+            this(fromUserId, toUserId, amount);
+            this.groupAllocations = groupAllocations;
+        }
+
         // Getters and Setters
         public String getFromUserId() {
             return fromUserId;
@@ -66,5 +75,13 @@ public class SimplifiedDebtsDto {
         public void setAmount(java.math.BigDecimal amount) {
             this.amount = amount;
         }
+
+        public Map<String, java.math.BigDecimal> getGroupAllocations() {
+            return groupAllocations;
+        }
+
+        public void setGroupAllocations(Map<String, java.math.BigDecimal> groupAllocations) {
+            this.groupAllocations = groupAllocations;
+        }
     }
 }
\ No newline at end of file
@@ -0,0 +1,181 @@
+package com.finshare.balance.dto;
+
+import jakarta.validation.Valid;
+import jakarta.validation.constraints.Digits;
+import jakarta.validation.constraints.NotBlank;
+import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.Positive;
+import java.math.BigDecimal;
+import java.time.Instant;
+
+/**
+ * DTO for a transaction event published by the Group & Expense Service.
+ */
+public class TransactionEventDto {
+
+    public static final String TRANSACTION_CREATED = "TRANSACTION_CREATED";
+    public static final String TRANSACTION_DELETED = "TRANSACTION_DELETED";
+
+    @NotBlank(message = "Event ID is required")
+    private String eventId;
+
+    @NotBlank(message = "Event type is required")
+    private String eventType;
+
+    @NotBlank(message = "Group ID is required")
+    private String groupId;
+
+    private Instant occurredAt;
+
+    @Valid
+    @NotNull(message = "Event payload is required")
+    private TransactionPayload payload;
+
+    // Constructors
+    public TransactionEventDto() {}
+
+    public TransactionEventDto(String eventId, String eventType, String groupId, TransactionPayload payload) {
+        this.eventId = eventId;
+        this.eventType = eventType;
+        this.groupId = groupId;
+        this.payload = payload;
+    }
+
+    // Getters and Setters
+    public String getEventId() {
+        return eventId;
+    }
+
+    public void setEventId(String eventId) {
+        this.eventId = eventId;
+    }
+
+    public String getEventType() {
+        return eventType;
+    }
+
+    public void setEventType(String eventType) {
+        this.eventType = eventType;
+    }
+
+    public String getGroupId() {
+        return groupId;
+    }
+
+    public void setGroupId(String groupId) {
+        this.groupId = groupId;
+    }
+
+    public Instant getOccurredAt() {
+        return occurredAt;
+    }
+
+    public void setOccurredAt(Instant occurredAt) {
+        this.occurredAt = occurredAt;
+    }
+
+    public TransactionPayload getPayload() {
+        return payload;
+    }
+
+    public void setPayload(TransactionPayload payload) {
+        this.payload = payload;
+    }
+
+    /**
+     * Inner class representing the transaction carried by the event.
+     */
+    public static class TransactionPayload {
+        @NotBlank(message = "Transaction ID is required")
+        private String transactionId;
+
+        @NotBlank(message = "Expense ID is required")
+        private String expenseId;
+
+        @NotBlank(message = "Group ID is required")
+        private String groupId;
+
+        @NotBlank(message = "Debtor user ID is required")
+        private String fromUserId;
+
+        @NotBlank(message = "Creditor user ID is required")
+        private String toUserId;
+
+        @NotNull(message = "Transaction amount is required")
+        @Positive(message = "Transaction amount must be positive")
+        @Digits(integer = 17, fraction = 2, message = "Transaction amount must have at most two decimal places")
+        private BigDecimal amount;
+
+        private Instant createdAt;
+
+        // Constructors
+        public TransactionPayload() {}
+
+        public TransactionPayload(String transactionId, String expenseId, String groupId,
+                                  String fromUserId, String toUserId, BigDecimal amount) {
+            this.transactionId = transactionId;
+            this.expenseId = expenseId;
+            this.groupId = groupId;
+            this.fromUserId = fromUserId;
+            this.toUserId = toUserId;
+            this.amount = amount;
+        }
+
+        // Getters and Setters
+        public String getTransactionId() {
+            return transactionId;
+        }
+
+        public void setTransactionId(String transactionId) {
+            this.transactionId = transactionId;
+        }
+
+        public String getExpenseId() {
+            return expenseId;
+        }
+
+        public void setExpenseId(String expenseId) {
+            this.expenseId = expenseId;
+        }
+
+        public String getGroupId() {
+            return groupId;
+        }
+
+        public void setGroupId(String groupId) {
+            this.groupId = groupId;
+        }
+
+        public String getFromUserId() {
+            return fromUserId;
+        }
+
+        public void setFromUserId(String fromUserId) {
+            this.fromUserId = fromUserId;
+        }
+
+        public String getToUserId() {
+            return toUserId;
+        }
+
+        public void setToUserId(String toUserId) {
+            this.toUserId = toUserId;
+        }
+
+        public BigDecimal getAmount() {
+            return amount;
+        }
+
+        public void setAmount(BigDecimal amount) {
+            this.amount = amount;
+        }
+
+        public Instant getCreatedAt() {
+            return createdAt;
+        }
+
+        public void setCreatedAt(Instant createdAt) {
+            this.createdAt = createdAt;
+        }
+    }
+}
@@ -0,0 +1,132 @@
+package com.finshare.balance.entity;
+
+import jakarta.persistence.*;
+import jakarta.validation.constraints.NotBlank;
+import jakarta.validation.constraints.NotNull;
+import java.math.BigDecimal;
+import java.time.Instant;
+
+/**
+ * Settled debt transaction moved out of the hot {@code transactions} table by compaction.
+ *
+ * Archived rows no longer take part in balance calculations or settlement; they are kept
+ * for audit, and their totals are summarized per group in {@link GroupArchiveCheckpoint}.
+ */
+@Entity
+@Table(name = "archived_transactions", indexes = {
+    @Index(name = "idx_archived_transactions_group_settled", columnList = "group_id, settled_at")
+})
+public class ArchivedTransaction {
+
+    @Id
+    @Column(name = "transaction_id")
+    private String transactionId;
+
+    @NotBlank
+    @Column(name = "group_id", nullable = false)
+    private String groupId;
+
+    @NotBlank
+    @Column(name = "expense_id", nullable = false)
+    private String expenseId;
+
+    @NotBlank
+    @Column(name = "from_user_id", nullable = false)
+    private String fromUserId;
+
+    @NotBlank
+    @Column(name = "to_user_id", nullable = false)
+    private String toUserId;
+
+    @NotNull
+    @Column(name = "amount", nullable = false, precision = 19, scale = 2)
+    private BigDecimal amount;
+
+    @NotNull
+    @Column(name = "created_at", nullable = false)
+    private Instant createdAt;
+
+    @NotNull
+    @Column(name = "settled_at", nullable = false)
+    private Instant settledAt;
+
+    @NotNull
+    @Column(name = "archived_at", nullable = false)
+    private Instant archivedAt;
+
+    // Constructors
+    public ArchivedTransaction() {}
+
+    // Getters and Setters
+    public String getTransactionId() {
+        return transactionId;
+    }
+
+    public void setTransactionId(String transactionId) {
+        this.transactionId = transactionId;
+    }
+
+    public String getGroupId() {
+        return groupId;
+    }
+
+    public void setGroupId(String groupId) {
+        this.groupId = groupId;
+    }
+
+    public String getExpenseId() {
+        return expenseId;
+    }
+
+    public void setExpenseId(String expenseId) {
+        this.expenseId = expenseId;
+    }
+
+    public String getFromUserId() {
+        return fromUserId;
+    }
+
+    public void setFromUserId(String fromUserId) {
+        this.fromUserId = fromUserId;
+    }
+
+    public String getToUserId() {
+        return toUserId;
+    }
+
+    public void setToUserId(String toUserId) {
+        this.toUserId = toUserId;
+    }
+
+    public BigDecimal getAmount() {
+        return amount;
+    }
+
+    public void setAmount(BigDecimal amount) {
+        this.amount = amount;
+    }
+
+    public Instant getCreatedAt() {
+        return createdAt;
+    }
+
+    public void setCreatedAt(Instant createdAt) {
+        this.createdAt = createdAt;
+    }
+
+    public Instant getSettledAt() {
+        return settledAt;
+    }
+
+    public void setSettledAt(Instant settledAt) {
+        this.settledAt = settledAt;
+    }
+
+    public Instant getArchivedAt() {
+        return archivedAt;
+    }
+
+    public void setArchivedAt(Instant archivedAt) {
+        this.archivedAt = archivedAt;
+    }
+}
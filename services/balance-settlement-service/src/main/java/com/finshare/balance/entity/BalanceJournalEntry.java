@@ -0,0 +1,108 @@
+package com.finshare.balance.entity;
+
+import jakarta.persistence.*;
+import jakarta.validation.constraints.NotBlank;
+import jakarta.validation.constraints.NotNull;
+import java.math.BigDecimal;
+import java.time.Instant;
+
+/**
+ * One change applied to a group's balances: fromUser owes toUser {@code amount} more
+ * (negative when a debt is settled or removed).
+ *
+ * The journal is append-only and numbered per group, so a group's balances at any
+ * point in time are its latest earlier {@link GroupBalanceSnapshot} plus the entries
+ * recorded after it.
+ */
+@Entity
+@Table(name = "balance_journal_entries")
+@IdClass(GroupSequenceId.class)
+public class BalanceJournalEntry {
+
+    @Id
+    @NotBlank
+    @Column(name = "group_id", nullable = false)
+    private String groupId;
+
+    @Id
+    @Column(name = "sequence", nullable = false)
+    private long sequence;
+
+    @NotBlank
+    @Column(name = "from_user_id", nullable = false)
+    private String fromUserId;
+
+    @NotBlank
+    @Column(name = "to_user_id", nullable = false)
+    private String toUserId;
+
+    @NotNull
+    @Column(name = "amount", nullable = false, precision = 19, scale = 2)
+    private BigDecimal amount;
+
+    @NotNull
+    @Column(name = "recorded_at", nullable = false)
+    private Instant recordedAt;
+
+    // Constructors
+    public BalanceJournalEntry() {}
+
+    public BalanceJournalEntry(String groupId, long sequence, String fromUserId, String toUserId,
+                               BigDecimal amount, Instant recordedAt) {
+        this.groupId = groupId;
+        this.sequence = sequence;
+        this.fromUserId = fromUserId;
+        this.toUserId = toUserId;
+        this.amount = amount;
+        this.recordedAt = recordedAt;
+    }
+
+    // Getters and Setters
+    public String getGroupId() {
+        return groupId;
+    }
+
+    public void setGroupId(String groupId) {
+        this.groupId = groupId;
+    }
+
+    public long getSequence() {
+        return sequence;
+    }
+
+    public void setSequence(long sequence) {
+        this.sequence = sequence;
+    }
+
+    public String getFromUserId() {
+        return fromUserId;
+    }
+
+    public void setFromUserId(String fromUserId) {
+        this.fromUserId = fromUserId;
+    }
+
+    public String getToUserId() {
+        return toUserId;
+    }
+
+    public void setToUserId(String toUserId) {
+        this.toUserId = toUserId;
+    }
+
+    public BigDecimal getAmount() {
+        return amount;
+    }
+
+    public void setAmount(BigDecimal amount) {
+        this.amount = amount;
+    }
+
+    public Instant getRecordedAt() {
+        return recordedAt;
+    }
+
+    public void setRecordedAt(Instant recordedAt) {
+        this.recordedAt = recordedAt;
+    }
+}
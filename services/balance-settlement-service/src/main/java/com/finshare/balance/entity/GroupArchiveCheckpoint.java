@@ -0,0 +1,101 @@
+package com.finshare.balance.entity;
+
+import jakarta.persistence.*;
+import jakarta.validation.constraints.NotBlank;
+import jakarta.validation.constraints.NotNull;
+import java.math.BigDecimal;
+import java.time.Instant;
+
+/**
+ * Running summary of a group's archived (settled and compacted) debt transactions.
+ *
+ * Together with the rows still in the hot table this gives a group's full settled
+ * history totals without reading the archive.
+ */
+@Entity
+@Table(name = "group_archive_checkpoints")
+public class GroupArchiveCheckpoint {
+
+    @Id
+    @NotBlank
+    @Column(name = "group_id", nullable = false)
+    private String groupId;
+
+    @Column(name = "archived_count", nullable = false)
+    private long archivedCount;
+
+    @NotNull
+    @Column(name = "archived_amount", nullable = false, precision = 19, scale = 2)
+    private BigDecimal archivedAmount = BigDecimal.ZERO;
+
+    /** Latest settledAt among the archived transactions. */
+    @Column(name = "archived_through")
+    private Instant archivedThrough;
+
+    @NotNull
+    @Column(name = "updated_at", nullable = false)
+    private Instant updatedAt;
+
+    // Constructors
+    public GroupArchiveCheckpoint() {
+        this.updatedAt = Instant.now();
+    }
+
+    public GroupArchiveCheckpoint(String groupId) {
+        this();
+        this.groupId = groupId;
+    }
+
+    /**
+     * Fold a compacted batch of the group's transactions into the checkpoint.
+     */
+    public void add(long count, BigDecimal amount, Instant latestSettledAt) {
+        this.archivedCount += count;
+        this.archivedAmount = this.archivedAmount.add(amount);
+        if (archivedThrough == null || latestSettledAt.isAfter(archivedThrough)) {
+            this.archivedThrough = latestSettledAt;
+        }
+        this.updatedAt = Instant.now();
+    }
+
+    // Getters and Setters
+    public String getGroupId() {
+        return groupId;
+    }
+
+    public void setGroupId(String groupId) {
+        this.groupId = groupId;
+    }
+
+    public long getArchivedCount() {
+        return archivedCount;
+    }
+
+    public void setArchivedCount(long archivedCount) {
+        this.archivedCount = archivedCount;
+    }
+
+    public BigDecimal getArchivedAmount() {
+        return archivedAmount;
+    }
+
+    public void setArchivedAmount(BigDecimal archivedAmount) {
+        this.archivedAmount = archivedAmount;
+    }
+
+    public Instant getArchivedThrough() {
+        return archivedThrough;
+    }
+
+    public void setArchivedThrough(Instant archivedThrough) {
+        this.archivedThrough = archivedThrough;
+    }
+
+    public Instant getUpdatedAt() {
+        return updatedAt;
+    }
+
+    public void setUpdatedAt(Instant updatedAt) {
+        this.updatedAt = updatedAt;
+    }
+}
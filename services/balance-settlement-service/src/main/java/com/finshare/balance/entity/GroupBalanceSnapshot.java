@@ -0,0 +1,88 @@
+package com.finshare.balance.entity;
+
+import jakarta.persistence.*;
+import jakarta.validation.constraints.NotBlank;
+import jakarta.validation.constraints.NotNull;
+import java.math.BigDecimal;
+import java.time.Instant;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * A group's member balances as they stood after the journal entry with the same sequence.
+ *
+ * Taken every few journal entries, so reconstructing a group's balances at a point in
+ * time replays a bounded number of entries however long the group's history is.
+ */
+@Entity
+@Table(name = "group_balance_snapshots", indexes = {
+    @Index(name = "idx_group_balance_snapshots_taken", columnList = "group_id, taken_at")
+})
+@IdClass(GroupSequenceId.class)
+public class GroupBalanceSnapshot {
+
+    @Id
+    @NotBlank
+    @Column(name = "group_id", nullable = false)
+    private String groupId;
+
+    @Id
+    @Column(name = "sequence", nullable = false)
+    private long sequence;
+
+    @NotNull
+    @Column(name = "taken_at", nullable = false)
+    private Instant takenAt;
+
+    @ElementCollection
+    @CollectionTable(name = "group_balance_snapshot_members", joinColumns = {
+        @JoinColumn(name = "group_id", referencedColumnName = "group_id"),
+        @JoinColumn(name = "sequence", referencedColumnName = "sequence")
+    })
+    @MapKeyColumn(name = "user_id")
+    @Column(name = "balance", nullable = false, precision = 19, scale = 2)
+    private Map<String, BigDecimal> balances = new HashMap<>();
+
+    // Constructors
+    public GroupBalanceSnapshot() {}
+
+    public GroupBalanceSnapshot(String groupId, long sequence, Instant takenAt, Map<String, BigDecimal> balances) {
+        this.groupId = groupId;
+        this.sequence = sequence;
+        this.takenAt = takenAt;
+        this.balances = new HashMap<>(balances);
+    }
+
+    // Getters and Setters
+    public String getGroupId() {
+        return groupId;
+    }
+
+    public void setGroupId(String groupId) {
+        this.groupId = groupId;
+    }
+
+    public long getSequence() {
+        return sequence;
+    }
+
+    public void setSequence(long sequence) {
+        this.sequence = sequence;
+    }
+
+    public Instant getTakenAt() {
+        return takenAt;
+    }
+
+    public void setTakenAt(Instant takenAt) {
+        this.takenAt = takenAt;
+    }
+
+    public Map<String, BigDecimal> getBalances() {
+        return balances;
+    }
+
+    public void setBalances(Map<String, BigDecimal> balances) {
+        this.balances = balances;
+    }
+}
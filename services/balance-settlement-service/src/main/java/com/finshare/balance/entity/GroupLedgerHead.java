@@ -0,0 +1,92 @@
+package com.finshare.balance.entity;
+
+import jakarta.persistence.*;
+import jakarta.validation.constraints.NotBlank;
+import jakarta.validation.constraints.NotNull;
+import java.time.Instant;
+
+/**
+ * Position of a group's balance journal: the last sequence number handed out and the
+ * sequence of the group's latest balance snapshot.
+ *
+ * Locked by every change to the group's balances, which numbers the group's journal
+ * entries in the order the changes commit. The sequence doubles as the version of the
+ * group's balances for cached results (see {@code GroupVersionTracker}).
+ */
+@Entity
+@Table(name = "group_ledger_heads")
+public class GroupLedgerHead {
+
+    @Id
+    @NotBlank
+    @Column(name = "group_id", nullable = false)
+    private String groupId;
+
+    @Column(name = "sequence", nullable = false)
+    private long sequence;
+
+    @Column(name = "snapshot_sequence", nullable = false)
+    private long snapshotSequence;
+
+    @NotNull
+    @Column(name = "updated_at", nullable = false)
+    private Instant updatedAt;
+
+    // Constructors
+    public GroupLedgerHead() {
+        this.updatedAt = Instant.now();
+    }
+
+    public GroupLedgerHead(String groupId) {
+        this();
+        this.groupId = groupId;
+    }
+
+    /**
+     * Hand out the next sequence number of the group's journal.
+     */
+    public long next() {
+        this.updatedAt = Instant.now();
+        return ++sequence;
+    }
+
+    /**
+     * Number of journal entries recorded since the latest snapshot.
+     */
+    public long entriesSinceSnapshot() {
+        return sequence - snapshotSequence;
+    }
+
+    // Getters and Setters
+    public String getGroupId() {
+        return groupId;
+    }
+
+    public void setGroupId(String groupId) {
+        this.groupId = groupId;
+    }
+
+    public long getSequence() {
+        return sequence;
+    }
+
+    public void setSequence(long sequence) {
+        this.sequence = sequence;
+    }
+
+    public long getSnapshotSequence() {
+        return snapshotSequence;
+    }
+
+    public void setSnapshotSequence(long snapshotSequence) {
+        this.snapshotSequence = snapshotSequence;
+    }
+
+    public Instant getUpdatedAt() {
+        return updatedAt;
+    }
+
+    public void setUpdatedAt(Instant updatedAt) {
+        this.updatedAt = updatedAt;
+    }
+}
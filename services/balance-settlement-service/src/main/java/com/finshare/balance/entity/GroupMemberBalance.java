@@ -0,0 +1,90 @@
+package com.finshare.balance.entity;
+
+import jakarta.persistence.*;
+import jakarta.validation.constraints.NotBlank;
+import jakarta.validation.constraints.NotNull;
+import java.math.BigDecimal;
+import java.time.Instant;
+
+/**
+ * Materialized net balance of a single member within a group.
+ *
+ * Maintained incrementally whenever an unsettled transaction is recorded or settled,
+ * so that group balance reads cost O(members) instead of re-summing the group's history.
+ * A positive balance means the member is owed money; negative means the member owes.
+ */
+@Entity
+@Table(name = "group_member_balance")
+@IdClass(GroupMemberBalanceId.class)
+public class GroupMemberBalance {
+
+    @Id
+    @NotBlank
+    @Column(name = "group_id", nullable = false)
+    private String groupId;
+
+    @Id
+    @NotBlank
+    @Column(name = "user_id", nullable = false)
+    private String userId;
+
+    @NotNull
+    @Column(name = "balance", nullable = false, precision = 19, scale = 2)
+    private BigDecimal balance = BigDecimal.ZERO;
+
+    @NotNull
+    @Column(name = "updated_at", nullable = false)
+    private Instant updatedAt;
+
+    // Constructors
+    public GroupMemberBalance() {
+        this.updatedAt = Instant.now();
+    }
+
+    public GroupMemberBalance(String groupId, String userId) {
+        this();
+        this.groupId = groupId;
+        this.userId = userId;
+    }
+
+    /**
+     * Apply a signed change to this member's balance.
+     */
+    public void adjust(BigDecimal delta) {
+        this.balance = this.balance.add(delta);
+        this.updatedAt = Instant.now();
+    }
+
+    // Getters and Setters
+    public String getGroupId() {
+        return groupId;
+    }
+
+    public void setGroupId(String groupId) {
+        this.groupId = groupId;
+    }
+
+    public String getUserId() {
+        return userId;
+    }
+
+    public void setUserId(String userId) {
+        this.userId = userId;
+    }
+
+    public BigDecimal getBalance() {
+        return balance;
+    }
+
+    public void setBalance(BigDecimal balance) {
+        this.balance = balance;
+    }
+
+    public Instant getUpdatedAt() {
+        return updatedAt;
+    }
+
+    public void setUpdatedAt(Instant updatedAt) {
+        this.updatedAt = updatedAt;
+    }
+}
@@ -0,0 +1,42 @@
+package com.finshare.balance.entity;
+
+import java.io.Serializable;
+import java.util.Objects;
+
+/**
+ * Composite primary key for {@link GroupMemberBalance}.
+ */
+public class GroupMemberBalanceId implements Serializable {
+
+    private String groupId;
+    private String userId;
+
+    // Constructors
+    public GroupMemberBalanceId() {}
+
+    public GroupMemberBalanceId(String groupId, String userId) {
+        this.groupId = groupId;
+        this.userId = userId;
+    }
+
+    // Getters
+    public String getGroupId() {
+        return groupId;
+    }
+
+    public String getUserId() {
+        return userId;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) return true;
+        if (!(o instanceof GroupMemberBalanceId that)) return false;
+        return Objects.equals(groupId, that.groupId) && Objects.equals(userId, that.userId);
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hash(groupId, userId);
+    }
+}
@@ -0,0 +1,43 @@
+package com.finshare.balance.entity;
+
+import java.io.Serializable;
+import java.util.Objects;
+
+/**
+ * Composite primary key for rows numbered by a per-group sequence,
+ * {@link BalanceJournalEntry} and {@link GroupBalanceSnapshot}.
+ */
+public class GroupSequenceId implements Serializable {
+
+    private String groupId;
+    private long sequence;
+
+    // Constructors
+    public GroupSequenceId() {}
+
+    public GroupSequenceId(String groupId, long sequence) {
+        this.groupId = groupId;
+        this.sequence = sequence;
+    }
+
+    // Getters
+    public String getGroupId() {
+        return groupId;
+    }
+
+    public long getSequence() {
+        return sequence;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) return true;
+        if (!(o instanceof GroupSequenceId that)) return false;
+        return sequence == that.sequence && Objects.equals(groupId, that.groupId);
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hash(groupId, sequence);
+    }
+}
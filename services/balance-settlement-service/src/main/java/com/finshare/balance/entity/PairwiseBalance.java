@@ -0,0 +1,129 @@
+package com.finshare.balance.entity;
+
+import jakarta.persistence.*;
+import jakarta.validation.constraints.NotBlank;
+import jakarta.validation.constraints.NotNull;
+import java.math.BigDecimal;
+import java.time.Instant;
+
+/**
+ * Materialized net balance between two users within a group.
+ *
+ * Each pair is stored once in canonical order ({@code userA < userB}); a positive
+ * {@code netAmount} means userB owes userA, a negative one means userA owes userB.
+ */
+@Entity
+@Table(name = "pairwise_balance", indexes = {
+    @Index(name = "idx_pairwise_balance_pair", columnList = "user_a, user_b"),
+    @Index(name = "idx_pairwise_balance_user_b", columnList = "user_b")
+})
+@IdClass(PairwiseBalanceId.class)
+public class PairwiseBalance {
+
+    @Id
+    @NotBlank
+    @Column(name = "user_a", nullable = false)
+    private String userA;
+
+    @Id
+    @NotBlank
+    @Column(name = "user_b", nullable = false)
+    private String userB;
+
+    @Id
+    @NotBlank
+    @Column(name = "group_id", nullable = false)
+    private String groupId;
+
+    @NotNull
+    @Column(name = "net_amount", nullable = false, precision = 19, scale = 2)
+    private BigDecimal netAmount = BigDecimal.ZERO;
+
+    @NotNull
+    @Column(name = "updated_at", nullable = false)
+    private Instant updatedAt;
+
+    // Constructors
+    public PairwiseBalance() {
+        this.updatedAt = Instant.now();
+    }
+
+    public PairwiseBalance(String userA, String userB, String groupId) {
+        this();
+        this.userA = userA;
+        this.userB = userB;
+        this.groupId = groupId;
+    }
+
+    /**
+     * Build the canonical key for a pair of users in a group.
+     */
+    public static PairwiseBalanceId keyOf(String user1, String user2, String groupId) {
+        return user1.compareTo(user2) <= 0
+            ? new PairwiseBalanceId(user1, user2, groupId)
+            : new PairwiseBalanceId(user2, user1, groupId);
+    }
+
+    /**
+     * Record that fromUser owes toUser {@code amount} more (negative amounts reduce the debt).
+     */
+    public void applyDebt(String fromUserId, BigDecimal amount) {
+        this.netAmount = fromUserId.equals(userB) ? netAmount.add(amount) : netAmount.subtract(amount);
+        this.updatedAt = Instant.now();
+    }
+
+    /**
+     * Net balance from the given user's point of view: positive when the other user owes them.
+     */
+    public BigDecimal netAmountFor(String userId) {
+        return userId.equals(userA) ? netAmount : netAmount.negate();
+    }
+
+    /**
+     * The other user of this pair.
+     */
+    public String counterpartyOf(String userId) {
+        return userId.equals(userA) ? userB : userA;
+    }
+
+    // Getters and Setters
+    public String getUserA() {
+        return userA;
+    }
+
+    public void setUserA(String userA) {
+        this.userA = userA;
+    }
+
+    public String getUserB() {
+        return userB;
+    }
+
+    public void setUserB(String userB) {
+        this.userB = userB;
+    }
+
+    public String getGroupId() {
+        return groupId;
+    }
+
+    public void setGroupId(String groupId) {
+        this.groupId = groupId;
+    }
+
+    public BigDecimal getNetAmount() {
+        return netAmount;
+    }
+
+    public void setNetAmount(BigDecimal netAmount) {
+        this.netAmount = netAmount;
+    }
+
+    public Instant getUpdatedAt() {
+        return updatedAt;
+    }
+
+    public void setUpdatedAt(Instant updatedAt) {
+        this.updatedAt = updatedAt;
+    }
+}
@@ -0,0 +1,49 @@
+package com.finshare.balance.entity;
+
+import java.io.Serializable;
+import java.util.Objects;
+
+/**
+ * Composite primary key for {@link PairwiseBalance}.
+ */
+public class PairwiseBalanceId implements Serializable {
+
+    private String userA;
+    private String userB;
+    private String groupId;
+
+    // Constructors
+    public PairwiseBalanceId() {}
+
+    public PairwiseBalanceId(String userA, String userB, String groupId) {
+        this.userA = userA;
+        this.userB = userB;
+        this.groupId = groupId;
+    }
+
+    // Getters
+    public String getUserA() {
+        return userA;
+    }
+
+    public String getUserB() {
+        return userB;
+    }
+
+    public String getGroupId() {
+        return groupId;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) return true;
+        if (!(o instanceof PairwiseBalanceId that)) return false;
+        return Objects.equals(userA, that.userA) && Objects.equals(userB, that.userB)
+            && Objects.equals(groupId, that.groupId);
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hash(userA, userB, groupId);
+    }
+}
@@ -0,0 +1,66 @@
+package com.finshare.balance.entity;
+
+import jakarta.persistence.*;
+import jakarta.validation.constraints.NotBlank;
+import jakarta.validation.constraints.NotNull;
+import java.time.Instant;
+
+/**
+ * Record of an event already applied from another service.
+ *
+ * Events are delivered at least once; an event whose ID is present here
+ * is a redelivery and must not be applied again.
+ */
+@Entity
+@Table(name = "processed_events")
+public class ProcessedEvent {
+
+    @Id
+    @NotBlank
+    @Column(name = "event_id", nullable = false)
+    private String eventId;
+
+    @NotBlank
+    @Column(name = "event_type", nullable = false)
+    private String eventType;
+
+    @NotNull
+    @Column(name = "processed_at", nullable = false)
+    private Instant processedAt;
+
+    // Constructors
+    public ProcessedEvent() {
+        this.processedAt = Instant.now();
+    }
+
+    public ProcessedEvent(String eventId, String eventType) {
+        this();
+        this.eventId = eventId;
+        this.eventType = eventType;
+    }
+
+    // Getters and Setters
+    public String getEventId() {
+        return eventId;
+    }
+
+    public void setEventId(String eventId) {
+        this.eventId = eventId;
+    }
+
+    public String getEventType() {
+        return eventType;
+    }
+
+    public void setEventType(String eventType) {
+        this.eventType = eventType;
+    }
+
+    public Instant getProcessedAt() {
+        return processedAt;
+    }
+
+    public void setProcessedAt(Instant processedAt) {
+        this.processedAt = processedAt;
+    }
+}
@@ -10,11 +10,31 @@ import java.time.Instant;
 /**
  * Entity representing a financial transaction between users.
  * This mirrors the transaction data created by the Group & Expense Service.
+ * 
+ * Indexes follow the repository's access paths: unsettled rows by group, by debtor,
+ * by creditor, and between a debtor and creditor in a group in allocation order
+ * (which also covers the ID and amount columns the settlement scan reads), plus settled
+ * payments made and received by a user, newest first, for the settlement history, and
+ * settled rows by age for compaction.
  */
 @Entity
-@Table(name = "transactions")
+@Table(name = "transactions", indexes = {
+    @Index(name = "idx_transactions_group_settled", columnList = "group_id, is_settled"),
+    @Index(name = "idx_transactions_from_settled", columnList = "from_user_id, is_settled"),
+    @Index(name = "idx_transactions_to_settled", columnList = "to_user_id, is_settled"),
+    @Index(name = "idx_transactions_pair_allocation",
+           columnList = "group_id, from_user_id, to_user_id, is_settled, created_at, transaction_id, amount"),
+    @Index(name = "idx_transactions_from_history",
+           columnList = "from_user_id, expense_id, is_settled, settled_at, transaction_id"),
+    @Index(name = "idx_transactions_to_history",
+           columnList = "to_user_id, expense_id, is_settled, settled_at, transaction_id"),
+    @Index(name = "idx_transactions_settled_at", columnList = "is_settled, settled_at")
+})
 public class Transaction {
 
+    /** Expense ID recorded on manual settlement payments. */
+    public static final String SETTLEMENT_EXPENSE_ID = "SETTLEMENT";
+
     @Id
     @Column(name = "transaction_id")
     private String transactionId;
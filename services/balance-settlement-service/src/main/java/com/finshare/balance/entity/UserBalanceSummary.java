@@ -0,0 +1,94 @@
+package com.finshare.balance.entity;
+
+import jakarta.persistence.*;
+import jakarta.validation.constraints.NotBlank;
+import jakarta.validation.constraints.NotNull;
+import java.math.BigDecimal;
+import java.time.Instant;
+
+/**
+ * Materialized overall position of a user across all groups.
+ *
+ * Holds the gross totals of unsettled debts owed to and owed by the user,
+ * maintained incrementally alongside {@link GroupMemberBalance}.
+ */
+@Entity
+@Table(name = "user_balance_summary")
+public class UserBalanceSummary {
+
+    @Id
+    @NotBlank
+    @Column(name = "user_id", nullable = false)
+    private String userId;
+
+    @NotNull
+    @Column(name = "total_owed_to_user", nullable = false, precision = 19, scale = 2)
+    private BigDecimal totalOwedToUser = BigDecimal.ZERO;
+
+    @NotNull
+    @Column(name = "total_user_owes", nullable = false, precision = 19, scale = 2)
+    private BigDecimal totalUserOwes = BigDecimal.ZERO;
+
+    @NotNull
+    @Column(name = "updated_at", nullable = false)
+    private Instant updatedAt;
+
+    // Constructors
+    public UserBalanceSummary() {
+        this.updatedAt = Instant.now();
+    }
+
+    public UserBalanceSummary(String userId) {
+        this();
+        this.userId = userId;
+    }
+
+    /**
+     * Apply signed changes to the gross totals.
+     */
+    public void adjust(BigDecimal owedToUserDelta, BigDecimal userOwesDelta) {
+        this.totalOwedToUser = this.totalOwedToUser.add(owedToUserDelta);
+        this.totalUserOwes = this.totalUserOwes.add(userOwesDelta);
+        this.updatedAt = Instant.now();
+    }
+
+    /**
+     * Net position: positive when the user is owed money overall.
+     */
+    public BigDecimal getNetBalance() {
+        return totalOwedToUser.subtract(totalUserOwes);
+    }
+
+    // Getters and Setters
+    public String getUserId() {
+        return userId;
+    }
+
+    public void setUserId(String userId) {
+        this.userId = userId;
+    }
+
+    public BigDecimal getTotalOwedToUser() {
+        return totalOwedToUser;
+    }
+
+    public void setTotalOwedToUser(BigDecimal totalOwedToUser) {
+        this.totalOwedToUser = totalOwedToUser;
+    }
+
+    public BigDecimal getTotalUserOwes() {
+        return totalUserOwes;
+    }
+
+    public void setTotalUserOwes(BigDecimal totalUserOwes) {
+        this.totalUserOwes = totalUserOwes;
+    }
+
+    public Instant getUpdatedAt() {
+        return updatedAt;
+    }
+
+    public void setUpdatedAt(Instant updatedAt) {
+        this.updatedAt = updatedAt;
+    }
+}
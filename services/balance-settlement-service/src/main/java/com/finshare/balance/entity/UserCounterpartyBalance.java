@@ -0,0 +1,109 @@
+package com.finshare.balance.entity;
+
+import jakarta.persistence.*;
+import jakarta.validation.constraints.NotBlank;
+import jakarta.validation.constraints.NotNull;
+import java.math.BigDecimal;
+import java.time.Instant;
+
+/**
+ * Materialized breakdown of a user's unsettled debts with a single counterparty, across all groups.
+ *
+ * Each debt is recorded twice, once from each user's point of view, so a user's
+ * breakdown can be read with a single indexed lookup on {@code user_id}.
+ */
+@Entity
+@Table(name = "user_counterparty_balance")
+@IdClass(UserCounterpartyBalanceId.class)
+public class UserCounterpartyBalance {
+
+    @Id
+    @NotBlank
+    @Column(name = "user_id", nullable = false)
+    private String userId;
+
+    @Id
+    @NotBlank
+    @Column(name = "counterparty_id", nullable = false)
+    private String counterpartyId;
+
+    @NotNull
+    @Column(name = "owed_to_user", nullable = false, precision = 19, scale = 2)
+    private BigDecimal owedToUser = BigDecimal.ZERO;
+
+    @NotNull
+    @Column(name = "user_owes", nullable = false, precision = 19, scale = 2)
+    private BigDecimal userOwes = BigDecimal.ZERO;
+
+    @NotNull
+    @Column(name = "updated_at", nullable = false)
+    private Instant updatedAt;
+
+    // Constructors
+    public UserCounterpartyBalance() {
+        this.updatedAt = Instant.now();
+    }
+
+    public UserCounterpartyBalance(String userId, String counterpartyId) {
+        this();
+        this.userId = userId;
+        this.counterpartyId = counterpartyId;
+    }
+
+    /**
+     * Apply signed changes to the gross amounts.
+     */
+    public void adjust(BigDecimal owedToUserDelta, BigDecimal userOwesDelta) {
+        this.owedToUser = this.owedToUser.add(owedToUserDelta);
+        this.userOwes = this.userOwes.add(userOwesDelta);
+        this.updatedAt = Instant.now();
+    }
+
+    /**
+     * Net position with the counterparty: positive when the counterparty owes the user.
+     */
+    public BigDecimal getNetBalance() {
+        return owedToUser.subtract(userOwes);
+    }
+
+    // Getters and Setters
+    public String getUserId() {
+        return userId;
+    }
+
+    public void setUserId(String userId) {
+        this.userId = userId;
+    }
+
+    public String getCounterpartyId() {
+        return counterpartyId;
+    }
+
+    public void setCounterpartyId(String counterpartyId) {
+        this.counterpartyId = counterpartyId;
+    }
+
+    public BigDecimal getOwedToUser() {
+        return owedToUser;
+    }
+
+    public void setOwedToUser(BigDecimal owedToUser) {
+        this.owedToUser = owedToUser;
+    }
+
+    public BigDecimal getUserOwes() {
+        return userOwes;
+    }
+
+    public void setUserOwes(BigDecimal userOwes) {
+        this.userOwes = userOwes;
+    }
+
+    public Instant getUpdatedAt() {
+        return updatedAt;
+    }
+
+    public void setUpdatedAt(Instant updatedAt) {
+        this.updatedAt = updatedAt;
+    }
+}
@@ -0,0 +1,42 @@
+package com.finshare.balance.entity;
+
+import java.io.Serializable;
+import java.util.Objects;
+
+/**
+ * Composite primary key for {@link UserCounterpartyBalance}.
+ */
+public class UserCounterpartyBalanceId implements Serializable {
+
+    private String userId;
+    private String counterpartyId;
+
+    // Constructors
+    public UserCounterpartyBalanceId() {}
+
+    public UserCounterpartyBalanceId(String userId, String counterpartyId) {
+        this.userId = userId;
+        this.counterpartyId = counterpartyId;
+    }
+
+    // Getters
+    public String getUserId() {
+        return userId;
+    }
+
+    public String getCounterpartyId() {
+        return counterpartyId;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) return true;
+        if (!(o instanceof UserCounterpartyBalanceId that)) return false;
+        return Objects.equals(userId, that.userId) && Objects.equals(counterpartyId, that.counterpartyId);
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hash(userId, counterpartyId);
+    }
+}
@@ -0,0 +1,36 @@
+package com.finshare.balance.repository;
+
+import com.finshare.balance.entity.ArchivedTransaction;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.Instant;
+import java.util.Collection;
+import java.util.Set;
+
+/**
+ * Repository interface for settled transactions moved out of the hot table.
+ */
+@Repository
+public interface ArchivedTransactionRepository extends JpaRepository<ArchivedTransaction, String> {
+
+    /**
+     * Copy the given transactions into the archive in a single statement.
+     */
+    @Modifying(flushAutomatically = true)
+    @Query("INSERT INTO ArchivedTransaction (transactionId, groupId, expenseId, fromUserId, toUserId, amount, " +
+           "createdAt, settledAt, archivedAt) " +
+           "SELECT t.transactionId, t.groupId, t.expenseId, t.fromUserId, t.toUserId, t.amount, " +
+           "t.createdAt, t.settledAt, :archivedAt FROM Transaction t WHERE t.transactionId IN :transactionIds")
+    int copyFromTransactions(@Param("transactionIds") Collection<String> transactionIds,
+                             @Param("archivedAt") Instant archivedAt);
+
+    /**
+     * Find which of the given transaction IDs have been archived, in a single query.
+     */
+    @Query("SELECT a.transactionId FROM ArchivedTransaction a WHERE a.transactionId IN :transactionIds")
+    Set<String> findExistingIds(@Param("transactionIds") Collection<String> transactionIds);
+}
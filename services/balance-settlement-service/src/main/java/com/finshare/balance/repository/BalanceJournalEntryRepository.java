@@ -0,0 +1,27 @@
+package com.finshare.balance.repository;
+
+import com.finshare.balance.entity.BalanceJournalEntry;
+import com.finshare.balance.entity.GroupSequenceId;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.Instant;
+import java.util.List;
+
+/**
+ * Repository interface for the append-only balance journal.
+ */
+@Repository
+public interface BalanceJournalEntryRepository extends JpaRepository<BalanceJournalEntry, GroupSequenceId> {
+
+    /**
+     * Find a group's entries after a sequence number that were recorded by a point in time, in order.
+     */
+    @Query("SELECT e FROM BalanceJournalEntry e WHERE e.groupId = :groupId AND e.sequence > :afterSequence " +
+           "AND e.recordedAt <= :recordedBy ORDER BY e.sequence")
+    List<BalanceJournalEntry> findEntriesAfter(@Param("groupId") String groupId,
+                                               @Param("afterSequence") long afterSequence,
+                                               @Param("recordedBy") Instant recordedBy);
+}
@@ -0,0 +1,25 @@
+package com.finshare.balance.repository;
+
+import com.finshare.balance.entity.GroupArchiveCheckpoint;
+import jakarta.persistence.LockModeType;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.util.Optional;
+
+/**
+ * Repository interface for the per-group summaries of archived transactions.
+ */
+@Repository
+public interface GroupArchiveCheckpointRepository extends JpaRepository<GroupArchiveCheckpoint, String> {
+
+    /**
+     * Find a group's checkpoint, locking the row for the remainder of the transaction.
+     */
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("SELECT c FROM GroupArchiveCheckpoint c WHERE c.groupId = :groupId")
+    Optional<GroupArchiveCheckpoint> findForUpdate(@Param("groupId") String groupId);
+}
@@ -0,0 +1,24 @@
+package com.finshare.balance.repository;
+
+import com.finshare.balance.entity.GroupBalanceSnapshot;
+import com.finshare.balance.entity.GroupSequenceId;
+import org.springframework.data.jpa.repository.EntityGraph;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.stereotype.Repository;
+
+import java.time.Instant;
+import java.util.Optional;
+
+/**
+ * Repository interface for the periodic group balance snapshots.
+ */
+@Repository
+public interface GroupBalanceSnapshotRepository extends JpaRepository<GroupBalanceSnapshot, GroupSequenceId> {
+
+    /**
+     * Find a group's latest snapshot taken by a point in time, with its member balances.
+     */
+    @EntityGraph(attributePaths = "balances")
+    Optional<GroupBalanceSnapshot> findFirstByGroupIdAndTakenAtLessThanEqualOrderBySequenceDesc(String groupId,
+                                                                                             Instant takenBy);
+}
@@ -0,0 +1,31 @@
+package com.finshare.balance.repository;
+
+import com.finshare.balance.entity.GroupLedgerHead;
+import jakarta.persistence.LockModeType;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.util.Optional;
+
+/**
+ * Repository interface for the per-group balance journal positions.
+ */
+@Repository
+public interface GroupLedgerHeadRepository extends JpaRepository<GroupLedgerHead, String> {
+
+    /**
+     * Find a group's journal position, locking the row for the remainder of the transaction.
+     */
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("SELECT h FROM GroupLedgerHead h WHERE h.groupId = :groupId")
+    Optional<GroupLedgerHead> findForUpdate(@Param("groupId") String groupId);
+
+    /**
+     * Find the last sequence number handed out in a group's journal, read from the database.
+     */
+    @Query("SELECT h.sequence FROM GroupLedgerHead h WHERE h.groupId = :groupId")
+    Optional<Long> findSequence(@Param("groupId") String groupId);
+}
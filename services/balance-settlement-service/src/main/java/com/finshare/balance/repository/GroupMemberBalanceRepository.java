@@ -0,0 +1,38 @@
+package com.finshare.balance.repository;
+
+import com.finshare.balance.entity.GroupMemberBalance;
+import com.finshare.balance.entity.GroupMemberBalanceId;
+import jakarta.persistence.LockModeType;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * Repository interface for the materialized per-group member balances.
+ */
+@Repository
+public interface GroupMemberBalanceRepository extends JpaRepository<GroupMemberBalance, GroupMemberBalanceId> {
+
+    /**
+     * Find the balances of all members of a group.
+     */
+    List<GroupMemberBalance> findByGroupId(String groupId);
+
+    /**
+     * Find the balances of all members of several groups, in a single query.
+     */
+    List<GroupMemberBalance> findByGroupIdIn(Collection<String> groupIds);
+
+    /**
+     * Find a single member balance, locking the row for the remainder of the transaction.
+     */
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("SELECT b FROM GroupMemberBalance b WHERE b.groupId = :groupId AND b.userId = :userId")
+    Optional<GroupMemberBalance> findForUpdate(@Param("groupId") String groupId, @Param("userId") String userId);
+}
@@ -0,0 +1,40 @@
+package com.finshare.balance.repository;
+
+import com.finshare.balance.entity.PairwiseBalance;
+import com.finshare.balance.entity.PairwiseBalanceId;
+import jakarta.persistence.LockModeType;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * Repository interface for the pairwise counterparty balance index.
+ */
+@Repository
+public interface PairwiseBalanceRepository extends JpaRepository<PairwiseBalance, PairwiseBalanceId> {
+
+    /**
+     * Find the balances of a canonically ordered pair of users across all shared groups.
+     */
+    List<PairwiseBalance> findByUserAAndUserB(String userA, String userB);
+
+    /**
+     * Find every pair balance a user is part of, on either side, across all groups.
+     */
+    @Query("SELECT p FROM PairwiseBalance p WHERE p.userA = :userId OR p.userB = :userId")
+    List<PairwiseBalance> findByUser(@Param("userId") String userId);
+
+    /**
+     * Find a single pair balance, locking the row for the remainder of the transaction.
+     */
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("SELECT p FROM PairwiseBalance p WHERE p.userA = :userA AND p.userB = :userB AND p.groupId = :groupId")
+    Optional<PairwiseBalance> findForUpdate(@Param("userA") String userA,
+                                            @Param("userB") String userB,
+                                            @Param("groupId") String groupId);
+}
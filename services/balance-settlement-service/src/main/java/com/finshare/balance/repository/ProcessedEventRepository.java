@@ -0,0 +1,23 @@
+package com.finshare.balance.repository;
+
+import com.finshare.balance.entity.ProcessedEvent;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.util.Collection;
+import java.util.Set;
+
+/**
+ * Repository interface for the IDs of events already applied.
+ */
+@Repository
+public interface ProcessedEventRepository extends JpaRepository<ProcessedEvent, String> {
+
+    /**
+     * Find which of the given event IDs were already applied, in a single query.
+     */
+    @Query("SELECT e.eventId FROM ProcessedEvent e WHERE e.eventId IN :eventIds")
+    Set<String> findExistingIds(@Param("eventIds") Collection<String> eventIds);
+}
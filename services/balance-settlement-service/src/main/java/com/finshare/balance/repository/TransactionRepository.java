@@ -1,12 +1,20 @@
 package com.finshare.balance.repository;
 
 import com.finshare.balance.entity.Transaction;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.math.BigDecimal;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Collection;
 import java.util.List;
+import java.util.Set;
 
 /**
  * Repository interface for Transaction entity operations.
@@ -14,11 +22,28 @@ import java.util.List;
 @Repository
 public interface TransactionRepository extends JpaRepository<Transaction, String> {
 
+    /**
+     * Find which of the given transaction IDs are already stored, in a single query.
+     */
+    @Query("SELECT t.transactionId FROM Transaction t WHERE t.transactionId IN :transactionIds")
+    Set<String> findExistingIds(@Param("transactionIds") Collection<String> transactionIds);
+
     /**
      * Find all unsettled transactions where a user is involved (either as payer or recipient).
+     * 
+     * Runs the debtor and creditor sides as two queries, each served by its own index,
+     * rather than one OR condition the database can only answer by scanning.
      */
-    @Query("SELECT t FROM Transaction t WHERE (t.fromUserId = :userId OR t.toUserId = :userId) AND t.isSettled = false")
-    List<Transaction> findUnsettledTransactionsByUserId(@Param("userId") String userId);
+    default List<Transaction> findUnsettledTransactionsByUserId(String userId) {
+        List<Transaction> transactions = new ArrayList<>(findUnsettledDebtsByUserId(userId));
+        for (Transaction credit : findUnsettledCreditsByUserId(userId)) {
+            // A transaction from a user to themselves would match both sides
+            if (!userId.equals(credit.getFromUserId())) {
+                transactions.add(credit);
+            }
+        }
+        return transactions;
+    }
 
     /**
      * Find all unsettled transactions within a specific group.
@@ -48,9 +73,132 @@ public interface TransactionRepository extends JpaRepository<Transaction, String
         @Param("toUserId") String toUserId
     );
 
+    /**
+     * Page through the amounts of unsettled debts one user owes another in a group,
+     * oldest first, without loading the full entities.
+     */
+    @Query("SELECT t.transactionId AS transactionId, t.amount AS amount FROM Transaction t " +
+           "WHERE t.groupId = :groupId AND t.fromUserId = :fromUserId AND t.toUserId = :toUserId " +
+           "AND t.isSettled = false ORDER BY t.createdAt ASC, t.transactionId ASC")
+    Slice<DebtAmount> findUnsettledDebtAmountsBetweenUsers(
+        @Param("groupId") String groupId,
+        @Param("fromUserId") String fromUserId,
+        @Param("toUserId") String toUserId,
+        Pageable pageable
+    );
+
+    /**
+     * Page of settlement payments a user made, newest first, starting strictly after the
+     * (settledAt, transactionId) keyset cursor.
+     * 
+     * The redundant {@code settledAt <= :settledAt} bound lets the index range start at the
+     * cursor, so every page costs the same however deep it is.
+     */
+    @Query("SELECT t FROM Transaction t WHERE t.fromUserId = :userId AND t.expenseId = '" + Transaction.SETTLEMENT_EXPENSE_ID + "' " +
+           "AND t.isSettled = true AND t.settledAt <= :settledAt " +
+           "AND (t.settledAt < :settledAt OR t.transactionId < :transactionId) " +
+           "ORDER BY t.settledAt DESC, t.transactionId DESC")
+    List<Transaction> findSettlementsPaidAfter(@Param("userId") String userId,
+                                               @Param("settledAt") Instant settledAt,
+                                               @Param("transactionId") String transactionId,
+                                               Pageable pageable);
+
+    /**
+     * Page of settlement payments a user received; see {@link #findSettlementsPaidAfter}.
+     */
+    @Query("SELECT t FROM Transaction t WHERE t.toUserId = :userId AND t.expenseId = '" + Transaction.SETTLEMENT_EXPENSE_ID + "' " +
+           "AND t.isSettled = true AND t.settledAt <= :settledAt " +
+           "AND (t.settledAt < :settledAt OR t.transactionId < :transactionId) " +
+           "ORDER BY t.settledAt DESC, t.transactionId DESC")
+    List<Transaction> findSettlementsReceivedAfter(@Param("userId") String userId,
+                                                   @Param("settledAt") Instant settledAt,
+                                                   @Param("transactionId") String transactionId,
+                                                   Pageable pageable);
+
+    /**
+     * Mark the given unsettled transactions settled in a single statement.
+     * 
+     * @return Number of transactions settled; fewer than given if some were already settled
+     */
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("UPDATE Transaction t SET t.isSettled = true, t.settledAt = :settledAt " +
+           "WHERE t.transactionId IN :transactionIds AND t.isSettled = false")
+    int markSettled(@Param("transactionIds") Collection<String> transactionIds, @Param("settledAt") Instant settledAt);
+
+    /**
+     * Find settled debt transactions (not settlement payments) settled before the cutoff,
+     * oldest first, for compaction into the archive.
+     */
+    @Query("SELECT t.transactionId FROM Transaction t WHERE t.isSettled = true AND t.settledAt < :cutoff " +
+           "AND t.expenseId <> '" + Transaction.SETTLEMENT_EXPENSE_ID + "' ORDER BY t.settledAt ASC")
+    List<String> findCompactableIds(@Param("cutoff") Instant cutoff, Pageable pageable);
+
+    /**
+     * Count, total and latest settlement time per group of the given transactions.
+     */
+    @Query("SELECT t.groupId AS groupId, COUNT(t) AS transactionCount, SUM(t.amount) AS amount, " +
+           "MAX(t.settledAt) AS latestSettledAt FROM Transaction t WHERE t.transactionId IN :transactionIds " +
+           "GROUP BY t.groupId")
+    List<GroupSettledTotal> sumByGroup(@Param("transactionIds") Collection<String> transactionIds);
+
+    /**
+     * Total unsettled debt per debtor and creditor in each group, aggregated by the database,
+     * used when rebuilding balance projections.
+     */
+    @Query("SELECT t.groupId AS groupId, t.fromUserId AS fromUserId, t.toUserId AS toUserId, " +
+           "SUM(t.amount) AS amount, COUNT(t) AS transactionCount FROM Transaction t " +
+           "WHERE t.isSettled = false GROUP BY t.groupId, t.fromUserId, t.toUserId")
+    List<DebtTotal> sumUnsettledDebtsByGroupAndUsers();
+
     /**
      * Count total number of transactions for a user.
+     * 
+     * Split into per-side counts for the same reason as {@link #findUnsettledTransactionsByUserId}.
+     */
+    default long countTransactionsByUserId(String userId) {
+        return countByFromUserId(userId) + countByToUserId(userId) - countByFromUserIdAndToUserId(userId, userId);
+    }
+
+    long countByFromUserId(String fromUserId);
+
+    long countByToUserId(String toUserId);
+
+    long countByFromUserIdAndToUserId(String fromUserId, String toUserId);
+
+    /**
+     * ID and amount of an unsettled debt.
      */
-    @Query("SELECT COUNT(t) FROM Transaction t WHERE t.fromUserId = :userId OR t.toUserId = :userId")
-    long countTransactionsByUserId(@Param("userId") String userId);
-}
\ No newline at end of file
+    interface DebtAmount {
+        String getTransactionId();
+
+        BigDecimal getAmount();
+    }
+
+    /**
+     * Unsettled debt one user owes another in a group, summed over transactions.
+     */
+    interface DebtTotal {
+        String getGroupId();
+
+        String getFromUserId();
+
+        String getToUserId();
+
+        BigDecimal getAmount();
+
+        long getTransactionCount();
+    }
+
+    /**
+     * Settled transactions of one group, summed.
+     */
+    interface GroupSettledTotal {
+        String getGroupId();
+
+        long getTransactionCount();
+
+        BigDecimal getAmount();
+
+        Instant getLatestSettledAt();
+    }
+}
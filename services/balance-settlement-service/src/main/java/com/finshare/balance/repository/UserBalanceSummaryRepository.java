@@ -0,0 +1,25 @@
+package com.finshare.balance.repository;
+
+import com.finshare.balance.entity.UserBalanceSummary;
+import jakarta.persistence.LockModeType;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.util.Optional;
+
+/**
+ * Repository interface for the materialized per-user balance summaries.
+ */
+@Repository
+public interface UserBalanceSummaryRepository extends JpaRepository<UserBalanceSummary, String> {
+
+    /**
+     * Find a user's summary, locking the row for the remainder of the transaction.
+     */
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("SELECT s FROM UserBalanceSummary s WHERE s.userId = :userId")
+    Optional<UserBalanceSummary> findForUpdate(@Param("userId") String userId);
+}
@@ -0,0 +1,34 @@
+package com.finshare.balance.repository;
+
+import com.finshare.balance.entity.UserCounterpartyBalance;
+import com.finshare.balance.entity.UserCounterpartyBalanceId;
+import jakarta.persistence.LockModeType;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * Repository interface for the materialized per-counterparty balance breakdown.
+ */
+@Repository
+public interface UserCounterpartyBalanceRepository
+        extends JpaRepository<UserCounterpartyBalance, UserCounterpartyBalanceId> {
+
+    /**
+     * Find the breakdown of a user's balances with every counterparty.
+     */
+    List<UserCounterpartyBalance> findByUserId(String userId);
+
+    /**
+     * Find a single counterparty row, locking it for the remainder of the transaction.
+     */
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("SELECT c FROM UserCounterpartyBalance c WHERE c.userId = :userId AND c.counterpartyId = :counterpartyId")
+    Optional<UserCounterpartyBalance> findForUpdate(@Param("userId") String userId,
+                                                    @Param("counterpartyId") String counterpartyId);
+}
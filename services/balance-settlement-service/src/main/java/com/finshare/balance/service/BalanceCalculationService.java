@@ -2,15 +2,34 @@ package com.finshare.balance.service;
 
 import com.finshare.balance.dto.GroupBalanceDto;
 import com.finshare.balance.dto.OverallBalanceDto;
-import com.finshare.balance.entity.Transaction;
-import com.finshare.balance.repository.TransactionRepository;
+import com.finshare.balance.dto.PairwiseBalanceDto;
+import com.finshare.balance.entity.GroupMemberBalance;
+import com.finshare.balance.entity.PairwiseBalance;
+import com.finshare.balance.entity.PairwiseBalanceId;
+import com.finshare.balance.entity.UserBalanceSummary;
+import com.finshare.balance.entity.UserCounterpartyBalance;
+import com.finshare.balance.repository.GroupMemberBalanceRepository;
+import com.finshare.balance.repository.PairwiseBalanceRepository;
+import com.finshare.balance.repository.UserBalanceSummaryRepository;
+import com.finshare.balance.repository.UserCounterpartyBalanceRepository;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Service;
 
 import java.math.BigDecimal;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Collection;
 import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
 import java.util.List;
 import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.Executor;
 
 /**
  * Service for calculating user balances across groups and overall.
@@ -21,64 +40,116 @@ import java.util.Map;
 @Service
 public class BalanceCalculationService {
 
-    private final TransactionRepository transactionRepository;
+    private final GroupMemberBalanceRepository groupMemberBalanceRepository;
+    private final UserBalanceSummaryRepository userBalanceSummaryRepository;
+    private final UserCounterpartyBalanceRepository userCounterpartyBalanceRepository;
+    private final PairwiseBalanceRepository pairwiseBalanceRepository;
+    private final BalanceJournalService balanceJournalService;
+    private final Executor fanOutExecutor;
+    private final int fanOutChunkSize;
 
     @Autowired
-    public BalanceCalculationService(TransactionRepository transactionRepository) {
-        this.transactionRepository = transactionRepository;
+    public BalanceCalculationService(GroupMemberBalanceRepository groupMemberBalanceRepository,
+                                   UserBalanceSummaryRepository userBalanceSummaryRepository,
+                                   UserCounterpartyBalanceRepository userCounterpartyBalanceRepository,
+                                   PairwiseBalanceRepository pairwiseBalanceRepository,
+                                   BalanceJournalService balanceJournalService,
+                                   @Qualifier("balanceFanOutExecutor") Executor fanOutExecutor,
+                                   @Value("${finshare.balance.fan-out.chunk-size:10}") int fanOutChunkSize) {
+        this.groupMemberBalanceRepository = groupMemberBalanceRepository;
+        this.userBalanceSummaryRepository = userBalanceSummaryRepository;
+        this.userCounterpartyBalanceRepository = userCounterpartyBalanceRepository;
+        this.pairwiseBalanceRepository = pairwiseBalanceRepository;
+        this.balanceJournalService = balanceJournalService;
+        this.fanOutExecutor = fanOutExecutor;
+        this.fanOutChunkSize = fanOutChunkSize;
     }
 
     /**
      * Calculate a user's overall financial position across all groups.
+     * 
+     * Reads the materialized per-user summary and per-counterparty breakdown
+     * maintained by {@link BalanceLedgerService} instead of scanning transactions.
      */
     public OverallBalanceDto calculateOverallBalance(String userId) {
-        List<Transaction> userTransactions = transactionRepository.findUnsettledTransactionsByUserId(userId);
+        UserBalanceSummary summary = userBalanceSummaryRepository.findById(userId)
+            .orElseGet(() -> new UserBalanceSummary(userId));
         
-        BigDecimal totalOwedToUser = BigDecimal.ZERO;
-        BigDecimal totalUserOwes = BigDecimal.ZERO;
-
-        for (Transaction transaction : userTransactions) {
-            if (transaction.getToUserId().equals(userId)) {
-                // Money owed TO this user
-                totalOwedToUser = totalOwedToUser.add(transaction.getAmount());
-            } else if (transaction.getFromUserId().equals(userId)) {
-                // Money this user OWES
-                totalUserOwes = totalUserOwes.add(transaction.getAmount());
+        Map<String, BigDecimal> counterpartyBalances = new HashMap<>();
+        for (UserCounterpartyBalance counterparty : userCounterpartyBalanceRepository.findByUserId(userId)) {
+            if (counterparty.getOwedToUser().signum() != 0 || counterparty.getUserOwes().signum() != 0) {
+                counterpartyBalances.put(counterparty.getCounterpartyId(), counterparty.getNetBalance());
             }
         }
-
-        BigDecimal netBalance = totalOwedToUser.subtract(totalUserOwes);
         
-        return new OverallBalanceDto(netBalance, totalOwedToUser, totalUserOwes);
+        return new OverallBalanceDto(summary.getNetBalance(), summary.getTotalOwedToUser(),
+            summary.getTotalUserOwes(), counterpartyBalances);
     }
 
     /**
      * Calculate balances for all users within a specific group.
+     * 
+     * Reads the materialized per-member ledger maintained by {@link BalanceLedgerService},
+     * so the cost is proportional to the number of members rather than the group's history.
      */
     public GroupBalanceDto calculateGroupBalances(String groupId, String requestingUserId) {
-        List<Transaction> groupTransactions = transactionRepository.findUnsettledTransactionsByGroupId(groupId);
+        List<GroupMemberBalance> memberBalances = groupMemberBalanceRepository.findByGroupId(groupId);
         
         Map<String, BigDecimal> userBalances = new HashMap<>();
+        for (GroupMemberBalance memberBalance : memberBalances) {
+            userBalances.put(memberBalance.getUserId(), memberBalance.getBalance());
+        }
+        
+        BigDecimal requestingUserBalance = userBalances.getOrDefault(requestingUserId, BigDecimal.ZERO);
+        
+        return new GroupBalanceDto(userBalances, requestingUserBalance);
+    }
+
+    /**
+     * Calculate balances for all users within each of several groups.
+     * 
+     * The groups are read in chunks of a few groups per query, with the chunks running in
+     * parallel on the bounded fan-out executor. Groups without balances map to an empty result.
+     * 
+     * @return Balances keyed by group ID, in the order the groups were requested
+     */
+    public Map<String, GroupBalanceDto> calculateGroupBalances(Collection<String> groupIds, String requestingUserId) {
+        List<String> uniqueGroupIds = List.copyOf(new LinkedHashSet<>(groupIds));
         
-        // Initialize balances for all users involved in transactions
-        for (Transaction transaction : groupTransactions) {
-            userBalances.putIfAbsent(transaction.getFromUserId(), BigDecimal.ZERO);
-            userBalances.putIfAbsent(transaction.getToUserId(), BigDecimal.ZERO);
+        List<CompletableFuture<List<GroupMemberBalance>>> chunks = new ArrayList<>();
+        for (int from = 0; from < uniqueGroupIds.size(); from += fanOutChunkSize) {
+            List<String> chunk = uniqueGroupIds.subList(from, Math.min(from + fanOutChunkSize, uniqueGroupIds.size()));
+            chunks.add(from + fanOutChunkSize >= uniqueGroupIds.size()
+                // The request thread reads the last chunk itself instead of waiting idle
+                ? CompletableFuture.completedFuture(groupMemberBalanceRepository.findByGroupIdIn(chunk))
+                : CompletableFuture.supplyAsync(() -> groupMemberBalanceRepository.findByGroupIdIn(chunk), fanOutExecutor));
         }
         
-        // Calculate net balances
-        for (Transaction transaction : groupTransactions) {
-            String fromUser = transaction.getFromUserId();
-            String toUser = transaction.getToUserId();
-            BigDecimal amount = transaction.getAmount();
-            
-            // fromUser owes money (negative balance impact)
-            userBalances.put(fromUser, userBalances.get(fromUser).subtract(amount));
-            
-            // toUser is owed money (positive balance impact)
-            userBalances.put(toUser, userBalances.get(toUser).add(amount));
+        Map<String, Map<String, BigDecimal>> balancesByGroup = new LinkedHashMap<>();
+        for (String groupId : uniqueGroupIds) {
+            balancesByGroup.put(groupId, new HashMap<>());
+        }
+        for (CompletableFuture<List<GroupMemberBalance>> chunk : chunks) {
+            for (GroupMemberBalance memberBalance : join(chunk)) {
+                balancesByGroup.get(memberBalance.getGroupId()).put(memberBalance.getUserId(), memberBalance.getBalance());
+            }
         }
         
+        Map<String, GroupBalanceDto> result = new LinkedHashMap<>();
+        balancesByGroup.forEach((groupId, userBalances) -> result.put(groupId,
+            new GroupBalanceDto(userBalances, userBalances.getOrDefault(requestingUserId, BigDecimal.ZERO))));
+        return result;
+    }
+
+    /**
+     * Calculate balances for all users within a group as they stood at a point in time.
+     * 
+     * Starts from the group's latest balance snapshot taken by then and replays only the
+     * journal entries recorded after it, so the cost is bounded by the snapshot interval
+     * rather than the group's age.
+     */
+    public GroupBalanceDto calculateGroupBalancesAsOf(String groupId, String requestingUserId, Instant asOf) {
+        Map<String, BigDecimal> userBalances = balanceJournalService.balancesAsOf(groupId, asOf);
         BigDecimal requestingUserBalance = userBalances.getOrDefault(requestingUserId, BigDecimal.ZERO);
         
         return new GroupBalanceDto(userBalances, requestingUserBalance);
@@ -86,22 +157,67 @@ public class BalanceCalculationService {
 
     /**
      * Get the net balance between two specific users.
+     * 
+     * Positive means userId2 owes userId1. Served from the pairwise balance index,
+     * so the cost depends only on the number of groups the two users share.
      */
     public BigDecimal calculateNetBalanceBetweenUsers(String userId1, String userId2) {
-        List<Transaction> allTransactions = transactionRepository.findUnsettledTransactionsByUserId(userId1);
+        return calculatePairwiseBalance(userId1, userId2).getNetBalance();
+    }
+
+    /**
+     * Get the net balance between two users, broken down by shared group.
+     */
+    public PairwiseBalanceDto calculatePairwiseBalance(String userId, String counterpartyId) {
+        PairwiseBalanceId key = PairwiseBalance.keyOf(userId, counterpartyId, null);
         
         BigDecimal netBalance = BigDecimal.ZERO;
+        Map<String, BigDecimal> groupBalances = new HashMap<>();
+        
+        for (PairwiseBalance pair : pairwiseBalanceRepository.findByUserAAndUserB(key.getUserA(), key.getUserB())) {
+            BigDecimal groupNet = pair.netAmountFor(userId);
+            if (groupNet.signum() != 0) {
+                groupBalances.put(pair.getGroupId(), groupNet);
+                netBalance = netBalance.add(groupNet);
+            }
+        }
         
-        for (Transaction transaction : allTransactions) {
-            if (transaction.getFromUserId().equals(userId1) && transaction.getToUserId().equals(userId2)) {
-                // userId1 owes userId2
-                netBalance = netBalance.subtract(transaction.getAmount());
-            } else if (transaction.getFromUserId().equals(userId2) && transaction.getToUserId().equals(userId1)) {
-                // userId2 owes userId1 (so userId1 is owed)
-                netBalance = netBalance.add(transaction.getAmount());
+        return new PairwiseBalanceDto(counterpartyId, netBalance, groupBalances);
+    }
+
+    /**
+     * Get the net balance between a user and each counterparty, broken down by shared group.
+     * 
+     * All of the user's pairs are read from the pairwise balance index in one query.
+     * Counterparties the user has no open balance with in any group are left out.
+     * 
+     * @return Balances ordered by counterparty ID
+     */
+    public List<PairwiseBalanceDto> calculatePairwiseBalances(String userId) {
+        Map<String, Map<String, BigDecimal>> groupBalances = new TreeMap<>();
+        for (PairwiseBalance pair : pairwiseBalanceRepository.findByUser(userId)) {
+            BigDecimal groupNet = pair.netAmountFor(userId);
+            if (groupNet.signum() != 0) {
+                groupBalances.computeIfAbsent(pair.counterpartyOf(userId), id -> new HashMap<>())
+                    .put(pair.getGroupId(), groupNet);
             }
         }
         
-        return netBalance;
+        List<PairwiseBalanceDto> result = new ArrayList<>();
+        groupBalances.forEach((counterpartyId, groups) -> result.add(new PairwiseBalanceDto(counterpartyId,
+            groups.values().stream().reduce(BigDecimal.ZERO, BigDecimal::add), groups)));
+        return result;
+    }
+
+    private static <T> T join(CompletableFuture<T> future) {
+        try {
+            return future.join();
+        } catch (CompletionException e) {
+            // Surface the repository's own exception rather than the async wrapper
+            if (e.getCause() instanceof RuntimeException cause) {
+                throw cause;
+            }
+            throw e;
+        }
     }
-}
\ No newline at end of file
+}
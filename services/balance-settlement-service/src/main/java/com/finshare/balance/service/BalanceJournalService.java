@@ -0,0 +1,150 @@
+package com.finshare.balance.service;
+
+import com.finshare.balance.entity.BalanceJournalEntry;
+import com.finshare.balance.entity.GroupBalanceSnapshot;
+import com.finshare.balance.entity.GroupLedgerHead;
+import com.finshare.balance.entity.GroupMemberBalance;
+import com.finshare.balance.repository.BalanceJournalEntryRepository;
+import com.finshare.balance.repository.GroupBalanceSnapshotRepository;
+import com.finshare.balance.repository.GroupLedgerHeadRepository;
+import com.finshare.balance.repository.GroupMemberBalanceRepository;
+import com.finshare.balance.util.CentsAccumulator;
+import com.finshare.balance.util.MoneyCents;
+import jakarta.persistence.EntityManager;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.math.BigDecimal;
+import java.time.Instant;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Service keeping the per-group balance journal and its periodic snapshots.
+ *
+ * {@link BalanceLedgerService} records every balance change here before applying it,
+ * and every {@code interval} entries the group's member balances are snapshotted.
+ * A group's balances as of any point in time are then its latest snapshot taken by
+ * then plus fewer than {@code interval} journal entries, however long its history.
+ */
+@Service
+public class BalanceJournalService {
+
+    private final GroupLedgerHeadRepository groupLedgerHeadRepository;
+    private final BalanceJournalEntryRepository balanceJournalEntryRepository;
+    private final GroupBalanceSnapshotRepository groupBalanceSnapshotRepository;
+    private final GroupMemberBalanceRepository groupMemberBalanceRepository;
+    private final EntityManager entityManager;
+    private final int interval;
+
+    @Autowired
+    public BalanceJournalService(GroupLedgerHeadRepository groupLedgerHeadRepository,
+                               BalanceJournalEntryRepository balanceJournalEntryRepository,
+                               GroupBalanceSnapshotRepository groupBalanceSnapshotRepository,
+                               GroupMemberBalanceRepository groupMemberBalanceRepository,
+                               EntityManager entityManager,
+                               @Value("${finshare.balance.snapshots.interval:100}") int interval) {
+        this.groupLedgerHeadRepository = groupLedgerHeadRepository;
+        this.balanceJournalEntryRepository = balanceJournalEntryRepository;
+        this.groupBalanceSnapshotRepository = groupBalanceSnapshotRepository;
+        this.groupMemberBalanceRepository = groupMemberBalanceRepository;
+        this.entityManager = entityManager;
+        this.interval = interval;
+    }
+
+    /**
+     * Append a change to the group's journal: fromUser owes toUser {@code amount} more.
+     *
+     * Must be called before the change is applied to the member balances, as a due
+     * snapshot captures the balances the previous entries led to.
+     */
+    @Transactional
+    public void record(String groupId, String fromUserId, String toUserId, BigDecimal amount) {
+        GroupLedgerHead head = groupLedgerHeadRepository.findForUpdate(groupId).orElse(null);
+        if (head == null) {
+            head = new GroupLedgerHead(groupId);
+            entityManager.persist(head);
+            // Balances recorded before the group had a journal become its starting snapshot
+            List<GroupMemberBalance> existing = groupMemberBalanceRepository.findByGroupId(groupId);
+            if (!existing.isEmpty()) {
+                snapshot(head, toBalanceMap(existing));
+            }
+        } else if (head.entriesSinceSnapshot() >= interval) {
+            snapshot(head, toBalanceMap(groupMemberBalanceRepository.findByGroupId(groupId)));
+        }
+
+        entityManager.persist(new BalanceJournalEntry(groupId, head.next(), fromUserId, toUserId, amount,
+            Instant.now()));
+    }
+
+    /**
+     * Snapshot rebuilt balances for every group, after the projections were rebuilt.
+     *
+     * The rebuilt balances replace whatever the journal would add up to, so each group
+     * (including those left without balances) restarts from a snapshot of them.
+     */
+    @Transactional
+    public void snapshotAll(Map<String, Map<String, BigDecimal>> balancesByGroup) {
+        Set<String> groupIds = new HashSet<>(balancesByGroup.keySet());
+        Map<String, GroupLedgerHead> heads = new HashMap<>();
+        for (GroupLedgerHead head : groupLedgerHeadRepository.findAll()) {
+            heads.put(head.getGroupId(), head);
+            groupIds.add(head.getGroupId());
+        }
+
+        for (String groupId : groupIds) {
+            GroupLedgerHead head = heads.get(groupId);
+            if (head == null) {
+                head = new GroupLedgerHead(groupId);
+                entityManager.persist(head);
+            }
+            // Take a sequence number of its own, so the snapshot follows every earlier entry
+            head.next();
+            snapshot(head, balancesByGroup.getOrDefault(groupId, Map.of()));
+        }
+    }
+
+    /**
+     * Reconstruct a group's member balances as they stood at a point in time.
+     *
+     * Reflects changes in the order this service recorded them, not the dates of the
+     * underlying expenses.
+     */
+    @Transactional(readOnly = true)
+    public Map<String, BigDecimal> balancesAsOf(String groupId, Instant asOf) {
+        CentsAccumulator<String> balances = new CentsAccumulator<>();
+        long afterSequence = 0;
+
+        GroupBalanceSnapshot snapshot = groupBalanceSnapshotRepository
+            .findFirstByGroupIdAndTakenAtLessThanEqualOrderBySequenceDesc(groupId, asOf).orElse(null);
+        if (snapshot != null) {
+            snapshot.getBalances().forEach((userId, balance) -> balances.add(userId, MoneyCents.toCents(balance)));
+            afterSequence = snapshot.getSequence();
+        }
+
+        for (BalanceJournalEntry entry : balanceJournalEntryRepository.findEntriesAfter(groupId, afterSequence, asOf)) {
+            long cents = MoneyCents.toCents(entry.getAmount());
+            balances.add(entry.getFromUserId(), -cents);
+            balances.add(entry.getToUserId(), cents);
+        }
+        return balances.toBigDecimalMap();
+    }
+
+    private void snapshot(GroupLedgerHead head, Map<String, BigDecimal> balances) {
+        entityManager.persist(new GroupBalanceSnapshot(head.getGroupId(), head.getSequence(), Instant.now(), balances));
+        head.setSnapshotSequence(head.getSequence());
+    }
+
+    private static Map<String, BigDecimal> toBalanceMap(List<GroupMemberBalance> memberBalances) {
+        Map<String, BigDecimal> balances = new HashMap<>();
+        for (GroupMemberBalance memberBalance : memberBalances) {
+            balances.put(memberBalance.getUserId(), memberBalance.getBalance());
+        }
+        return balances;
+    }
+}
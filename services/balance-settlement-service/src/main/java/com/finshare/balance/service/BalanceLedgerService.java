@@ -0,0 +1,342 @@
+package com.finshare.balance.service;
+
+import com.finshare.balance.entity.GroupMemberBalance;
+import com.finshare.balance.entity.GroupMemberBalanceId;
+import com.finshare.balance.entity.PairwiseBalance;
+import com.finshare.balance.entity.PairwiseBalanceId;
+import com.finshare.balance.entity.Transaction;
+import com.finshare.balance.entity.UserBalanceSummary;
+import com.finshare.balance.entity.UserCounterpartyBalance;
+import com.finshare.balance.entity.UserCounterpartyBalanceId;
+import com.finshare.balance.repository.GroupMemberBalanceRepository;
+import com.finshare.balance.repository.PairwiseBalanceRepository;
+import com.finshare.balance.repository.TransactionRepository;
+import com.finshare.balance.repository.UserBalanceSummaryRepository;
+import com.finshare.balance.repository.UserCounterpartyBalanceRepository;
+import com.finshare.balance.util.CentsAccumulator;
+import com.finshare.balance.util.MoneyCents;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceException;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.math.BigDecimal;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeSet;
+
+/**
+ * Service maintaining the materialized balance projections.
+ *
+ * Every change to the set of unsettled transactions must go through this service
+ * within the same database transaction, so the projections always equal
+ * the sum of unsettled transactions they summarize. Each change is also appended to
+ * the group's balance journal ({@link BalanceJournalService}) for point-in-time reads.
+ */
+@Service
+public class BalanceLedgerService {
+
+    private static final Logger logger = LoggerFactory.getLogger(BalanceLedgerService.class);
+    private static final Comparator<DebtKey> DEBT_ORDER = Comparator
+        .comparing(DebtKey::groupId)
+        .thenComparing(DebtKey::fromUserId)
+        .thenComparing(DebtKey::toUserId);
+    private static final Comparator<UserCounterpartyBalanceId> COUNTERPARTY_ORDER = Comparator
+        .comparing(UserCounterpartyBalanceId::getUserId)
+        .thenComparing(UserCounterpartyBalanceId::getCounterpartyId);
+
+    private final TransactionRepository transactionRepository;
+    private final GroupMemberBalanceRepository groupMemberBalanceRepository;
+    private final UserBalanceSummaryRepository userBalanceSummaryRepository;
+    private final UserCounterpartyBalanceRepository userCounterpartyBalanceRepository;
+    private final PairwiseBalanceRepository pairwiseBalanceRepository;
+    private final EntityManager entityManager;
+    private final BalanceJournalService balanceJournalService;
+    private final TransactionTemplate newTransaction;
+
+    @Autowired
+    public BalanceLedgerService(TransactionRepository transactionRepository,
+                              GroupMemberBalanceRepository groupMemberBalanceRepository,
+                              UserBalanceSummaryRepository userBalanceSummaryRepository,
+                              UserCounterpartyBalanceRepository userCounterpartyBalanceRepository,
+                              PairwiseBalanceRepository pairwiseBalanceRepository,
+                              EntityManager entityManager,
+                              BalanceJournalService balanceJournalService,
+                              PlatformTransactionManager transactionManager) {
+        this.transactionRepository = transactionRepository;
+        this.groupMemberBalanceRepository = groupMemberBalanceRepository;
+        this.userBalanceSummaryRepository = userBalanceSummaryRepository;
+        this.userCounterpartyBalanceRepository = userCounterpartyBalanceRepository;
+        this.pairwiseBalanceRepository = pairwiseBalanceRepository;
+        this.entityManager = entityManager;
+        this.balanceJournalService = balanceJournalService;
+        this.newTransaction = new TransactionTemplate(transactionManager);
+        this.newTransaction.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+    }
+
+    /**
+     * Apply a newly recorded unsettled debt.
+     */
+    @Transactional
+    public void recordDebt(Transaction transaction) {
+        recordDebts(List.of(transaction));
+    }
+
+    /**
+     * Apply a batch of newly recorded unsettled debts.
+     *
+     * Debts between the same two users in the same group are folded together first,
+     * so each affected projection row is read and written once per batch rather than
+     * once per transaction.
+     */
+    @Transactional
+    public void recordDebts(Collection<Transaction> transactions) {
+        CentsAccumulator<DebtKey> debts = new CentsAccumulator<>(DEBT_ORDER);
+        for (Transaction transaction : transactions) {
+            debts.add(new DebtKey(transaction.getGroupId(), transaction.getFromUserId(), transaction.getToUserId()),
+                MoneyCents.toCents(transaction.getAmount()));
+        }
+        applyDeltas(debts);
+    }
+
+    /**
+     * Remove a settled (or otherwise discharged) portion of debt from the projections.
+     */
+    @Transactional
+    public void releaseDebt(String groupId, String fromUserId, String toUserId, BigDecimal amount) {
+        releaseDebts(List.of(new ReleasedDebt(groupId, fromUserId, toUserId, amount)));
+    }
+
+    /**
+     * Remove several settled portions of debt from the projections at once.
+     */
+    @Transactional
+    public void releaseDebts(Collection<ReleasedDebt> releasedDebts) {
+        CentsAccumulator<DebtKey> debts = new CentsAccumulator<>(DEBT_ORDER);
+        for (ReleasedDebt debt : releasedDebts) {
+            debts.add(new DebtKey(debt.groupId(), debt.fromUserId(), debt.toUserId()),
+                -MoneyCents.toCents(debt.amount()));
+        }
+        applyDeltas(debts);
+    }
+
+    /**
+     * Discard all projections and rebuild them from the unsettled transactions.
+     *
+     * Used to backfill the projections for existing data or to repair them after
+     * transactions were changed outside this service.
+     *
+     * @return Number of unsettled transactions replayed
+     */
+    @Transactional
+    public long rebuildAll() {
+        // Fold in fixed-point cents; entities are only materialized once per key at the end
+        CentsAccumulator<GroupMemberBalanceId> memberBalances = new CentsAccumulator<>();
+        CentsAccumulator<String> owedToUser = new CentsAccumulator<>();
+        CentsAccumulator<String> userOwes = new CentsAccumulator<>();
+        CentsAccumulator<UserCounterpartyBalanceId> counterpartyOwedToUser = new CentsAccumulator<>();
+        CentsAccumulator<UserCounterpartyBalanceId> counterpartyUserOwes = new CentsAccumulator<>();
+        CentsAccumulator<PairwiseBalanceId> pairs = new CentsAccumulator<>();
+
+        // Sum per debtor/creditor pair in the database; every projection is a further fold of these totals
+        long replayed = 0;
+        for (TransactionRepository.DebtTotal debt : transactionRepository.sumUnsettledDebtsByGroupAndUsers()) {
+            String groupId = debt.getGroupId();
+            String fromUser = debt.getFromUserId();
+            String toUser = debt.getToUserId();
+            long amount = MoneyCents.toCents(debt.getAmount());
+
+            memberBalances.add(new GroupMemberBalanceId(groupId, fromUser), -amount);
+            memberBalances.add(new GroupMemberBalanceId(groupId, toUser), amount);
+
+            userOwes.add(fromUser, amount);
+            owedToUser.add(toUser, amount);
+
+            counterpartyUserOwes.add(new UserCounterpartyBalanceId(fromUser, toUser), amount);
+            counterpartyOwedToUser.add(new UserCounterpartyBalanceId(toUser, fromUser), amount);
+
+            PairwiseBalanceId pairKey = PairwiseBalance.keyOf(fromUser, toUser, groupId);
+            pairs.add(pairKey, fromUser.equals(pairKey.getUserB()) ? amount : -amount);
+            replayed += debt.getTransactionCount();
+        }
+
+        groupMemberBalanceRepository.deleteAllInBatch();
+        userBalanceSummaryRepository.deleteAllInBatch();
+        userCounterpartyBalanceRepository.deleteAllInBatch();
+        pairwiseBalanceRepository.deleteAllInBatch();
+
+        // Bulk deletes bypass the persistence context; drop any stale managed rows before re-inserting
+        entityManager.flush();
+        entityManager.clear();
+
+        Map<String, Map<String, BigDecimal>> balancesByGroup = new HashMap<>();
+        memberBalances.forEach((id, cents) -> {
+            GroupMemberBalance memberBalance = new GroupMemberBalance(id.getGroupId(), id.getUserId());
+            memberBalance.setBalance(MoneyCents.toBigDecimal(cents));
+            entityManager.persist(memberBalance);
+            balancesByGroup.computeIfAbsent(id.getGroupId(), groupId -> new HashMap<>())
+                .put(id.getUserId(), memberBalance.getBalance());
+        });
+        balanceJournalService.snapshotAll(balancesByGroup);
+
+        Set<String> users = new HashSet<>();
+        owedToUser.forEach((userId, cents) -> users.add(userId));
+        userOwes.forEach((userId, cents) -> users.add(userId));
+        for (String userId : users) {
+            UserBalanceSummary summary = new UserBalanceSummary(userId);
+            summary.setTotalOwedToUser(MoneyCents.toBigDecimal(owedToUser.get(userId)));
+            summary.setTotalUserOwes(MoneyCents.toBigDecimal(userOwes.get(userId)));
+            entityManager.persist(summary);
+        }
+
+        Set<UserCounterpartyBalanceId> counterpartyKeys = new HashSet<>();
+        counterpartyOwedToUser.forEach((id, cents) -> counterpartyKeys.add(id));
+        counterpartyUserOwes.forEach((id, cents) -> counterpartyKeys.add(id));
+        for (UserCounterpartyBalanceId id : counterpartyKeys) {
+            UserCounterpartyBalance counterparty = new UserCounterpartyBalance(id.getUserId(), id.getCounterpartyId());
+            counterparty.setOwedToUser(MoneyCents.toBigDecimal(counterpartyOwedToUser.get(id)));
+            counterparty.setUserOwes(MoneyCents.toBigDecimal(counterpartyUserOwes.get(id)));
+            entityManager.persist(counterparty);
+        }
+
+        pairs.forEach((id, cents) -> {
+            PairwiseBalance pair = new PairwiseBalance(id.getUserA(), id.getUserB(), id.getGroupId());
+            pair.setNetAmount(MoneyCents.toBigDecimal(cents));
+            entityManager.persist(pair);
+        });
+
+        logger.info("Rebuilt balance projections from {} unsettled transactions", replayed);
+        return replayed;
+    }
+
+    /**
+     * Apply signed debt deltas: for each key, fromUser owes toUser so many cents more.
+     *
+     * Rows are locked in a fixed order so concurrent changes cannot deadlock. Each group's
+     * journal head is locked first, in group order, and serializes access to that group's
+     * member and pair rows. The user summary and counterparty rows are shared by all groups
+     * (A owing B in one group and B owing A in another touch the same rows), so their deltas
+     * are folded and applied afterwards, sorted by user ID and by (user, counterparty).
+     * Since no group lock covers them, a missing shared row is first inserted empty and
+     * committed on its own (see {@link #insertIfAbsent}), then locked like an existing one.
+     */
+    private void applyDeltas(CentsAccumulator<DebtKey> deltas) {
+        CentsAccumulator<String> owedToUser = new CentsAccumulator<>(Comparator.naturalOrder());
+        CentsAccumulator<String> userOwes = new CentsAccumulator<>(Comparator.naturalOrder());
+        CentsAccumulator<UserCounterpartyBalanceId> counterpartyOwedToUser = new CentsAccumulator<>(COUNTERPARTY_ORDER);
+        CentsAccumulator<UserCounterpartyBalanceId> counterpartyUserOwes = new CentsAccumulator<>(COUNTERPARTY_ORDER);
+
+        deltas.forEach((key, cents) -> {
+            if (cents == 0) {
+                return;
+            }
+            String groupId = key.groupId();
+            String fromUserId = key.fromUserId();
+            String toUserId = key.toUserId();
+            BigDecimal amount = MoneyCents.toBigDecimal(cents);
+            balanceJournalService.record(groupId, fromUserId, toUserId, amount);
+
+            // fromUser owes money (negative balance impact), toUser is owed money (positive balance impact)
+            adjustMemberBalance(groupId, fromUserId, amount.negate());
+            adjustMemberBalance(groupId, toUserId, amount);
+            adjustPairwiseBalance(groupId, fromUserId, toUserId, amount);
+
+            userOwes.add(fromUserId, cents);
+            owedToUser.add(toUserId, cents);
+            counterpartyUserOwes.add(new UserCounterpartyBalanceId(fromUserId, toUserId), cents);
+            counterpartyOwedToUser.add(new UserCounterpartyBalanceId(toUserId, fromUserId), cents);
+        });
+
+        Set<String> users = new TreeSet<>();
+        owedToUser.forEach((userId, cents) -> users.add(userId));
+        userOwes.forEach((userId, cents) -> users.add(userId));
+        for (String userId : users) {
+            adjustUserSummary(userId, MoneyCents.toBigDecimal(owedToUser.get(userId)),
+                MoneyCents.toBigDecimal(userOwes.get(userId)));
+        }
+
+        Set<UserCounterpartyBalanceId> counterpartyKeys = new TreeSet<>(COUNTERPARTY_ORDER);
+        counterpartyOwedToUser.forEach((id, cents) -> counterpartyKeys.add(id));
+        counterpartyUserOwes.forEach((id, cents) -> counterpartyKeys.add(id));
+        for (UserCounterpartyBalanceId id : counterpartyKeys) {
+            adjustCounterpartyBalance(id.getUserId(), id.getCounterpartyId(),
+                MoneyCents.toBigDecimal(counterpartyOwedToUser.get(id)),
+                MoneyCents.toBigDecimal(counterpartyUserOwes.get(id)));
+        }
+    }
+
+    private void adjustMemberBalance(String groupId, String userId, BigDecimal delta) {
+        GroupMemberBalance memberBalance = groupMemberBalanceRepository.findForUpdate(groupId, userId)
+            .orElseGet(() -> new GroupMemberBalance(groupId, userId));
+        memberBalance.adjust(delta);
+        groupMemberBalanceRepository.save(memberBalance);
+    }
+
+    private void adjustUserSummary(String userId, BigDecimal owedToUserDelta, BigDecimal userOwesDelta) {
+        UserBalanceSummary summary = userBalanceSummaryRepository.findForUpdate(userId)
+            .orElseGet(() -> {
+                insertIfAbsent(new UserBalanceSummary(userId));
+                return userBalanceSummaryRepository.findForUpdate(userId).orElseThrow();
+            });
+        summary.adjust(owedToUserDelta, userOwesDelta);
+        userBalanceSummaryRepository.save(summary);
+    }
+
+    private void adjustCounterpartyBalance(String userId, String counterpartyId,
+                                           BigDecimal owedToUserDelta, BigDecimal userOwesDelta) {
+        UserCounterpartyBalance counterparty = userCounterpartyBalanceRepository.findForUpdate(userId, counterpartyId)
+            .orElseGet(() -> {
+                insertIfAbsent(new UserCounterpartyBalance(userId, counterpartyId));
+                return userCounterpartyBalanceRepository.findForUpdate(userId, counterpartyId).orElseThrow();
+            });
+        counterparty.adjust(owedToUserDelta, userOwesDelta);
+        userCounterpartyBalanceRepository.save(counterparty);
+    }
+
+    /**
+     * Insert an empty projection row in its own transaction, unless another one already has.
+     *
+     * A zero row reads the same as a missing one, so it is harmless if the caller rolls back.
+     * Concurrent inserts of the same key wait on each other, and all but the first fail on the
+     * primary key and are ignored, so every caller can then lock the committed row.
+     */
+    private void insertIfAbsent(Object emptyRow) {
+        try {
+            newTransaction.executeWithoutResult(status -> {
+                entityManager.persist(emptyRow);
+                entityManager.flush();
+            });
+        } catch (PersistenceException | DataIntegrityViolationException e) {
+            logger.debug("Projection row {} was inserted concurrently", emptyRow.getClass().getSimpleName());
+        }
+    }
+
+    private void adjustPairwiseBalance(String groupId, String fromUserId, String toUserId, BigDecimal amount) {
+        PairwiseBalanceId key = PairwiseBalance.keyOf(fromUserId, toUserId, groupId);
+        PairwiseBalance pair = pairwiseBalanceRepository.findForUpdate(key.getUserA(), key.getUserB(), groupId)
+            .orElseGet(() -> new PairwiseBalance(key.getUserA(), key.getUserB(), groupId));
+        pair.applyDebt(fromUserId, amount);
+        pairwiseBalanceRepository.save(pair);
+    }
+
+    /**
+     * A settled portion of debt: fromUser no longer owes toUser {@code amount}.
+     */
+    public record ReleasedDebt(String groupId, String fromUserId, String toUserId, BigDecimal amount) {
+    }
+
+    private record DebtKey(String groupId, String fromUserId, String toUserId) {
+    }
+}
@@ -1,27 +1,89 @@
 package com.finshare.balance.service;
 
 import com.finshare.balance.dto.GroupBalanceDto;
+import com.finshare.balance.dto.PairwiseBalanceDto;
 import com.finshare.balance.dto.SimplifiedDebtsDto;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Service;
 
 import java.math.BigDecimal;
+import java.time.Duration;
 import java.util.*;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Function;
+import java.util.stream.Collectors;
 
 /**
  * Service implementing the debt simplification algorithm.
  * 
  * Transforms a complex web of IOUs into the minimum number of payments required
- * to settle all balances within a group using a greedy algorithm approach.
+ * to settle all balances within a group. The configured engine (exact by default)
+ * is used when the group is small enough and finishes within the time budget;
+ * otherwise the greedy engine is used as a fallback.
+ * 
+ * Group plans are cached per group against the {@link GroupVersionTracker} version,
+ * so they are only recomputed after the group's balances change. The version is stored
+ * with the group's journal, so a change made through any instance invalidates the plans
+ * cached by all of them. The cache is bounded in size and entries expire after a TTL, so
+ * groups that are no longer read do not stay in memory. Cross-group plans for a
+ * user's whole network are netted from the user's pairwise balances on demand.
  */
 @Service
 public class DebtSimplificationService {
 
+    private static final Logger logger = LoggerFactory.getLogger(DebtSimplificationService.class);
+
     private final BalanceCalculationService balanceCalculationService;
+    private final GroupVersionTracker groupVersionTracker;
+    private final Cache<String, CachedPlan> planCache;
+    private final Map<String, DebtSimplifier> simplifiers;
+    private final GreedyDebtSimplifier greedyDebtSimplifier;
+    private final MeterRegistry meterRegistry;
+    private final String engine;
+    private final int exactMaxMembers;
+    private final Duration timeBudget;
+    private final int savingsSampleInterval;
+    private final AtomicLong configuredEngineSolves = new AtomicLong();
 
     @Autowired
-    public DebtSimplificationService(BalanceCalculationService balanceCalculationService) {
+    public DebtSimplificationService(BalanceCalculationService balanceCalculationService,
+                                   GroupVersionTracker groupVersionTracker,
+                                   List<DebtSimplifier> simplifiers,
+                                   GreedyDebtSimplifier greedyDebtSimplifier,
+                                   MeterRegistry meterRegistry,
+                                   @Value("${finshare.balance.simplification.engine:exact}") String engine,
+                                   @Value("${finshare.balance.simplification.exact-max-members:20}") int exactMaxMembers,
+                                   @Value("${finshare.balance.simplification.time-budget-ms:200}") long timeBudgetMs,
+                                   @Value("${finshare.balance.simplification.savings-sample-interval:100}") int savingsSampleInterval,
+                                   @Value("${finshare.balance.cache.debt-simplification-max-groups:10000}") long cacheMaxGroups,
+                                   @Value("${finshare.balance.cache.debt-simplification-ttl:600}") long cacheTtlSeconds) {
         this.balanceCalculationService = balanceCalculationService;
+        this.groupVersionTracker = groupVersionTracker;
+        this.simplifiers = simplifiers.stream()
+            .collect(Collectors.toMap(DebtSimplifier::getName, Function.identity()));
+        this.greedyDebtSimplifier = greedyDebtSimplifier;
+        this.meterRegistry = meterRegistry;
+        this.engine = engine;
+        this.exactMaxMembers = Math.min(exactMaxMembers, ExactDebtSimplifier.MAX_SUPPORTED_MEMBERS);
+        this.timeBudget = Duration.ofMillis(timeBudgetMs);
+        this.savingsSampleInterval = savingsSampleInterval;
+        this.planCache = Caffeine.newBuilder()
+            .maximumSize(cacheMaxGroups)
+            .expireAfterWrite(Duration.ofSeconds(cacheTtlSeconds))
+            .executor(Runnable::run) // Evict on the caller's thread rather than the common pool
+            .build();
+        
+        if (!this.simplifiers.containsKey(engine)) {
+            throw new IllegalArgumentException("Unknown debt simplification engine: " + engine);
+        }
     }
 
     /**
@@ -29,104 +91,160 @@ public class DebtSimplificationService {
      * 
      * Algorithm:
      * 1. Calculate net balances for all users
-     * 2. Partition users into creditors (positive balance) and debtors (negative balance)
-     * 3. Use greedy algorithm to match debtors with creditors
-     * 4. Generate minimum payment instructions
+     * 2. Run the configured simplification engine on the non-zero balances
+     * 3. Fall back to the greedy engine for large groups or when the time budget is exceeded
+     * 
+     * The plan does not depend on the requesting user, so it is served from the cache
+     * until the group's version changes.
      */
     public SimplifiedDebtsDto simplifyGroupDebts(String groupId, String requestingUserId) {
+        // Read the version before the balances, so a concurrent change leaves the entry stale rather than wrong
+        long version = groupVersionTracker.currentVersion(groupId);
+        CachedPlan cached = planCache.getIfPresent(groupId);
+        if (cached != null && cached.version() == version) {
+            meterRegistry.counter("finshare.debt.simplification.cache", "result", "hit").increment();
+            return cached.plan();
+        }
+        meterRegistry.counter("finshare.debt.simplification.cache", "result", "miss").increment();
+        
         // Step 1: Get current balances for the group
         GroupBalanceDto groupBalances = balanceCalculationService.calculateGroupBalances(groupId, requestingUserId);
-        Map<String, BigDecimal> userBalances = groupBalances.getUserBalances();
         
-        // Step 2: Partition users into creditors and debtors
-        List<UserBalance> creditors = new ArrayList<>();
-        List<UserBalance> debtors = new ArrayList<>();
+        // Step 2: Generate the payment plan
+        List<SimplifiedDebtsDto.PaymentInstruction> payments = simplifyBalances(groupBalances.getUserBalances());
         
-        for (Map.Entry<String, BigDecimal> entry : userBalances.entrySet()) {
-            String userId = entry.getKey();
-            BigDecimal balance = entry.getValue();
-            
-            if (balance.compareTo(BigDecimal.ZERO) > 0) {
-                creditors.add(new UserBalance(userId, balance));
-            } else if (balance.compareTo(BigDecimal.ZERO) < 0) {
-                debtors.add(new UserBalance(userId, balance.abs())); // Convert to positive for easier calculation
-            }
-            // Users with zero balance don't need any transactions
+        SimplifiedDebtsDto plan = new SimplifiedDebtsDto(List.copyOf(payments));
+        planCache.asMap().merge(groupId, new CachedPlan(version, plan),
+            (existing, computed) -> existing.version() > computed.version() ? existing : computed);
+        return plan;
+    }
+
+    /**
+     * Settle a user's positions across every group they share with each counterparty.
+     * 
+     * The plan is built from the user's own pairwise balances, so it only involves the user
+     * and people they share a group with. Each counterparty's balances across shared groups
+     * are netted into a single payment, which is the minimum for a plan where the user takes
+     * part in every transfer. Each payment carries its per-group allocations, so it can be
+     * recorded against the groups it settles; a counterparty whose groups cancel out gets a
+     * zero payment whose allocations clear the offsetting debts.
+     */
+    public SimplifiedDebtsDto simplifyUserNetworkDebts(String userId) {
+        long start = System.nanoTime();
+        List<PairwiseBalanceDto> counterparties = balanceCalculationService.calculatePairwiseBalances(userId);
+        
+        List<SimplifiedDebtsDto.PaymentInstruction> payments = new ArrayList<>();
+        int groupPositions = 0;
+        for (PairwiseBalanceDto counterparty : counterparties) {
+            groupPositions += counterparty.getGroupBalances().size();
+            payments.add(counterpartyPayment(userId, counterparty));
         }
         
-        // Step 3: Generate minimum transactions using greedy algorithm
-        List<SimplifiedDebtsDto.PaymentInstruction> payments = generateMinimumTransactions(debtors, creditors);
+        Timer.builder("finshare.debt.simplification.cross_group")
+            .description("Time to read and net a user's balances across all their groups")
+            .tag("members", sizeBucket(counterparties.size()))
+            .register(meterRegistry)
+            .record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+        meterRegistry.summary("finshare.debt.simplification.cross_group.transfers.saved",
+            "members", sizeBucket(counterparties.size())).record(groupPositions - payments.size());
+        return new SimplifiedDebtsDto(List.copyOf(payments));
+    }
+
+    /**
+     * The single payment settling the user's net position with a counterparty.
+     * 
+     * Allocations are expressed in the payment's direction: a negative allocation is a group
+     * where the payee owes the payer, recorded as a payment the other way.
+     */
+    private static SimplifiedDebtsDto.PaymentInstruction counterpartyPayment(String userId,
+                                                                             PairwiseBalanceDto counterparty) {
+        // A positive net balance means the counterparty owes the user
+        boolean counterpartyPays = counterparty.getNetBalance().signum() > 0;
+        Map<String, BigDecimal> allocations = new TreeMap<>();
+        counterparty.getGroupBalances().forEach((groupId, groupNet) ->
+            allocations.put(groupId, counterpartyPays ? groupNet : groupNet.negate()));
         
-        return new SimplifiedDebtsDto(payments);
+        return counterpartyPays
+            ? new SimplifiedDebtsDto.PaymentInstruction(counterparty.getCounterpartyId(), userId,
+                counterparty.getNetBalance(), allocations)
+            : new SimplifiedDebtsDto.PaymentInstruction(userId, counterparty.getCounterpartyId(),
+                counterparty.getNetBalance().negate(), allocations);
     }
 
     /**
-     * Generate minimum payment instructions using greedy algorithm.
+     * Compute a settlement plan for an arbitrary set of net balances.
+     * 
+     * @param balances Net balance per user (positive when owed money)
+     * @return Payment instructions settling all balances
      */
-    private List<SimplifiedDebtsDto.PaymentInstruction> generateMinimumTransactions(
-            List<UserBalance> debtors, List<UserBalance> creditors) {
+    public List<SimplifiedDebtsDto.PaymentInstruction> simplifyBalances(Map<String, BigDecimal> balances) {
+        int members = (int) balances.values().stream().filter(b -> b.signum() != 0).count();
+        String sizeTag = sizeBucket(members);
         
-        List<SimplifiedDebtsDto.PaymentInstruction> payments = new ArrayList<>();
+        long start = System.nanoTime();
+        List<SimplifiedDebtsDto.PaymentInstruction> greedyPlan = null;
+        List<SimplifiedDebtsDto.PaymentInstruction> payments = null;
+        String usedEngine = engine;
         
-        // Sort for consistent results (largest amounts first for efficiency)
-        debtors.sort((a, b) -> b.getAmount().compareTo(a.getAmount()));
-        creditors.sort((a, b) -> b.getAmount().compareTo(a.getAmount()));
+        if (!GreedyDebtSimplifier.NAME.equals(engine)) {
+            if (members <= exactMaxMembers) {
+                payments = simplifiers.get(engine).simplify(balances, start + timeBudget.toNanos()).orElse(null);
+                if (payments == null) {
+                    recordFallback("timeout", sizeTag);
+                }
+            } else {
+                recordFallback("size", sizeTag);
+            }
+        }
+        if (payments == null) {
+            usedEngine = GreedyDebtSimplifier.NAME;
+            greedyPlan = greedyDebtSimplifier.simplify(balances);
+            payments = greedyPlan;
+        }
+        long elapsed = System.nanoTime() - start;
         
-        int debtorIndex = 0;
-        int creditorIndex = 0;
+        Timer.builder("finshare.debt.simplification")
+            .description("Time to compute a settlement plan")
+            .tag("engine", usedEngine)
+            .tag("members", sizeTag)
+            .register(meterRegistry)
+            .record(elapsed, TimeUnit.NANOSECONDS);
         
-        while (debtorIndex < debtors.size() && creditorIndex < creditors.size()) {
-            UserBalance debtor = debtors.get(debtorIndex);
-            UserBalance creditor = creditors.get(creditorIndex);
-            
-            // Determine payment amount (minimum of what debtor owes and creditor is owed)
-            BigDecimal paymentAmount = debtor.getAmount().min(creditor.getAmount());
-            
-            // Create payment instruction
-            payments.add(new SimplifiedDebtsDto.PaymentInstruction(
-                debtor.getUserId(),
-                creditor.getUserId(),
-                paymentAmount
-            ));
-            
-            // Update remaining amounts
-            debtor.setAmount(debtor.getAmount().subtract(paymentAmount));
-            creditor.setAmount(creditor.getAmount().subtract(paymentAmount));
-            
-            // Move to next debtor/creditor if current one is settled
-            if (debtor.getAmount().compareTo(BigDecimal.ZERO) == 0) {
-                debtorIndex++;
-            }
-            if (creditor.getAmount().compareTo(BigDecimal.ZERO) == 0) {
-                creditorIndex++;
-            }
+        if (greedyPlan == null && savingsSampleInterval > 0
+                && configuredEngineSolves.incrementAndGet() % savingsSampleInterval == 0) {
+            // Compare a sample of plans against the greedy baseline, which costs a second solve
+            int saved = greedyDebtSimplifier.simplify(balances).size() - payments.size();
+            meterRegistry.summary("finshare.debt.simplification.transfers.saved",
+                "engine", usedEngine, "members", sizeTag).record(saved);
         }
         
+        logger.debug("Simplified {} balances into {} payments with {} engine in {} us",
+            members, payments.size(), usedEngine, elapsed / 1_000);
         return payments;
     }
 
+    private void recordFallback(String reason, String sizeTag) {
+        meterRegistry.counter("finshare.debt.simplification.fallbacks",
+            "engine", engine, "reason", reason, "members", sizeTag).increment();
+    }
+
     /**
-     * Helper class to track user balance information during algorithm execution.
+     * Settlement plan computed for a group at a given version.
      */
-    private static class UserBalance {
-        private String userId;
-        private BigDecimal amount;
-
-        public UserBalance(String userId, BigDecimal amount) {
-            this.userId = userId;
-            this.amount = amount;
-        }
-
-        public String getUserId() {
-            return userId;
-        }
-
-        public BigDecimal getAmount() {
-            return amount;
-        }
+    private record CachedPlan(long version, SimplifiedDebtsDto plan) {
+    }
 
-        public void setAmount(BigDecimal amount) {
-            this.amount = amount;
+    /**
+     * Bucket member counts so metrics stay low-cardinality.
+     */
+    private static String sizeBucket(int members) {
+        if (members <= 5) {
+            return "0-5";
+        } else if (members <= 10) {
+            return "6-10";
+        } else if (members <= 20) {
+            return "11-20";
         }
+        return "21+";
     }
-}
\ No newline at end of file
+}
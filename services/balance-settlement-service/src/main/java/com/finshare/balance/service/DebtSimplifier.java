@@ -0,0 +1,28 @@
+package com.finshare.balance.service;
+
+import com.finshare.balance.dto.SimplifiedDebtsDto;
+
+import java.math.BigDecimal;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+
+/**
+ * Strategy for turning a set of net balances into a settlement plan.
+ */
+public interface DebtSimplifier {
+
+    /**
+     * Name of the engine, used for configuration and metrics tags.
+     */
+    String getName();
+
+    /**
+     * Compute payment instructions that settle the given net balances.
+     *
+     * @param balances Net balance per user (positive when owed money); must sum to zero
+     * @param deadlineNanos {@link System#nanoTime()} value after which the engine should give up
+     * @return The payment plan, or empty if the engine could not finish before the deadline
+     */
+    Optional<List<SimplifiedDebtsDto.PaymentInstruction>> simplify(Map<String, BigDecimal> balances, long deadlineNanos);
+}
@@ -0,0 +1,127 @@
+package com.finshare.balance.service;
+
+import com.finshare.balance.dto.SimplifiedDebtsDto;
+import com.finshare.balance.util.MoneyCents;
+import org.springframework.stereotype.Component;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+
+/**
+ * Greedy debt simplification: repeatedly matches the largest debtor with the largest creditor.
+ * 
+ * Runs in O(n log n) and never needs more than n - 1 payments, but is not always minimal.
+ * Amounts are matched as long cents and only converted back to BigDecimal for the output.
+ */
+@Component
+public class GreedyDebtSimplifier implements DebtSimplifier {
+
+    public static final String NAME = "greedy";
+
+    @Override
+    public String getName() {
+        return NAME;
+    }
+
+    @Override
+    public Optional<List<SimplifiedDebtsDto.PaymentInstruction>> simplify(Map<String, BigDecimal> balances,
+                                                                        long deadlineNanos) {
+        return Optional.of(simplify(balances));
+    }
+
+    /**
+     * Simplify without a deadline; the greedy algorithm always completes quickly.
+     */
+    public List<SimplifiedDebtsDto.PaymentInstruction> simplify(Map<String, BigDecimal> balances) {
+        // Partition users into creditors and debtors
+        List<UserBalance> creditors = new ArrayList<>();
+        List<UserBalance> debtors = new ArrayList<>();
+        
+        for (Map.Entry<String, BigDecimal> entry : balances.entrySet()) {
+            String userId = entry.getKey();
+            long balance = MoneyCents.toCents(entry.getValue());
+            
+            if (balance > 0) {
+                creditors.add(new UserBalance(userId, balance));
+            } else if (balance < 0) {
+                debtors.add(new UserBalance(userId, Math.negateExact(balance))); // Convert to positive for easier calculation
+            }
+            // Users with zero balance don't need any transactions
+        }
+        
+        return generateMinimumTransactions(debtors, creditors);
+    }
+
+    /**
+     * Generate payment instructions using greedy algorithm.
+     */
+    private List<SimplifiedDebtsDto.PaymentInstruction> generateMinimumTransactions(
+            List<UserBalance> debtors, List<UserBalance> creditors) {
+        
+        List<SimplifiedDebtsDto.PaymentInstruction> payments = new ArrayList<>();
+        
+        // Sort for consistent results (largest amounts first for efficiency)
+        debtors.sort((a, b) -> Long.compare(b.getAmount(), a.getAmount()));
+        creditors.sort((a, b) -> Long.compare(b.getAmount(), a.getAmount()));
+        
+        int debtorIndex = 0;
+        int creditorIndex = 0;
+        
+        while (debtorIndex < debtors.size() && creditorIndex < creditors.size()) {
+            UserBalance debtor = debtors.get(debtorIndex);
+            UserBalance creditor = creditors.get(creditorIndex);
+            
+            // Determine payment amount (minimum of what debtor owes and creditor is owed)
+            long paymentAmount = Math.min(debtor.getAmount(), creditor.getAmount());
+            
+            // Create payment instruction
+            payments.add(new SimplifiedDebtsDto.PaymentInstruction(
+                debtor.getUserId(),
+                creditor.getUserId(),
+                MoneyCents.toBigDecimal(paymentAmount)
+            ));
+            
+            // Update remaining amounts
+            debtor.setAmount(debtor.getAmount() - paymentAmount);
+            creditor.setAmount(creditor.getAmount() - paymentAmount);
+            
+            // Move to next debtor/creditor if current one is settled
+            if (debtor.getAmount() == 0) {
+                debtorIndex++;
+            }
+            if (creditor.getAmount() == 0) {
+                creditorIndex++;
+            }
+        }
+        
+        return payments;
+    }
+
+    /**
+     * Helper class to track user balance information during algorithm execution.
+     */
+    private static class UserBalance {
+        private String userId;
+        private long amount;
+
+        public UserBalance(String userId, long amount) {
+            this.userId = userId;
+            this.amount = amount;
+        }
+
+        public String getUserId() {
+            return userId;
+        }
+
+        public long getAmount() {
+            return amount;
+        }
+
+        public void setAmount(long amount) {
+            this.amount = amount;
+        }
+    }
+}
@@ -0,0 +1,112 @@
+package com.finshare.balance.service;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.CannotAcquireLockException;
+import org.springframework.stereotype.Component;
+
+import java.util.Collection;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Supplier;
+
+/**
+ * Striped in-process locks serializing work on the same group.
+ *
+ * Each group maps to one of a fixed number of locks, so operations on one group run one
+ * at a time while different groups proceed in parallel (apart from the occasional two
+ * groups sharing a stripe). The locks only coordinate threads within this instance.
+ */
+@Component
+public class GroupLocks {
+
+    private final ReentrantLock[] stripes;
+    private final long timeoutMs;
+    private final Timer waitTimer;
+
+    @Autowired
+    public GroupLocks(MeterRegistry meterRegistry,
+                      @Value("${finshare.balance.group-locks.stripes:256}") int stripes,
+                      @Value("${finshare.balance.group-locks.timeout-ms:5000}") long timeoutMs) {
+        this.stripes = new ReentrantLock[stripes];
+        for (int i = 0; i < stripes; i++) {
+            this.stripes[i] = new ReentrantLock();
+        }
+        this.timeoutMs = timeoutMs;
+        this.waitTimer = Timer.builder("finshare.group.lock.wait")
+            .description("Time spent waiting for a group lock")
+            .register(meterRegistry);
+    }
+
+    /**
+     * Run an action holding the group's lock.
+     *
+     * @throws CannotAcquireLockException if the lock is not free within the configured timeout
+     */
+    public <T> T withLock(String groupId, Supplier<T> action) {
+        return withStripe(stripeIndex(groupId), "group " + groupId, action);
+    }
+
+    /**
+     * Run an action holding the locks of several groups.
+     *
+     * The locks are taken in stripe order, so callers locking overlapping sets of groups
+     * cannot deadlock each other.
+     *
+     * @throws CannotAcquireLockException if a lock is not free within the configured timeout
+     */
+    public <T> T withLocks(Collection<String> groupIds, Supplier<T> action) {
+        int[] indexes = groupIds.stream().mapToInt(this::stripeIndex).distinct().sorted().toArray();
+        return withStripes(indexes, 0, action);
+    }
+
+    /**
+     * Run an action holding the group's lock.
+     *
+     * @throws CannotAcquireLockException if the lock is not free within the configured timeout
+     */
+    public void withLock(String groupId, Runnable action) {
+        withLock(groupId, () -> {
+            action.run();
+            return null;
+        });
+    }
+
+    private <T> T withStripes(int[] indexes, int next, Supplier<T> action) {
+        if (next == indexes.length) {
+            return action.get();
+        }
+        return withStripe(indexes[next], "groups", () -> withStripes(indexes, next + 1, action));
+    }
+
+    private <T> T withStripe(int index, String description, Supplier<T> action) {
+        ReentrantLock lock = stripes[index];
+        long start = System.nanoTime();
+        boolean acquired;
+        try {
+            acquired = lock.tryLock(timeoutMs, TimeUnit.MILLISECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new CannotAcquireLockException("Interrupted waiting for the lock on " + description, e);
+        } finally {
+            waitTimer.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+        }
+        if (!acquired) {
+            throw new CannotAcquireLockException("Timed out waiting for the lock on " + description);
+        }
+        try {
+            return action.get();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private int stripeIndex(String groupId) {
+        int hash = groupId.hashCode();
+        // Mix the high bits into the low ones the modulus keeps
+        hash ^= hash >>> 16;
+        return Math.floorMod(hash, stripes.length);
+    }
+}
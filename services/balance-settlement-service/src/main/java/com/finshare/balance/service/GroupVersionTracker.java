@@ -0,0 +1,32 @@
+package com.finshare.balance.service;
+
+import com.finshare.balance.repository.GroupLedgerHeadRepository;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+
+/**
+ * Provides a version per group that changes whenever the group's balances change.
+ *
+ * Results derived from a group's balances can be cached against the version read
+ * before computing them; a later change moves the version on and invalidates them.
+ * The version is the sequence of the group's journal head, which every balance change
+ * and every projection rebuild advances in the same transaction. It is therefore shared
+ * by every instance of the service and only moves once the change has committed.
+ */
+@Component
+public class GroupVersionTracker {
+
+    private final GroupLedgerHeadRepository groupLedgerHeadRepository;
+
+    @Autowired
+    public GroupVersionTracker(GroupLedgerHeadRepository groupLedgerHeadRepository) {
+        this.groupLedgerHeadRepository = groupLedgerHeadRepository;
+    }
+
+    /**
+     * Get the current version of a group, or 0 before its balances first change.
+     */
+    public long currentVersion(String groupId) {
+        return groupLedgerHeadRepository.findSequence(groupId).orElse(0L);
+    }
+}
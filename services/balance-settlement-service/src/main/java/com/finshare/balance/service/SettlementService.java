@@ -1,14 +1,26 @@
 package com.finshare.balance.service;
 
 import com.finshare.balance.dto.RecordPaymentDto;
+import com.finshare.balance.dto.SettlementHistoryDto;
 import com.finshare.balance.entity.Transaction;
 import com.finshare.balance.repository.TransactionRepository;
+import com.finshare.balance.util.MoneyCents;
+import jakarta.persistence.EntityManager;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.dao.OptimisticLockingFailureException;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
 import org.springframework.stereotype.Service;
-import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
 
 import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
 import java.time.Instant;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.Base64;
+import java.util.Comparator;
 import java.util.List;
 import java.util.UUID;
 
@@ -23,11 +35,31 @@ import java.util.UUID;
 @Service
 public class SettlementService {
 
+    private static final int ALLOCATION_PAGE_SIZE = 200;
+    private static final int SETTLE_BATCH_SIZE = 1000;
+    private static final Instant HISTORY_START = Instant.parse("9999-12-31T23:59:59Z");
+    private static final Comparator<Transaction> HISTORY_ORDER = Comparator
+        .comparing(Transaction::getSettledAt)
+        .thenComparing(Transaction::getTransactionId)
+        .reversed();
+
     private final TransactionRepository transactionRepository;
+    private final BalanceLedgerService balanceLedgerService;
+    private final GroupLocks groupLocks;
+    private final TransactionTemplate transactionTemplate;
+    private final EntityManager entityManager;
 
     @Autowired
-    public SettlementService(TransactionRepository transactionRepository) {
+    public SettlementService(TransactionRepository transactionRepository,
+                           BalanceLedgerService balanceLedgerService,
+                           GroupLocks groupLocks,
+                           TransactionTemplate transactionTemplate,
+                           EntityManager entityManager) {
         this.transactionRepository = transactionRepository;
+        this.balanceLedgerService = balanceLedgerService;
+        this.groupLocks = groupLocks;
+        this.transactionTemplate = transactionTemplate;
+        this.entityManager = entityManager;
     }
 
     /**
@@ -36,10 +68,63 @@ public class SettlementService {
      * This method:
      * 1. Creates a settlement transaction record
      * 2. Marks existing debt transactions as settled (up to the payment amount)
-     * 3. Ensures transactional integrity
+     * 3. Updates the materialized group balances by the settled amount
+     * 4. Ensures transactional integrity
+     * 
+     * Payments in the same group are serialized by a group lock held until the database
+     * transaction commits, so two payments cannot allocate against the same debts.
+     * Payments in different groups run in parallel.
      */
-    @Transactional
     public void recordPayment(String payerId, RecordPaymentDto paymentDto) {
+        groupLocks.withLock(paymentDto.getGroupId(), () -> transactionTemplate.executeWithoutResult(status ->
+            balanceLedgerService.releaseDebts(List.of(settlePayment(payerId, paymentDto)))));
+    }
+
+    /**
+     * Record several payments in one group, such as a whole simplified plan, atomically.
+     * 
+     * Takes the group lock once and applies every payment in a single database transaction,
+     * so either all payments are recorded or none are.
+     * 
+     * @param authenticatedUserId Payer for payments that do not name one; must be the payer
+     *                            or the recipient of every payment
+     * @param payments Payments, all in the same group, applied in order
+     * @return The group ID the payments were recorded in
+     * @throws IllegalArgumentException if the payments span more than one group
+     * @throws SecurityException if a payment is neither made nor received by the authenticated user
+     */
+    public String recordPayments(String authenticatedUserId, List<RecordPaymentDto> payments) {
+        String groupId = payments.get(0).getGroupId();
+        List<String> payerIds = new ArrayList<>(payments.size());
+        for (RecordPaymentDto payment : payments) {
+            if (!groupId.equals(payment.getGroupId())) {
+                throw new IllegalArgumentException("All payments in a batch must be in the same group");
+            }
+            String payerId = payment.getFromUserId() != null ? payment.getFromUserId() : authenticatedUserId;
+            if (!payerId.equals(authenticatedUserId) && !payment.getToUserId().equals(authenticatedUserId)) {
+                throw new SecurityException("User " + authenticatedUserId
+                    + " cannot record a payment from " + payerId + " to " + payment.getToUserId());
+            }
+            payerIds.add(payerId);
+        }
+        
+        groupLocks.withLock(groupId, () -> transactionTemplate.executeWithoutResult(status -> {
+            List<BalanceLedgerService.ReleasedDebt> settled = new ArrayList<>(payments.size());
+            for (int i = 0; i < payments.size(); i++) {
+                settled.add(settlePayment(payerIds.get(i), payments.get(i)));
+            }
+            // Release everything at once, so the shared balance rows are locked in one sorted pass
+            balanceLedgerService.releaseDebts(settled);
+        }));
+        return groupId;
+    }
+
+    /**
+     * Record a payment and settle the debts it covers.
+     * 
+     * @return The debt the payment settled, for the caller to release from the balance projections
+     */
+    private BalanceLedgerService.ReleasedDebt settlePayment(String payerId, RecordPaymentDto paymentDto) {
         String groupId = paymentDto.getGroupId();
         String recipientId = paymentDto.getToUserId();
         BigDecimal paymentAmount = paymentDto.getAmount();
@@ -48,7 +133,7 @@ public class SettlementService {
         Transaction settlementTransaction = new Transaction(
             UUID.randomUUID().toString(),
             groupId,
-            "SETTLEMENT", // Special expense ID for manual settlements
+            Transaction.SETTLEMENT_EXPENSE_ID, // Special expense ID for manual settlements
             payerId,
             recipientId,
             paymentAmount
@@ -56,55 +141,89 @@ public class SettlementService {
         settlementTransaction.setIsSettled(true);
         settlementTransaction.setSettledAt(Instant.now());
         
-        transactionRepository.save(settlementTransaction);
+        // New row with an assigned ID: persist directly (save() would SELECT it first) and let it batch
+        entityManager.persist(settlementTransaction);
         
         // Find and settle existing debt transactions between these users
-        settleExistingDebts(groupId, payerId, recipientId, paymentAmount);
+        BigDecimal settledAmount = settleExistingDebts(groupId, payerId, recipientId, paymentAmount);
+        return new BalanceLedgerService.ReleasedDebt(groupId, payerId, recipientId, settledAmount);
     }
 
     /**
      * Settle existing debt transactions between two users up to the payment amount.
+     * 
+     * Debts are allocated oldest first. The scan reads only IDs and amounts, a page at a
+     * time, and stops once the payment is used up; the fully covered debts are then
+     * settled with bulk updates and only the debt the payment partly covers is loaded and split.
+     * 
+     * @return The amount of debt settled, at most the payment amount
      */
-    private void settleExistingDebts(String groupId, String payerId, String recipientId, BigDecimal paymentAmount) {
-        // Find unsettled transactions where payer owes recipient
-        List<Transaction> debtTransactions = transactionRepository
-            .findUnsettledTransactionsBetweenUsers(groupId, payerId, recipientId);
+    private BigDecimal settleExistingDebts(String groupId, String payerId, String recipientId, BigDecimal paymentAmount) {
+        long remainingCents = MoneyCents.toCents(paymentAmount);
+        List<String> coveredIds = new ArrayList<>();
+        String partiallyCoveredId = null;
         
-        BigDecimal remainingPayment = paymentAmount;
+        Pageable pageable = PageRequest.of(0, ALLOCATION_PAGE_SIZE);
+        while (remainingCents > 0 && partiallyCoveredId == null) {
+            Slice<TransactionRepository.DebtAmount> page =
+                transactionRepository.findUnsettledDebtAmountsBetweenUsers(groupId, payerId, recipientId, pageable);
+            for (TransactionRepository.DebtAmount debt : page) {
+                long debtCents = MoneyCents.toCents(debt.getAmount());
+                if (remainingCents < debtCents) {
+                    // Payment only partially covers this debt
+                    partiallyCoveredId = debt.getTransactionId();
+                    break;
+                }
+                // Payment covers this entire debt
+                coveredIds.add(debt.getTransactionId());
+                remainingCents -= debtCents;
+                if (remainingCents == 0) {
+                    break; // Payment fully allocated
+                }
+            }
+            if (!page.hasNext()) {
+                break;
+            }
+            pageable = page.nextPageable();
+        }
         
-        for (Transaction debt : debtTransactions) {
-            if (remainingPayment.compareTo(BigDecimal.ZERO) <= 0) {
-                break; // Payment fully allocated
+        Instant settledAt = Instant.now();
+        // The group lock already excludes concurrent payments; these checks catch changes made elsewhere
+        for (int from = 0; from < coveredIds.size(); from += SETTLE_BATCH_SIZE) {
+            List<String> chunk = coveredIds.subList(from, Math.min(from + SETTLE_BATCH_SIZE, coveredIds.size()));
+            if (transactionRepository.markSettled(chunk, settledAt) != chunk.size()) {
+                throw new OptimisticLockingFailureException("Debts in group " + groupId + " were settled concurrently");
             }
+        }
+        
+        if (partiallyCoveredId != null) {
+            Transaction debt = transactionRepository.findById(partiallyCoveredId)
+                .filter(candidate -> !candidate.getIsSettled())
+                .orElseThrow(() -> new OptimisticLockingFailureException(
+                    "Debts in group " + groupId + " were settled concurrently"));
+            BigDecimal settledPortion = MoneyCents.toBigDecimal(remainingCents);
             
-            if (remainingPayment.compareTo(debt.getAmount()) >= 0) {
-                // Payment covers this entire debt
-                debt.setIsSettled(true);
-                debt.setSettledAt(Instant.now());
-                remainingPayment = remainingPayment.subtract(debt.getAmount());
-                transactionRepository.save(debt);
-            } else {
-                // Payment only partially covers this debt
-                // Create a new transaction for the settled portion
-                Transaction partialSettlement = new Transaction(
-                    UUID.randomUUID().toString(),
-                    debt.getGroupId(),
-                    debt.getExpenseId(),
-                    debt.getFromUserId(),
-                    debt.getToUserId(),
-                    remainingPayment
-                );
-                partialSettlement.setIsSettled(true);
-                partialSettlement.setSettledAt(Instant.now());
-                transactionRepository.save(partialSettlement);
-                
-                // Update original debt with remaining amount
-                debt.setAmount(debt.getAmount().subtract(remainingPayment));
-                transactionRepository.save(debt);
-                
-                remainingPayment = BigDecimal.ZERO;
-            }
+            // Create a new transaction for the settled portion
+            Transaction partialSettlement = new Transaction(
+                UUID.randomUUID().toString(),
+                debt.getGroupId(),
+                debt.getExpenseId(),
+                debt.getFromUserId(),
+                debt.getToUserId(),
+                settledPortion
+            );
+            partialSettlement.setIsSettled(true);
+            partialSettlement.setSettledAt(settledAt);
+            entityManager.persist(partialSettlement);
+            
+            // Update original debt with remaining amount
+            debt.setAmount(debt.getAmount().subtract(settledPortion));
+            transactionRepository.save(debt);
+            
+            remainingCents = 0;
         }
+        
+        return paymentAmount.subtract(MoneyCents.toBigDecimal(remainingCents));
     }
 
     /**
@@ -140,12 +259,54 @@ public class SettlementService {
     }
 
     /**
-     * Get settlement history for a user.
+     * Get a page of settlement history for a user: payments they made or received, newest first.
+     * 
+     * Pages are addressed by a (settledAt, transactionId) keyset cursor rather than an offset,
+     * so fetching a page costs the same however far into the history it is.
+     * 
+     * @param cursor The previous page's {@code nextCursor}, or null for the first page
+     * @param limit Maximum number of settlements to return
+     */
+    public SettlementHistoryDto getSettlementHistory(String userId, String cursor, int limit) {
+        HistoryCursor after = cursor == null ? new HistoryCursor(HISTORY_START, "") : HistoryCursor.decode(cursor);
+        Instant settledAt = after.settledAt();
+        String transactionId = after.transactionId();
+        
+        // Each side is read from its own index; one more row than needed tells whether another page exists
+        Pageable pageable = PageRequest.of(0, limit + 1);
+        List<Transaction> settlements = new ArrayList<>(
+            transactionRepository.findSettlementsPaidAfter(userId, settledAt, transactionId, pageable));
+        settlements.addAll(transactionRepository.findSettlementsReceivedAfter(userId, settledAt, transactionId, pageable));
+        settlements.sort(HISTORY_ORDER);
+        
+        if (settlements.size() <= limit) {
+            return new SettlementHistoryDto(settlements, null);
+        }
+        List<Transaction> page = new ArrayList<>(settlements.subList(0, limit));
+        Transaction last = page.get(limit - 1);
+        return new SettlementHistoryDto(page, new HistoryCursor(last.getSettledAt(), last.getTransactionId()).encode());
+    }
+
+    /**
+     * Position in the history: the (settledAt, transactionId) of the last settlement returned,
+     * carried between requests as an opaque URL-safe string.
      */
-    public List<Transaction> getSettlementHistory(String userId) {
-        return transactionRepository.findUnsettledTransactionsByUserId(userId)
-            .stream()
-            .filter(t -> t.getExpenseId().equals("SETTLEMENT"))
-            .toList();
+    private record HistoryCursor(Instant settledAt, String transactionId) {
+
+        String encode() {
+            // The column stores microseconds; compare against the stored value, not a finer in-memory one
+            String keys = settledAt.truncatedTo(ChronoUnit.MICROS) + " " + transactionId;
+            return Base64.getUrlEncoder().withoutPadding().encodeToString(keys.getBytes(StandardCharsets.UTF_8));
+        }
+
+        static HistoryCursor decode(String cursor) {
+            try {
+                String keys = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8);
+                int separator = keys.indexOf(' ');
+                return new HistoryCursor(Instant.parse(keys.substring(0, separator)), keys.substring(separator + 1));
+            } catch (RuntimeException e) {
+                throw new IllegalArgumentException("Invalid history cursor: " + cursor, e);
+            }
+        }
     }
-}
\ No newline at end of file
+}
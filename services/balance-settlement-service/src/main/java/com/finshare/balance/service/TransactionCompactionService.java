@@ -0,0 +1,107 @@
+package com.finshare.balance.service;
+
+import com.finshare.balance.entity.GroupArchiveCheckpoint;
+import com.finshare.balance.repository.ArchivedTransactionRepository;
+import com.finshare.balance.repository.GroupArchiveCheckpointRepository;
+import com.finshare.balance.repository.TransactionRepository;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.List;
+
+/**
+ * Service moving old settled debt transactions out of the hot {@code transactions} table.
+ *
+ * Settled rows, including the settled halves of partially paid debts, no longer affect
+ * balances but would otherwise stay in the table and its indexes forever. Compaction copies
+ * those settled before the retention cutoff into {@code archived_transactions}, folds their
+ * totals into each group's {@link GroupArchiveCheckpoint} and deletes them, in batches that
+ * each commit on their own. Settlement payments stay in place, as they are the users'
+ * settlement history.
+ */
+@Service
+public class TransactionCompactionService {
+
+    private static final Logger logger = LoggerFactory.getLogger(TransactionCompactionService.class);
+
+    private final TransactionRepository transactionRepository;
+    private final ArchivedTransactionRepository archivedTransactionRepository;
+    private final GroupArchiveCheckpointRepository groupArchiveCheckpointRepository;
+    private final TransactionTemplate transactionTemplate;
+    private final MeterRegistry meterRegistry;
+    private final Duration retention;
+    private final int batchSize;
+
+    @Autowired
+    public TransactionCompactionService(TransactionRepository transactionRepository,
+                                      ArchivedTransactionRepository archivedTransactionRepository,
+                                      GroupArchiveCheckpointRepository groupArchiveCheckpointRepository,
+                                      TransactionTemplate transactionTemplate,
+                                      MeterRegistry meterRegistry,
+                                      @Value("${finshare.balance.compaction.retention-days:90}") long retentionDays,
+                                      @Value("${finshare.balance.compaction.batch-size:1000}") int batchSize) {
+        this.transactionRepository = transactionRepository;
+        this.archivedTransactionRepository = archivedTransactionRepository;
+        this.groupArchiveCheckpointRepository = groupArchiveCheckpointRepository;
+        this.transactionTemplate = transactionTemplate;
+        this.meterRegistry = meterRegistry;
+        this.retention = Duration.ofDays(retentionDays);
+        this.batchSize = batchSize;
+    }
+
+    /**
+     * Compact transactions settled longer ago than the retention period.
+     *
+     * @return Number of transactions archived
+     */
+    @Scheduled(cron = "${finshare.balance.compaction.cron:0 30 3 * * *}")
+    public long compactExpired() {
+        return compact(Instant.now().minus(retention));
+    }
+
+    /**
+     * Archive settled debt transactions settled before the cutoff.
+     *
+     * @return Number of transactions archived
+     */
+    public long compact(Instant cutoff) {
+        long start = System.nanoTime();
+        long archived = 0;
+        int batch;
+        do {
+            batch = transactionTemplate.execute(status -> compactBatch(cutoff));
+            archived += batch;
+        } while (batch == batchSize);
+
+        meterRegistry.counter("finshare.transactions.compacted").increment(archived);
+        logger.info("Archived {} transactions settled before {} in {} ms",
+            archived, cutoff, (System.nanoTime() - start) / 1_000_000);
+        return archived;
+    }
+
+    private int compactBatch(Instant cutoff) {
+        List<String> transactionIds = transactionRepository.findCompactableIds(cutoff, PageRequest.of(0, batchSize));
+        if (transactionIds.isEmpty()) {
+            return 0;
+        }
+
+        for (TransactionRepository.GroupSettledTotal total : transactionRepository.sumByGroup(transactionIds)) {
+            GroupArchiveCheckpoint checkpoint = groupArchiveCheckpointRepository.findForUpdate(total.getGroupId())
+                .orElseGet(() -> new GroupArchiveCheckpoint(total.getGroupId()));
+            checkpoint.add(total.getTransactionCount(), total.getAmount(), total.getLatestSettledAt());
+            groupArchiveCheckpointRepository.save(checkpoint);
+        }
+        archivedTransactionRepository.copyFromTransactions(transactionIds, Instant.now());
+        transactionRepository.deleteAllByIdInBatch(transactionIds);
+        return transactionIds.size();
+    }
+}
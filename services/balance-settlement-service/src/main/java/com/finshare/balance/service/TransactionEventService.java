@@ -0,0 +1,147 @@
+package com.finshare.balance.service;
+
+import com.finshare.balance.dto.TransactionEventDto;
+import com.finshare.balance.entity.ProcessedEvent;
+import com.finshare.balance.entity.Transaction;
+import com.finshare.balance.repository.ProcessedEventRepository;
+import com.finshare.balance.repository.TransactionRepository;
+import jakarta.persistence.EntityManager;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Optional;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+/**
+ * Service applying transaction events published by the Group & Expense Service.
+ * 
+ * Replaces pulling transactions on the request path: the Group & Expense Service
+ * records events in its outbox and pushes them here, so balance reads only touch
+ * this service's own projections. Events are applied in delivery order and
+ * redeliveries are discarded by event ID. Each batch holds the locks of the groups
+ * it touches, so a deletion cannot race a payment settling the same debt.
+ */
+@Service
+public class TransactionEventService {
+
+    private static final Logger logger = LoggerFactory.getLogger(TransactionEventService.class);
+
+    private final TransactionRepository transactionRepository;
+    private final ProcessedEventRepository processedEventRepository;
+    private final BalanceLedgerService balanceLedgerService;
+    private final TransactionSyncService transactionSyncService;
+    private final EntityManager entityManager;
+    private final GroupLocks groupLocks;
+    private final TransactionTemplate transactionTemplate;
+
+    @Autowired
+    public TransactionEventService(TransactionRepository transactionRepository,
+                                 ProcessedEventRepository processedEventRepository,
+                                 BalanceLedgerService balanceLedgerService,
+                                 TransactionSyncService transactionSyncService,
+                                 EntityManager entityManager,
+                                 GroupLocks groupLocks,
+                                 TransactionTemplate transactionTemplate) {
+        this.transactionRepository = transactionRepository;
+        this.processedEventRepository = processedEventRepository;
+        this.balanceLedgerService = balanceLedgerService;
+        this.transactionSyncService = transactionSyncService;
+        this.entityManager = entityManager;
+        this.groupLocks = groupLocks;
+        this.transactionTemplate = transactionTemplate;
+    }
+
+    /**
+     * Apply a batch of events atomically.
+     * 
+     * Consecutive creation events are ingested together as one page, so a batch
+     * costs a few queries rather than several per event; they are flushed before
+     * any deletion so events still take effect in the order they were published.
+     * 
+     * @param events Events in the order they were published
+     * @return Number of events applied (excluding redeliveries)
+     */
+    public int applyEvents(List<TransactionEventDto> events) {
+        Set<String> groupIds = events.stream()
+            .map(TransactionEventDto::getGroupId)
+            .collect(Collectors.toSet());
+        return groupLocks.withLocks(groupIds, () -> transactionTemplate.execute(status -> applyInTransaction(events)));
+    }
+
+    private int applyInTransaction(List<TransactionEventDto> events) {
+        Set<String> processed = new HashSet<>(processedEventRepository.findExistingIds(
+            events.stream().map(TransactionEventDto::getEventId).toList()));
+        List<Transaction> created = new ArrayList<>();
+        int applied = 0;
+        for (TransactionEventDto event : events) {
+            if (!processed.add(event.getEventId())) {
+                logger.debug("Skipping already processed event {}", event.getEventId());
+                continue;
+            }
+            
+            switch (event.getEventType()) {
+                case TransactionEventDto.TRANSACTION_CREATED -> created.add(toTransaction(event.getPayload()));
+                case TransactionEventDto.TRANSACTION_DELETED -> {
+                    ingestCreated(created);
+                    applyDeleted(event.getPayload());
+                }
+                default -> logger.warn("Ignoring event {} of unknown type {}", event.getEventId(), event.getEventType());
+            }
+            
+            entityManager.persist(new ProcessedEvent(event.getEventId(), event.getEventType()));
+            applied++;
+        }
+        ingestCreated(created);
+        return applied;
+    }
+
+    /**
+     * Record the pending new unsettled debts.
+     */
+    private void ingestCreated(List<Transaction> created) {
+        if (!created.isEmpty()) {
+            transactionSyncService.ingestTransactions(created);
+            created.clear();
+        }
+    }
+
+    private Transaction toTransaction(TransactionEventDto.TransactionPayload payload) {
+        Transaction transaction = new Transaction(
+            payload.getTransactionId(),
+            payload.getGroupId(),
+            payload.getExpenseId(),
+            payload.getFromUserId(),
+            payload.getToUserId(),
+            payload.getAmount()
+        );
+        if (payload.getCreatedAt() != null) {
+            transaction.setCreatedAt(payload.getCreatedAt());
+        }
+        return transaction;
+    }
+
+    /**
+     * Remove a debt whose expense was changed or deleted.
+     * 
+     * Only the still-unsettled part is removed; portions already settled
+     * stay in the history, as that money has actually changed hands.
+     */
+    private void applyDeleted(TransactionEventDto.TransactionPayload payload) {
+        Optional<Transaction> existing = transactionRepository.findById(payload.getTransactionId());
+        if (existing.isEmpty() || existing.get().getIsSettled()) {
+            return;
+        }
+        
+        Transaction transaction = existing.get();
+        balanceLedgerService.releaseDebt(transaction.getGroupId(), transaction.getFromUserId(),
+            transaction.getToUserId(), transaction.getAmount());
+        transactionRepository.delete(transaction);
+    }
+}
@@ -1,129 +1,96 @@
 package com.finshare.balance.service;
 
 import com.finshare.balance.entity.Transaction;
+import com.finshare.balance.repository.ArchivedTransactionRepository;
 import com.finshare.balance.repository.TransactionRepository;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.persistence.EntityManager;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Service;
-import org.springframework.web.client.RestTemplate;
+import org.springframework.transaction.annotation.Transactional;
 
-import java.math.BigDecimal;
-import java.time.Instant;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
-import java.util.UUID;
+import java.util.concurrent.TimeUnit;
 
 /**
- * Service to sync transaction data from Group & Expense Service.
+ * Service storing transactions received from the Group & Expense Service.
  * This ensures the Balance Service has the necessary transaction data for calculations.
+ * 
+ * Transactions are ingested a page at a time: existence is checked with one query
+ * per page and new rows are written as JDBC batch inserts (see
+ * {@code hibernate.jdbc.batch_size}), instead of a lookup and an insert per row.
  */
 @Service
 public class TransactionSyncService {
 
+    private static final Logger logger = LoggerFactory.getLogger(TransactionSyncService.class);
+
     private final TransactionRepository transactionRepository;
-    private final RestTemplate restTemplate;
+    private final ArchivedTransactionRepository archivedTransactionRepository;
+    private final BalanceLedgerService balanceLedgerService;
+    private final EntityManager entityManager;
+    private final MeterRegistry meterRegistry;
 
     @Autowired
-    public TransactionSyncService(TransactionRepository transactionRepository) {
+    public TransactionSyncService(TransactionRepository transactionRepository,
+                                ArchivedTransactionRepository archivedTransactionRepository,
+                                BalanceLedgerService balanceLedgerService,
+                                EntityManager entityManager,
+                                MeterRegistry meterRegistry) {
         this.transactionRepository = transactionRepository;
-        this.restTemplate = new RestTemplate();
+        this.archivedTransactionRepository = archivedTransactionRepository;
+        this.balanceLedgerService = balanceLedgerService;
+        this.entityManager = entityManager;
+        this.meterRegistry = meterRegistry;
     }
 
     /**
-     * Sync transactions from Group & Expense Service for a specific group.
+     * Store a page of transactions, skipping those already present, and apply
+     * the new ones to the balance projections.
+     * 
+     * @param transactions New unsettled transactions; duplicate IDs within the page are ignored
+     * @return Number of transactions inserted
      */
-    public void syncGroupTransactions(String groupId) {
-        try {
-            // Fetch transactions from Group & Expense Service
-            String url = "http://localhost:8002/api/groups/" + groupId + "/transactions";
-            List<Map<String, Object>> groupTransactions = restTemplate.getForObject(url, List.class);
-            
-            if (groupTransactions != null) {
-                for (Map<String, Object> txnData : groupTransactions) {
-                    syncTransaction(txnData);
-                }
-            }
-        } catch (Exception e) {
-            // If Group Service doesn't have transactions endpoint, create sample data
-            createSampleTransactions(groupId);
+    @Transactional
+    public int ingestTransactions(List<Transaction> transactions) {
+        if (transactions.isEmpty()) {
+            return 0;
         }
-    }
-
-    /**
-     * Sync individual transaction from the external service.
-     */
-    private void syncTransaction(Map<String, Object> txnData) {
-        String transactionId = (String) txnData.get("transactionId");
+        long start = System.nanoTime();
         
-        // Check if transaction already exists
-        if (!transactionRepository.existsById(transactionId)) {
-            Transaction transaction = new Transaction();
-            transaction.setTransactionId(transactionId);
-            transaction.setGroupId((String) txnData.get("groupId"));
-            transaction.setExpenseId((String) txnData.get("expenseId"));
-            transaction.setFromUserId((String) txnData.get("fromUserId"));
-            transaction.setToUserId((String) txnData.get("toUserId"));
-            transaction.setAmount(new BigDecimal(txnData.get("amount").toString()));
-            transaction.setIsSettled(false);
-            transaction.setCreatedAt(Instant.now());
-            
-            transactionRepository.save(transaction);
+        Map<String, Transaction> candidates = new LinkedHashMap<>();
+        for (Transaction transaction : transactions) {
+            candidates.putIfAbsent(transaction.getTransactionId(), transaction);
+        }
+        candidates.keySet().removeAll(transactionRepository.findExistingIds(candidates.keySet()));
+        if (!candidates.isEmpty()) {
+            // Settled and compacted since; must not come back as new unsettled debt
+            candidates.keySet().removeAll(archivedTransactionRepository.findExistingIds(candidates.keySet()));
         }
-    }
-
-    /**
-     * Create sample transactions for testing when Group Service integration is not available.
-     */
-    private void createSampleTransactions(String groupId) {
-        // Create sample transactions for testing
-        Transaction tx1 = new Transaction();
-        tx1.setTransactionId(UUID.randomUUID().toString());
-        tx1.setGroupId(groupId);
-        tx1.setExpenseId("sample-expense-1");
-        tx1.setFromUserId("dev-user-644"); // Alice owes
-        tx1.setToUserId("dev-user-545");   // Bob is owed
-        tx1.setAmount(new BigDecimal("200.00"));
-        tx1.setIsSettled(false);
-        tx1.setCreatedAt(Instant.now());
-        
-        Transaction tx2 = new Transaction();
-        tx2.setTransactionId(UUID.randomUUID().toString());
-        tx2.setGroupId(groupId);
-        tx2.setExpenseId("sample-expense-2");
-        tx2.setFromUserId("dev-user-545"); // Bob owes
-        tx2.setToUserId("dev-user-644");   // Alice is owed
-        tx2.setAmount(new BigDecimal("75.00"));
-        tx2.setIsSettled(false);
-        tx2.setCreatedAt(Instant.now());
         
-        transactionRepository.save(tx1);
-        transactionRepository.save(tx2);
-    }
-
-    /**
-     * Create transactions for specific users for testing.
-     */
-    public void createTestTransactions(String groupId, String user1, String user2) {
-        // Alice paid hotel, Bob owes half
-        Transaction hotelDebt = new Transaction(
-            UUID.randomUUID().toString(),
-            groupId,
-            "hotel-expense",
-            user2, // Bob owes
-            user1, // Alice is owed
-            new BigDecimal("200.00")
-        );
+        // persist rather than save: save() would first SELECT each row to decide whether to merge
+        for (Transaction transaction : candidates.values()) {
+            entityManager.persist(transaction);
+        }
+        entityManager.flush();
+        balanceLedgerService.recordDebts(candidates.values());
         
-        // Bob paid dinner, Alice owes half
-        Transaction dinnerDebt = new Transaction(
-            UUID.randomUUID().toString(),
-            groupId,
-            "dinner-expense",
-            user1, // Alice owes
-            user2, // Bob is owed
-            new BigDecimal("75.00")
-        );
+        long elapsed = System.nanoTime() - start;
+        int inserted = candidates.size();
+        int skipped = transactions.size() - inserted;
+        Timer.builder("finshare.transactions.ingest")
+            .description("Time to ingest a page of transactions")
+            .register(meterRegistry)
+            .record(elapsed, TimeUnit.NANOSECONDS);
+        meterRegistry.counter("finshare.transactions.ingested", "result", "inserted").increment(inserted);
+        meterRegistry.counter("finshare.transactions.ingested", "result", "skipped").increment(skipped);
         
-        transactionRepository.save(hotelDebt);
-        transactionRepository.save(dinnerDebt);
+        logger.debug("Ingested {} of {} transactions in {} us", inserted, transactions.size(), elapsed / 1_000);
+        return inserted;
     }
-}
\ No newline at end of file
+}
@@ -0,0 +1,72 @@
+package com.finshare.balance.util;
+
+import java.math.BigDecimal;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.function.BiConsumer;
+
+/**
+ * Mutable per-key running totals in cents.
+ * 
+ * Each key holds a single {@code long[1]} cell that is updated in place, so folding
+ * many amounts into the same key allocates nothing after the first occurrence.
+ *
+ * @param <K> Key type (user ID, composite ID, ...)
+ */
+public class CentsAccumulator<K> {
+
+    private final Map<K, long[]> totals;
+
+    public CentsAccumulator() {
+        this.totals = new HashMap<>();
+    }
+
+    public CentsAccumulator(int expectedKeys) {
+        this.totals = new HashMap<>(Math.max(16, expectedKeys * 4 / 3 + 1));
+    }
+
+    /**
+     * Accumulator visiting its keys in the given order.
+     */
+    public CentsAccumulator(Comparator<? super K> order) {
+        this.totals = new TreeMap<>(order);
+    }
+
+    /**
+     * Add a signed amount in cents to the key's total.
+     */
+    public void add(K key, long cents) {
+        long[] cell = totals.computeIfAbsent(key, k -> new long[1]);
+        cell[0] = MoneyCents.add(cell[0], cents);
+    }
+
+    /**
+     * Current total for a key in cents (zero if never seen).
+     */
+    public long get(K key) {
+        long[] cell = totals.get(key);
+        return cell == null ? 0 : cell[0];
+    }
+
+    public int size() {
+        return totals.size();
+    }
+
+    /**
+     * Visit every key with its total in cents.
+     */
+    public void forEach(BiConsumer<K, Long> action) {
+        totals.forEach((key, cell) -> action.accept(key, cell[0]));
+    }
+
+    /**
+     * Convert the totals to two-decimal amounts for the DTO boundary.
+     */
+    public Map<K, BigDecimal> toBigDecimalMap() {
+        Map<K, BigDecimal> result = new HashMap<>(Math.max(16, totals.size() * 4 / 3 + 1));
+        totals.forEach((key, cell) -> result.put(key, MoneyCents.toBigDecimal(cell[0])));
+        return result;
+    }
+}
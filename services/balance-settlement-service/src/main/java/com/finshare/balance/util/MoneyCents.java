@@ -0,0 +1,46 @@
+package com.finshare.balance.util;
+
+import java.math.BigDecimal;
+
+/**
+ * Fixed-point money arithmetic on {@code long} minor units (cents).
+ * 
+ * Used inside allocation-sensitive loops instead of immutable {@link BigDecimal} values.
+ * Conversions are exact: amounts with more than two decimal places, and any
+ * arithmetic overflow, raise {@link ArithmeticException} rather than losing money.
+ */
+public final class MoneyCents {
+
+    private static final int SCALE = 2;
+
+    private MoneyCents() {}
+
+    /**
+     * Convert an amount to cents, failing if it has sub-cent precision or does not fit in a long.
+     */
+    public static long toCents(BigDecimal amount) {
+        // movePointRight keeps any sub-cent digits as a fraction, which longValueExact rejects
+        return amount.movePointRight(SCALE).longValueExact();
+    }
+
+    /**
+     * Convert cents back to a two-decimal amount for the DTO boundary.
+     */
+    public static BigDecimal toBigDecimal(long cents) {
+        return BigDecimal.valueOf(cents, SCALE);
+    }
+
+    /**
+     * Add two cent amounts, failing on overflow.
+     */
+    public static long add(long a, long b) {
+        return Math.addExact(a, b);
+    }
+
+    /**
+     * Subtract two cent amounts, failing on overflow.
+     */
+    public static long subtract(long a, long b) {
+        return Math.subtractExact(a, b);
+    }
+}
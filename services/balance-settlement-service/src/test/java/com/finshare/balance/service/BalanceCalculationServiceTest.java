@@ -0,0 +1,81 @@
+package com.finshare.balance.service;
+
+import com.finshare.balance.dto.GroupBalanceDto;
+import com.finshare.balance.dto.PairwiseBalanceDto;
+import com.finshare.balance.entity.Transaction;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Integration tests for reading balances across several groups at once.
+ * 
+ * Not transactional: the chunks are read on the fan-out executor's threads, which only
+ * see committed data. Each chunk holds two groups, so five groups take three queries.
+ */
+@SpringBootTest(properties = "finshare.balance.fan-out.chunk-size=2")
+class BalanceCalculationServiceTest {
+
+    @Autowired
+    private TransactionSyncService transactionSyncService;
+
+    @Autowired
+    private BalanceCalculationService balanceCalculationService;
+
+    @Test
+    void calculateGroupBalances_ManyGroups_ReturnsEachGroupInRequestOrder() {
+        // Arrange: bob owes alice 10.00 times the group's number in four of five groups
+        List<Transaction> debts = new ArrayList<>();
+        for (int i = 1; i <= 4; i++) {
+            debts.add(new Transaction("group-fan-out-" + i + "-debt", "group-fan-out-" + i, "expense-1",
+                "bob", "alice", new BigDecimal("10.00").multiply(BigDecimal.valueOf(i))));
+        }
+        transactionSyncService.ingestTransactions(debts);
+        List<String> groupIds = List.of("group-fan-out-4", "group-fan-out-2", "group-fan-out-5",
+            "group-fan-out-1", "group-fan-out-3", "group-fan-out-2");
+
+        // Act
+        Map<String, GroupBalanceDto> result = balanceCalculationService.calculateGroupBalances(groupIds, "bob");
+
+        // Assert
+        assertEquals(List.of("group-fan-out-4", "group-fan-out-2", "group-fan-out-5", "group-fan-out-1",
+            "group-fan-out-3"), List.copyOf(result.keySet()));
+        for (int i = 1; i <= 4; i++) {
+            GroupBalanceDto group = result.get("group-fan-out-" + i);
+            BigDecimal owed = new BigDecimal("10.00").multiply(BigDecimal.valueOf(i));
+            assertEquals(0, owed.compareTo(group.getUserBalances().get("alice")));
+            assertEquals(0, owed.negate().compareTo(group.getNetBalanceForUser()));
+        }
+        assertTrue(result.get("group-fan-out-5").getUserBalances().isEmpty());
+        assertEquals(0, BigDecimal.ZERO.compareTo(result.get("group-fan-out-5").getNetBalanceForUser()));
+    }
+
+    @Test
+    void calculatePairwiseBalances_ReturnsOnlyTheUsersOwnCounterpartiesPerGroup() {
+        // Arrange: omar owes nina in two groups, nina owes pia in a third; omar and pia share no group,
+        // and quinn's debt to omar is in a group without nina
+        transactionSyncService.ingestTransactions(List.of(
+            new Transaction("group-network-1-debt", "group-network-1", "expense-1", "omar", "nina", new BigDecimal("10.00")),
+            new Transaction("group-network-2-debt", "group-network-2", "expense-1", "omar", "nina", new BigDecimal("15.00")),
+            new Transaction("group-network-3-debt", "group-network-3", "expense-1", "nina", "pia", new BigDecimal("5.00")),
+            new Transaction("group-network-4-debt", "group-network-4", "expense-1", "quinn", "omar", new BigDecimal("7.00"))));
+
+        // Act
+        List<PairwiseBalanceDto> result = balanceCalculationService.calculatePairwiseBalances("nina");
+
+        // Assert
+        assertEquals(List.of("omar", "pia"), result.stream().map(PairwiseBalanceDto::getCounterpartyId).toList());
+        assertEquals(0, new BigDecimal("25.00").compareTo(result.get(0).getNetBalance()));
+        assertEquals(Map.of("group-network-1", new BigDecimal("10.00"), "group-network-2", new BigDecimal("15.00")),
+            result.get(0).getGroupBalances());
+        assertEquals(0, new BigDecimal("-5.00").compareTo(result.get(1).getNetBalance()));
+        assertEquals(Map.of("group-network-3", new BigDecimal("-5.00")), result.get(1).getGroupBalances());
+    }
+}
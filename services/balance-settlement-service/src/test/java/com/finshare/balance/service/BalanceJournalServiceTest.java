@@ -0,0 +1,120 @@
+package com.finshare.balance.service;
+
+import com.finshare.balance.dto.GroupBalanceDto;
+import com.finshare.balance.dto.RecordPaymentDto;
+import com.finshare.balance.entity.Transaction;
+import com.finshare.balance.repository.GroupBalanceSnapshotRepository;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.math.BigDecimal;
+import java.time.Instant;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Integration tests for point-in-time group balances rebuilt from snapshots and the journal.
+ */
+@SpringBootTest(properties = "finshare.balance.snapshots.interval=2")
+@Transactional
+class BalanceJournalServiceTest {
+
+    @Autowired
+    private TransactionSyncService transactionSyncService;
+
+    @Autowired
+    private SettlementService settlementService;
+
+    @Autowired
+    private BalanceCalculationService balanceCalculationService;
+
+    @Autowired
+    private BalanceLedgerService balanceLedgerService;
+
+    @Autowired
+    private GroupBalanceSnapshotRepository groupBalanceSnapshotRepository;
+
+    @Autowired
+    private GroupVersionTracker groupVersionTracker;
+
+    @Test
+    void calculateGroupBalancesAsOf_ReplaysSnapshotAndLaterEntries() throws InterruptedException {
+        // Arrange: five changes with a snapshot every two, noting the time after each
+        Instant beforeAll = Instant.now();
+        Instant[] after = new Instant[5];
+        for (int i = 0; i < 4; i++) {
+            transactionSyncService.ingestTransactions(List.of(new Transaction("group-journal-1-" + i,
+                "group-journal-1", "expense-" + i, "bob", "alice", new BigDecimal("10.00"))));
+            after[i] = tick();
+        }
+        settlementService.recordPayment("bob", new RecordPaymentDto("group-journal-1", "alice", new BigDecimal("15.00")));
+        after[4] = tick();
+
+        // Act & Assert
+        assertTrue(balanceCalculationService.calculateGroupBalancesAsOf("group-journal-1", "alice", beforeAll)
+            .getUserBalances().isEmpty());
+        assertBalance("10.00", "group-journal-1", after[0]);
+        assertBalance("30.00", "group-journal-1", after[2]);
+        assertBalance("40.00", "group-journal-1", after[3]);
+        assertBalance("25.00", "group-journal-1", after[4]);
+        assertEquals(0, balanceCalculationService.calculateGroupBalances("group-journal-1", "alice")
+            .getNetBalanceForUser().compareTo(new BigDecimal("25.00")));
+        assertFalse(groupBalanceSnapshotRepository
+            .findFirstByGroupIdAndTakenAtLessThanEqualOrderBySequenceDesc("group-journal-1", Instant.now()).isEmpty());
+    }
+
+    @Test
+    void rebuildAll_SnapshotsRebuiltBalances() throws InterruptedException {
+        // Arrange
+        transactionSyncService.ingestTransactions(List.of(new Transaction("group-journal-2-0",
+            "group-journal-2", "expense-0", "bob", "alice", new BigDecimal("10.00"))));
+
+        // Act
+        balanceLedgerService.rebuildAll();
+        Instant afterRebuild = tick();
+        transactionSyncService.ingestTransactions(List.of(new Transaction("group-journal-2-1",
+            "group-journal-2", "expense-1", "bob", "alice", new BigDecimal("5.00"))));
+
+        // Assert
+        assertBalance("10.00", "group-journal-2", afterRebuild);
+        assertBalance("15.00", "group-journal-2", Instant.now());
+    }
+
+    @Test
+    void currentVersion_MovesWithEveryChangeToTheGroupsBalances() {
+        // Arrange
+        long initial = groupVersionTracker.currentVersion("group-journal-3");
+
+        // Act
+        transactionSyncService.ingestTransactions(List.of(new Transaction("group-journal-3-0",
+            "group-journal-3", "expense-0", "bob", "alice", new BigDecimal("10.00"))));
+        long afterDebt = groupVersionTracker.currentVersion("group-journal-3");
+        settlementService.recordPayment("bob", new RecordPaymentDto("group-journal-3", "alice", new BigDecimal("4.00")));
+        long afterPayment = groupVersionTracker.currentVersion("group-journal-3");
+        balanceLedgerService.rebuildAll();
+        long afterRebuild = groupVersionTracker.currentVersion("group-journal-3");
+
+        // Assert: the version is read from the journal head, so every instance sees it move
+        assertEquals(0, initial);
+        assertTrue(afterDebt > initial);
+        assertTrue(afterPayment > afterDebt);
+        assertTrue(afterRebuild > afterPayment);
+    }
+
+    private void assertBalance(String expected, String groupId, Instant asOf) {
+        GroupBalanceDto result = balanceCalculationService.calculateGroupBalancesAsOf(groupId, "alice", asOf);
+        assertEquals(0, new BigDecimal(expected).compareTo(result.getNetBalanceForUser()), "alice as of " + asOf);
+        assertEquals(0, new BigDecimal(expected).negate().compareTo(result.getUserBalances().get("bob")));
+    }
+
+    private static Instant tick() throws InterruptedException {
+        // Keep the recorded times of consecutive changes apart
+        Thread.sleep(5);
+        Instant now = Instant.now();
+        Thread.sleep(5);
+        return now;
+    }
+}
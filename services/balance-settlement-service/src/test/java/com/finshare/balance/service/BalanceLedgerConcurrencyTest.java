@@ -0,0 +1,66 @@
+package com.finshare.balance.service;
+
+import com.finshare.balance.dto.OverallBalanceDto;
+import com.finshare.balance.entity.Transaction;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Integration tests for concurrent changes to the projections shared across groups.
+ *
+ * Not transactional: each ingest must commit on its own thread, as it would in production.
+ */
+@SpringBootTest
+class BalanceLedgerConcurrencyTest {
+
+    private static final int GROUPS = 8;
+
+    @Autowired
+    private TransactionSyncService transactionSyncService;
+
+    @Autowired
+    private BalanceCalculationService balanceCalculationService;
+
+    @Test
+    void recordDebts_FirstDebtsOfNewUsersInSeveralGroups_CreateTheirSharedRowsOnce() throws Exception {
+        // Act: sam's first debts to rita arrive in several groups at once, so no group lock serializes them
+        ExecutorService executor = Executors.newFixedThreadPool(GROUPS);
+        CountDownLatch start = new CountDownLatch(1);
+        try {
+            List<Future<Integer>> futures = new ArrayList<>();
+            for (int i = 0; i < GROUPS; i++) {
+                String groupId = "group-ledger-concurrent-" + i;
+                futures.add(executor.submit(() -> {
+                    start.await();
+                    return transactionSyncService.ingestTransactions(List.of(new Transaction(groupId + "-debt",
+                        groupId, "expense-1", "sam", "rita", new BigDecimal("10.00"))));
+                }));
+            }
+            start.countDown();
+            for (Future<Integer> future : futures) {
+                future.get();
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+        OverallBalanceDto rita = balanceCalculationService.calculateOverallBalance("rita");
+        OverallBalanceDto sam = balanceCalculationService.calculateOverallBalance("sam");
+
+        // Assert: every debt reached the one summary and counterparty row per user
+        assertEquals(0, new BigDecimal("80.00").compareTo(rita.getTotalOwedToYou()));
+        assertEquals(0, new BigDecimal("80.00").compareTo(rita.getCounterpartyBalances().get("sam")));
+        assertEquals(0, new BigDecimal("80.00").compareTo(sam.getTotalYouOwe()));
+        assertEquals(0, new BigDecimal("-80.00").compareTo(sam.getCounterpartyBalances().get("rita")));
+    }
+}
@@ -0,0 +1,159 @@
+package com.finshare.balance.service;
+
+import com.finshare.balance.dto.GroupBalanceDto;
+import com.finshare.balance.dto.OverallBalanceDto;
+import com.finshare.balance.dto.PairwiseBalanceDto;
+import com.finshare.balance.dto.RecordPaymentDto;
+import com.finshare.balance.entity.Transaction;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.math.BigDecimal;
+import java.util.List;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Integration tests verifying the materialized group balances stay in step with
+ * transaction ingestion and settlements.
+ */
+@SpringBootTest
+@Transactional
+class BalanceLedgerServiceTest {
+
+    @Autowired
+    private TransactionSyncService transactionSyncService;
+
+    @Autowired
+    private SettlementService settlementService;
+
+    @Autowired
+    private BalanceCalculationService balanceCalculationService;
+
+    @Autowired
+    private BalanceLedgerService balanceLedgerService;
+
+    @Test
+    void calculateGroupBalances_AfterIngestion_ReflectsNetDebts() {
+        // Arrange: alice is owed 200.00 by bob, bob is owed 75.00 by alice
+        ingestHotelAndDinner("group-ledger-1", "alice", "bob");
+
+        // Act
+        GroupBalanceDto result = balanceCalculationService.calculateGroupBalances("group-ledger-1", "alice");
+
+        // Assert
+        assertEquals(0, new BigDecimal("125.00").compareTo(result.getUserBalances().get("alice")));
+        assertEquals(0, new BigDecimal("-125.00").compareTo(result.getUserBalances().get("bob")));
+        assertEquals(0, new BigDecimal("125.00").compareTo(result.getNetBalanceForUser()));
+    }
+
+    @Test
+    void calculateGroupBalances_AfterPartialSettlement_ReleasesSettledAmount() {
+        // Arrange
+        ingestHotelAndDinner("group-ledger-2", "alice", "bob");
+
+        // Act: bob pays alice 50.00 against his 200.00 debt
+        settlementService.recordPayment("bob", new RecordPaymentDto("group-ledger-2", "alice", new BigDecimal("50.00")));
+        GroupBalanceDto result = balanceCalculationService.calculateGroupBalances("group-ledger-2", "bob");
+
+        // Assert
+        assertEquals(0, new BigDecimal("75.00").compareTo(result.getUserBalances().get("alice")));
+        assertEquals(0, new BigDecimal("-75.00").compareTo(result.getNetBalanceForUser()));
+    }
+
+    @Test
+    void calculateGroupBalances_OverpaymentBeyondDebt_OnlyReleasesOutstandingDebt() {
+        // Arrange
+        ingestHotelAndDinner("group-ledger-3", "alice", "bob");
+
+        // Act: alice pays bob more than the 75.00 she owes him
+        settlementService.recordPayment("alice", new RecordPaymentDto("group-ledger-3", "bob", new BigDecimal("100.00")));
+        GroupBalanceDto result = balanceCalculationService.calculateGroupBalances("group-ledger-3", "alice");
+
+        // Assert: only bob's 200.00 debt to alice remains
+        assertEquals(0, new BigDecimal("200.00").compareTo(result.getNetBalanceForUser()));
+        assertEquals(0, new BigDecimal("-200.00").compareTo(result.getUserBalances().get("bob")));
+    }
+
+    @Test
+    void calculateOverallBalance_AcrossGroups_ReturnsTotalsAndCounterpartyBreakdown() {
+        // Arrange
+        ingestHotelAndDinner("group-ledger-4", "carol", "dave");
+        ingestHotelAndDinner("group-ledger-5", "carol", "erin");
+
+        // Act
+        OverallBalanceDto result = balanceCalculationService.calculateOverallBalance("carol");
+
+        // Assert
+        assertEquals(0, new BigDecimal("400.00").compareTo(result.getTotalOwedToYou()));
+        assertEquals(0, new BigDecimal("150.00").compareTo(result.getTotalYouOwe()));
+        assertEquals(0, new BigDecimal("250.00").compareTo(result.getNetBalance()));
+        assertEquals(0, new BigDecimal("125.00").compareTo(result.getCounterpartyBalances().get("dave")));
+        assertEquals(0, new BigDecimal("125.00").compareTo(result.getCounterpartyBalances().get("erin")));
+    }
+
+    @Test
+    void calculatePairwiseBalance_AcrossSharedGroups_ReturnsNetPerGroup() {
+        // Arrange: henry is owed 125.00 net by ivan in each of two groups
+        ingestHotelAndDinner("group-ledger-7", "henry", "ivan");
+        ingestHotelAndDinner("group-ledger-8", "henry", "ivan");
+        settlementService.recordPayment("ivan", new RecordPaymentDto("group-ledger-8", "henry", new BigDecimal("25.00")));
+
+        // Act
+        PairwiseBalanceDto fromHenry = balanceCalculationService.calculatePairwiseBalance("henry", "ivan");
+        BigDecimal fromIvan = balanceCalculationService.calculateNetBalanceBetweenUsers("ivan", "henry");
+
+        // Assert
+        assertEquals(0, new BigDecimal("225.00").compareTo(fromHenry.getNetBalance()));
+        assertEquals(0, new BigDecimal("125.00").compareTo(fromHenry.getGroupBalances().get("group-ledger-7")));
+        assertEquals(0, new BigDecimal("100.00").compareTo(fromHenry.getGroupBalances().get("group-ledger-8")));
+        assertEquals(0, new BigDecimal("-225.00").compareTo(fromIvan));
+    }
+
+    @Test
+    void rebuildAll_AfterSettlement_ReproducesIncrementalProjections() {
+        // Arrange
+        ingestHotelAndDinner("group-ledger-6", "frank", "grace");
+        settlementService.recordPayment("grace", new RecordPaymentDto("group-ledger-6", "frank", new BigDecimal("20.00")));
+        GroupBalanceDto before = balanceCalculationService.calculateGroupBalances("group-ledger-6", "frank");
+        OverallBalanceDto overallBefore = balanceCalculationService.calculateOverallBalance("frank");
+
+        // Act
+        balanceLedgerService.rebuildAll();
+        GroupBalanceDto after = balanceCalculationService.calculateGroupBalances("group-ledger-6", "frank");
+        OverallBalanceDto overallAfter = balanceCalculationService.calculateOverallBalance("frank");
+
+        // Assert
+        assertEquals(0, before.getNetBalanceForUser().compareTo(after.getNetBalanceForUser()));
+        assertEquals(0, overallBefore.getTotalOwedToYou().compareTo(overallAfter.getTotalOwedToYou()));
+        assertEquals(0, overallBefore.getTotalYouOwe().compareTo(overallAfter.getTotalYouOwe()));
+    }
+
+    @Test
+    void rebuildAll_RepeatedDebtsBetweenPair_CountsEveryTransaction() {
+        // Arrange: the same pair appears in two transactions each way
+        ingestHotelAndDinner("group-ledger-9", "jack", "kate");
+        ingestHotelAndDinner("group-ledger-9", "jack", "kate");
+
+        // Act
+        long replayed = balanceLedgerService.rebuildAll();
+        GroupBalanceDto result = balanceCalculationService.calculateGroupBalances("group-ledger-9", "jack");
+
+        // Assert
+        assertEquals(4, replayed);
+        assertEquals(0, new BigDecimal("250.00").compareTo(result.getUserBalances().get("jack")));
+        assertEquals(0, new BigDecimal("-250.00").compareTo(result.getUserBalances().get("kate")));
+    }
+
+    /**
+     * Ingest two debts between a pair: user2 owes user1 200.00 and user1 owes user2 75.00.
+     */
+    private void ingestHotelAndDinner(String groupId, String user1, String user2) {
+        transactionSyncService.ingestTransactions(List.of(
+            new Transaction(UUID.randomUUID().toString(), groupId, "hotel-expense", user2, user1, new BigDecimal("200.00")),
+            new Transaction(UUID.randomUUID().toString(), groupId, "dinner-expense", user1, user2, new BigDecimal("75.00"))));
+    }
+}
@@ -0,0 +1,157 @@
+package com.finshare.balance.service;
+
+import com.finshare.balance.dto.GroupBalanceDto;
+import com.finshare.balance.dto.PairwiseBalanceDto;
+import com.finshare.balance.dto.SimplifiedDebtsDto;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.math.BigDecimal;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+/**
+ * Unit tests for DebtSimplificationService.
+ */
+@ExtendWith(MockitoExtension.class)
+class DebtSimplificationServiceTest {
+
+    @Mock
+    private BalanceCalculationService balanceCalculationService;
+
+    @Mock
+    private GroupVersionTracker groupVersionTracker;
+
+    private SimpleMeterRegistry meterRegistry;
+    private DebtSimplificationService debtSimplificationService;
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        debtSimplificationService = createService(10_000);
+    }
+
+    @Test
+    void simplifyGroupDebts_UnchangedGroup_ServesCachedPlan() {
+        // Arrange
+        when(groupVersionTracker.currentVersion("group-1")).thenReturn(1L);
+        when(balanceCalculationService.calculateGroupBalances(eq("group-1"), anyString()))
+            .thenReturn(balances("10.00"));
+
+        // Act
+        SimplifiedDebtsDto first = debtSimplificationService.simplifyGroupDebts("group-1", "alice");
+        SimplifiedDebtsDto second = debtSimplificationService.simplifyGroupDebts("group-1", "bob");
+
+        // Assert
+        assertSame(first, second);
+        verify(balanceCalculationService, times(1)).calculateGroupBalances(eq("group-1"), anyString());
+    }
+
+    @Test
+    void simplifyGroupDebts_GroupChanged_RecomputesPlan() {
+        // Arrange: the group's version moves on between the reads, e.g. after a change on another instance
+        when(groupVersionTracker.currentVersion("group-1")).thenReturn(1L, 2L);
+        when(balanceCalculationService.calculateGroupBalances(eq("group-1"), anyString()))
+            .thenReturn(balances("10.00"), balances("4.00"));
+        debtSimplificationService.simplifyGroupDebts("group-1", "alice");
+
+        // Act
+        SimplifiedDebtsDto plan = debtSimplificationService.simplifyGroupDebts("group-1", "alice");
+
+        // Assert
+        assertEquals(1, plan.getPayments().size());
+        assertEquals(0, new BigDecimal("4.00").compareTo(plan.getPayments().get(0).getAmount()));
+        verify(balanceCalculationService, times(2)).calculateGroupBalances(eq("group-1"), anyString());
+    }
+
+    @Test
+    void simplifyGroupDebts_MoreGroupsThanTheCacheHolds_EvictsPlans() {
+        // Arrange: room for a single plan
+        DebtSimplificationService service = createService(1);
+        when(groupVersionTracker.currentVersion(anyString())).thenReturn(1L);
+        when(balanceCalculationService.calculateGroupBalances(anyString(), anyString()))
+            .thenReturn(balances("10.00"));
+
+        // Act: read both groups twice
+        for (int round = 0; round < 2; round++) {
+            service.simplifyGroupDebts("group-1", "alice");
+            service.simplifyGroupDebts("group-2", "alice");
+        }
+
+        // Assert: only one plan was kept, so at least one of the second reads was recomputed
+        verify(balanceCalculationService, atLeast(3)).calculateGroupBalances(anyString(), anyString());
+    }
+
+    @Test
+    void simplifyBalances_ExactPlans_ComparesOnlyASampleWithGreedy() {
+        // Arrange: every second exact plan is sampled
+        Map<String, BigDecimal> balances = Map.of("alice", new BigDecimal("10.00"), "bob", new BigDecimal("-10.00"));
+
+        // Act
+        for (int i = 0; i < 4; i++) {
+            debtSimplificationService.simplifyBalances(balances);
+        }
+
+        // Assert
+        assertEquals(2, meterRegistry.get("finshare.debt.simplification.transfers.saved").summary().count());
+    }
+
+    @Test
+    void simplifyUserNetworkDebts_SeveralSharedGroups_SettlesWithOnePaymentAllocatedPerGroup() {
+        // Arrange: bob owes alice 30.00 in one group and alice owes bob 10.00 in another
+        when(balanceCalculationService.calculatePairwiseBalances("alice")).thenReturn(List.of(
+            new PairwiseBalanceDto("bob", new BigDecimal("20.00"),
+                Map.of("group-1", new BigDecimal("30.00"), "group-2", new BigDecimal("-10.00")))));
+
+        // Act
+        SimplifiedDebtsDto plan = debtSimplificationService.simplifyUserNetworkDebts("alice");
+
+        // Assert
+        assertEquals(1, plan.getPayments().size());
+        SimplifiedDebtsDto.PaymentInstruction payment = plan.getPayments().get(0);
+        assertEquals("bob", payment.getFromUserId());
+        assertEquals("alice", payment.getToUserId());
+        assertEquals(0, new BigDecimal("20.00").compareTo(payment.getAmount()));
+        assertEquals(0, new BigDecimal("30.00").compareTo(payment.getGroupAllocations().get("group-1")));
+        assertEquals(0, new BigDecimal("-10.00").compareTo(payment.getGroupAllocations().get("group-2")));
+    }
+
+    @Test
+    void simplifyUserNetworkDebts_CounterpartiesSharingNoGroup_NeverPayEachOther() {
+        // Arrange: bob owes alice 10.00 and alice owes carol 10.00, in groups bob and carol do not share
+        when(balanceCalculationService.calculatePairwiseBalances("alice")).thenReturn(List.of(
+            new PairwiseBalanceDto("bob", new BigDecimal("10.00"), Map.of("group-1", new BigDecimal("10.00"))),
+            new PairwiseBalanceDto("carol", new BigDecimal("-10.00"), Map.of("group-2", new BigDecimal("-10.00")))));
+
+        // Act
+        SimplifiedDebtsDto plan = debtSimplificationService.simplifyUserNetworkDebts("alice");
+
+        // Assert: each payment involves alice, even though bob paying carol would be a single transfer
+        assertEquals(2, plan.getPayments().size());
+        assertTrue(plan.getPayments().stream().anyMatch(p -> "bob".equals(p.getFromUserId())
+            && "alice".equals(p.getToUserId()) && new BigDecimal("10.00").compareTo(p.getAmount()) == 0));
+        assertTrue(plan.getPayments().stream().anyMatch(p -> "alice".equals(p.getFromUserId())
+            && "carol".equals(p.getToUserId()) && new BigDecimal("10.00").compareTo(p.getAmount()) == 0));
+    }
+
+    private DebtSimplificationService createService(long cacheMaxGroups) {
+        GreedyDebtSimplifier greedyDebtSimplifier = new GreedyDebtSimplifier();
+        return new DebtSimplificationService(balanceCalculationService, groupVersionTracker,
+            List.of(greedyDebtSimplifier, new ExactDebtSimplifier(greedyDebtSimplifier)), greedyDebtSimplifier,
+            meterRegistry, ExactDebtSimplifier.NAME, 20, 200, 2, cacheMaxGroups, 600);
+    }
+
+    private static GroupBalanceDto balances(String amount) {
+        BigDecimal owed = new BigDecimal(amount);
+        return new GroupBalanceDto(Map.of("alice", owed, "bob", owed.negate()), owed);
+    }
+}
@@ -0,0 +1,122 @@
+package com.finshare.balance.service;
+
+import com.finshare.balance.dto.SimplifiedDebtsDto;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for ExactDebtSimplifier.
+ */
+class ExactDebtSimplifierTest {
+
+    private GreedyDebtSimplifier greedyDebtSimplifier;
+    private ExactDebtSimplifier exactDebtSimplifier;
+
+    @BeforeEach
+    void setUp() {
+        greedyDebtSimplifier = new GreedyDebtSimplifier();
+        exactDebtSimplifier = new ExactDebtSimplifier(greedyDebtSimplifier);
+    }
+
+    @Test
+    void simplify_GreedySuboptimalCase_ReturnsMinimumTransfers() {
+        // Arrange: {bob, dave} and {alice, carol, erin} settle independently
+        Map<String, BigDecimal> balances = new LinkedHashMap<>();
+        balances.put("alice", new BigDecimal("7.00"));
+        balances.put("bob", new BigDecimal("3.00"));
+        balances.put("carol", new BigDecimal("-5.00"));
+        balances.put("dave", new BigDecimal("-3.00"));
+        balances.put("erin", new BigDecimal("-2.00"));
+
+        // Act
+        List<SimplifiedDebtsDto.PaymentInstruction> greedy = greedyDebtSimplifier.simplify(balances);
+        Optional<List<SimplifiedDebtsDto.PaymentInstruction>> exact =
+            exactDebtSimplifier.simplify(balances, System.nanoTime() + 1_000_000_000L);
+
+        // Assert
+        assertEquals(4, greedy.size());
+        assertTrue(exact.isPresent());
+        assertEquals(3, exact.get().size());
+        assertSettles(balances, exact.get());
+    }
+
+    @Test
+    void simplify_RandomBalances_SettlesAllAndNeverWorseThanGreedy() {
+        Random random = new Random(42);
+        for (int round = 0; round < 20; round++) {
+            // Arrange
+            Map<String, BigDecimal> balances = randomBalances(random, 12);
+
+            // Act
+            List<SimplifiedDebtsDto.PaymentInstruction> greedy = greedyDebtSimplifier.simplify(balances);
+            List<SimplifiedDebtsDto.PaymentInstruction> exact =
+                exactDebtSimplifier.simplify(balances, System.nanoTime() + 5_000_000_000L).orElseThrow();
+
+            // Assert
+            assertSettles(balances, exact);
+            assertTrue(exact.size() <= greedy.size());
+        }
+    }
+
+    @Test
+    void simplify_DeadlineAlreadyPassed_ReturnsEmpty() {
+        // Arrange
+        Map<String, BigDecimal> balances = randomBalances(new Random(7), 20);
+
+        // Act
+        Optional<List<SimplifiedDebtsDto.PaymentInstruction>> result =
+            exactDebtSimplifier.simplify(balances, System.nanoTime() - 1);
+
+        // Assert
+        assertTrue(result.isEmpty());
+    }
+
+    @Test
+    void simplify_AboveMemberCap_ReturnsEmpty() {
+        // Arrange: one more non-zero balance than the exact search supports
+        Map<String, BigDecimal> balances = new LinkedHashMap<>();
+        for (int i = 0; i < ExactDebtSimplifier.MAX_SUPPORTED_MEMBERS; i++) {
+            balances.put("user-" + i, new BigDecimal("1.00"));
+        }
+        balances.put("payer", BigDecimal.valueOf(-ExactDebtSimplifier.MAX_SUPPORTED_MEMBERS * 100L, 2));
+
+        // Act
+        Optional<List<SimplifiedDebtsDto.PaymentInstruction>> result =
+            exactDebtSimplifier.simplify(balances, System.nanoTime() + 60_000_000_000L);
+
+        // Assert
+        assertTrue(result.isEmpty());
+    }
+
+    private Map<String, BigDecimal> randomBalances(Random random, int members) {
+        Map<String, BigDecimal> balances = new LinkedHashMap<>();
+        long total = 0;
+        for (int i = 0; i < members - 1; i++) {
+            long cents = (random.nextInt(40) - 20) * 100L;
+            balances.put("user-" + i, BigDecimal.valueOf(cents, 2));
+            total += cents;
+        }
+        balances.put("user-" + (members - 1), BigDecimal.valueOf(-total, 2));
+        return balances;
+    }
+
+    private void assertSettles(Map<String, BigDecimal> balances, List<SimplifiedDebtsDto.PaymentInstruction> payments) {
+        Map<String, BigDecimal> remaining = new HashMap<>(balances);
+        for (SimplifiedDebtsDto.PaymentInstruction payment : payments) {
+            assertTrue(payment.getAmount().signum() > 0);
+            remaining.merge(payment.getFromUserId(), payment.getAmount(), BigDecimal::add);
+            remaining.merge(payment.getToUserId(), payment.getAmount().negate(), BigDecimal::add);
+        }
+        remaining.values().forEach(balance -> assertEquals(0, balance.signum()));
+    }
+}
@@ -0,0 +1,162 @@
+package com.finshare.balance.service;
+
+import com.finshare.balance.dto.GroupBalanceDto;
+import com.finshare.balance.dto.OverallBalanceDto;
+import com.finshare.balance.dto.RecordPaymentDto;
+import com.finshare.balance.entity.Transaction;
+import com.finshare.balance.repository.TransactionRepository;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Integration tests for concurrent settlements.
+ * 
+ * Not transactional: each payment must commit on its own thread, as it would in production.
+ * Every payment settles its group's debts in full, so no unsettled rows are left behind.
+ */
+@SpringBootTest
+class SettlementConcurrencyTest {
+
+    @Autowired
+    private SettlementService settlementService;
+
+    @Autowired
+    private TransactionSyncService transactionSyncService;
+
+    @Autowired
+    private TransactionRepository transactionRepository;
+
+    @Autowired
+    private BalanceCalculationService balanceCalculationService;
+
+    @Test
+    void recordPayment_ConcurrentPaymentsInSameGroup_SettleEachDebtOnce() throws Exception {
+        // Arrange: bob owes alice five debts of 10.00
+        List<Transaction> debts = new ArrayList<>();
+        for (int i = 0; i < 5; i++) {
+            debts.add(new Transaction("group-concurrent-1-debt-" + i, "group-concurrent-1", "expense-" + i,
+                "bob", "alice", new BigDecimal("10.00")));
+        }
+        transactionSyncService.ingestTransactions(debts);
+
+        // Act: eight payments of 10.00 race for the 50.00 owed
+        runConcurrently(8, () -> settlementService.recordPayment("bob",
+            new RecordPaymentDto("group-concurrent-1", "alice", new BigDecimal("10.00"))));
+        GroupBalanceDto result = balanceCalculationService.calculateGroupBalances("group-concurrent-1", "alice");
+
+        // Assert: exactly the 50.00 owed was released, never more
+        assertTrue(transactionRepository.findUnsettledTransactionsByGroupId("group-concurrent-1").isEmpty());
+        assertEquals(0, BigDecimal.ZERO.compareTo(result.getUserBalances().get("alice")));
+        assertEquals(0, BigDecimal.ZERO.compareTo(result.getUserBalances().get("bob")));
+    }
+
+    @Test
+    void recordPayment_ConcurrentPaymentsInDifferentGroups_AllApply() throws Exception {
+        // Arrange: one 10.00 debt in each of eight groups
+        List<Transaction> debts = new ArrayList<>();
+        for (int i = 0; i < 8; i++) {
+            debts.add(new Transaction("group-concurrent-2-" + i + "-debt", "group-concurrent-2-" + i, "expense-1",
+                "carol", "dave", new BigDecimal("10.00")));
+        }
+        transactionSyncService.ingestTransactions(debts);
+
+        // Act
+        List<Callable<Void>> payments = new ArrayList<>();
+        for (int i = 0; i < 8; i++) {
+            String groupId = "group-concurrent-2-" + i;
+            payments.add(() -> {
+                settlementService.recordPayment("carol", new RecordPaymentDto(groupId, "dave", new BigDecimal("10.00")));
+                return null;
+            });
+        }
+        runAll(payments);
+
+        // Assert
+        for (int i = 0; i < 8; i++) {
+            GroupBalanceDto result = balanceCalculationService.calculateGroupBalances("group-concurrent-2-" + i, "dave");
+            assertEquals(0, BigDecimal.ZERO.compareTo(result.getUserBalances().get("dave")));
+        }
+    }
+
+    @Test
+    void recordPayment_OpposingPaymentsInDifferentGroups_AllApply() throws Exception {
+        // Arrange: mia owes noah in half the groups and noah owes mia in the other half,
+        // so the payments touch the same shared per-user rows from opposite directions
+        List<Transaction> debts = new ArrayList<>();
+        for (int i = 0; i < 8; i++) {
+            debts.add(new Transaction("group-concurrent-3-" + i + "-debt", "group-concurrent-3-" + i, "expense-1",
+                "mia", "noah", new BigDecimal("10.00")));
+            debts.add(new Transaction("group-concurrent-4-" + i + "-debt", "group-concurrent-4-" + i, "expense-1",
+                "noah", "mia", new BigDecimal("10.00")));
+        }
+        transactionSyncService.ingestTransactions(debts);
+
+        // Act
+        List<Callable<Void>> payments = new ArrayList<>();
+        for (int i = 0; i < 8; i++) {
+            String miaOwesGroupId = "group-concurrent-3-" + i;
+            String noahOwesGroupId = "group-concurrent-4-" + i;
+            payments.add(() -> {
+                settlementService.recordPayment("mia", new RecordPaymentDto(miaOwesGroupId, "noah", new BigDecimal("10.00")));
+                return null;
+            });
+            payments.add(() -> {
+                settlementService.recordPayment("noah", new RecordPaymentDto(noahOwesGroupId, "mia", new BigDecimal("10.00")));
+                return null;
+            });
+        }
+        runAll(payments);
+
+        // Assert: every payment went through and nothing is owed either way
+        for (int i = 0; i < 8; i++) {
+            assertTrue(transactionRepository.findUnsettledTransactionsByGroupId("group-concurrent-3-" + i).isEmpty());
+            assertTrue(transactionRepository.findUnsettledTransactionsByGroupId("group-concurrent-4-" + i).isEmpty());
+        }
+        OverallBalanceDto mia = balanceCalculationService.calculateOverallBalance("mia");
+        assertEquals(0, BigDecimal.ZERO.compareTo(mia.getTotalOwedToYou()));
+        assertEquals(0, BigDecimal.ZERO.compareTo(mia.getTotalYouOwe()));
+    }
+
+    private static void runConcurrently(int threads, Runnable action) throws Exception {
+        List<Callable<Void>> tasks = new ArrayList<>();
+        for (int i = 0; i < threads; i++) {
+            tasks.add(() -> {
+                action.run();
+                return null;
+            });
+        }
+        runAll(tasks);
+    }
+
+    private static void runAll(List<Callable<Void>> tasks) throws Exception {
+        ExecutorService executor = Executors.newFixedThreadPool(tasks.size());
+        CountDownLatch start = new CountDownLatch(1);
+        try {
+            List<Future<Void>> futures = new ArrayList<>();
+            for (Callable<Void> task : tasks) {
+                futures.add(executor.submit(() -> {
+                    start.await();
+                    return task.call();
+                }));
+            }
+            start.countDown();
+            for (Future<Void> future : futures) {
+                future.get();
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+}
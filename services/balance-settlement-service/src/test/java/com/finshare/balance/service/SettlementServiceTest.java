@@ -0,0 +1,190 @@
+package com.finshare.balance.service;
+
+import com.finshare.balance.dto.GroupBalanceDto;
+import com.finshare.balance.dto.RecordPaymentDto;
+import com.finshare.balance.dto.SettlementHistoryDto;
+import com.finshare.balance.entity.Transaction;
+import com.finshare.balance.repository.TransactionRepository;
+import jakarta.validation.Validator;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.math.BigDecimal;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Integration tests for allocating payments to existing debts.
+ */
+@SpringBootTest
+@Transactional
+class SettlementServiceTest {
+
+    @Autowired
+    private SettlementService settlementService;
+
+    @Autowired
+    private TransactionSyncService transactionSyncService;
+
+    @Autowired
+    private TransactionRepository transactionRepository;
+
+    @Autowired
+    private BalanceCalculationService balanceCalculationService;
+
+    @Autowired
+    private Validator validator;
+
+    @Test
+    void recordPayment_CoversSeveralDebts_SettlesOldestFirstAndSplitsBoundary() {
+        // Arrange: bob owes alice five debts of 10.00
+        ingestDebts("group-settle-1", "bob", "alice", 5);
+
+        // Act
+        settlementService.recordPayment("bob", new RecordPaymentDto("group-settle-1", "alice", new BigDecimal("35.00")));
+        GroupBalanceDto result = balanceCalculationService.calculateGroupBalances("group-settle-1", "alice");
+
+        // Assert: the three oldest are settled, the fourth keeps 5.00 and the newest is untouched
+        for (int i = 0; i < 3; i++) {
+            assertTrue(transactionRepository.findById("group-settle-1-debt-" + i).orElseThrow().getIsSettled());
+        }
+        Transaction boundary = transactionRepository.findById("group-settle-1-debt-3").orElseThrow();
+        assertFalse(boundary.getIsSettled());
+        assertEquals(0, new BigDecimal("5.00").compareTo(boundary.getAmount()));
+        Transaction newest = transactionRepository.findById("group-settle-1-debt-4").orElseThrow();
+        assertFalse(newest.getIsSettled());
+        assertEquals(0, new BigDecimal("10.00").compareTo(newest.getAmount()));
+        assertEquals(0, new BigDecimal("15.00").compareTo(result.getUserBalances().get("alice")));
+    }
+
+    @Test
+    void recordPayment_ExceedingDebts_ReleasesOnlyWhatWasOwed() {
+        // Arrange
+        ingestDebts("group-settle-2", "bob", "alice", 3);
+
+        // Act
+        settlementService.recordPayment("bob", new RecordPaymentDto("group-settle-2", "alice", new BigDecimal("50.00")));
+        GroupBalanceDto result = balanceCalculationService.calculateGroupBalances("group-settle-2", "alice");
+
+        // Assert
+        assertTrue(transactionRepository.findUnsettledTransactionsByGroupId("group-settle-2").isEmpty());
+        assertEquals(0, BigDecimal.ZERO.compareTo(result.getUserBalances().get("alice")));
+        assertEquals(0, BigDecimal.ZERO.compareTo(result.getUserBalances().get("bob")));
+    }
+
+    @Test
+    void getSettlementHistory_PagesThroughPaymentsMadeAndReceived() {
+        // Arrange: five payments involving dave, newest last; settled debts are not payments
+        ingestDebts("group-settle-3", "dave", "erin", 3);
+        settlementService.recordPayment("dave", new RecordPaymentDto("group-settle-3", "erin", new BigDecimal("10.00")));
+        settlementService.recordPayment("erin", new RecordPaymentDto("group-settle-3", "dave", new BigDecimal("1.00")));
+        settlementService.recordPayment("dave", new RecordPaymentDto("group-settle-3", "erin", new BigDecimal("10.00")));
+        settlementService.recordPayment("frank", new RecordPaymentDto("group-settle-3", "dave", new BigDecimal("2.00")));
+        settlementService.recordPayment("dave", new RecordPaymentDto("group-settle-3", "erin", new BigDecimal("5.00")));
+        settlementService.recordPayment("erin", new RecordPaymentDto("group-settle-3", "frank", new BigDecimal("3.00")));
+
+        // Act
+        SettlementHistoryDto first = settlementService.getSettlementHistory("dave", null, 2);
+        SettlementHistoryDto second = settlementService.getSettlementHistory("dave", first.getNextCursor(), 2);
+        SettlementHistoryDto third = settlementService.getSettlementHistory("dave", second.getNextCursor(), 2);
+
+        // Assert
+        List<Transaction> history = new ArrayList<>(first.getSettlements());
+        history.addAll(second.getSettlements());
+        history.addAll(third.getSettlements());
+        assertEquals(5, history.size());
+        assertEquals(5, history.stream().map(Transaction::getTransactionId).distinct().count());
+        assertTrue(history.stream().allMatch(t -> Transaction.SETTLEMENT_EXPENSE_ID.equals(t.getExpenseId())));
+        for (int i = 1; i < history.size(); i++) {
+            assertFalse(history.get(i).getSettledAt().isAfter(history.get(i - 1).getSettledAt()));
+        }
+        assertNull(third.getNextCursor());
+    }
+
+    @Test
+    void getSettlementHistory_InvalidCursor_IsRejected() {
+        assertThrows(IllegalArgumentException.class,
+            () -> settlementService.getSettlementHistory("dave", "not-a-cursor", 20));
+    }
+
+    @Test
+    void recordPayments_SimplifiedPlan_SettlesEveryoneInOneCall() {
+        // Arrange: bob and carol each owe alice 20.00
+        transactionSyncService.ingestTransactions(List.of(
+            new Transaction("group-settle-4-bob", "group-settle-4", "expense-1", "bob", "alice", new BigDecimal("20.00")),
+            new Transaction("group-settle-4-carol", "group-settle-4", "expense-1", "carol", "alice", new BigDecimal("20.00"))));
+        RecordPaymentDto fromBob = new RecordPaymentDto("group-settle-4", "alice", new BigDecimal("20.00"));
+        fromBob.setFromUserId("bob");
+        RecordPaymentDto fromCarol = new RecordPaymentDto("group-settle-4", "alice", new BigDecimal("20.00"));
+        fromCarol.setFromUserId("carol");
+
+        // Act: alice records both payments she received
+        String groupId = settlementService.recordPayments("alice", List.of(fromBob, fromCarol));
+        GroupBalanceDto result = balanceCalculationService.calculateGroupBalances(groupId, "alice");
+
+        // Assert
+        assertEquals("group-settle-4", groupId);
+        assertTrue(transactionRepository.findUnsettledTransactionsByGroupId("group-settle-4").isEmpty());
+        assertEquals(0, BigDecimal.ZERO.compareTo(result.getUserBalances().get("alice")));
+        assertEquals(0, BigDecimal.ZERO.compareTo(result.getUserBalances().get("carol")));
+    }
+
+    @Test
+    void recordPayments_SpanningGroups_IsRejectedBeforeAnyPayment() {
+        // Arrange
+        ingestDebts("group-settle-5", "bob", "alice", 1);
+
+        // Act
+        assertThrows(IllegalArgumentException.class, () -> settlementService.recordPayments("bob", List.of(
+            new RecordPaymentDto("group-settle-5", "alice", new BigDecimal("10.00")),
+            new RecordPaymentDto("group-settle-6", "alice", new BigDecimal("10.00")))));
+
+        // Assert
+        assertEquals(1, transactionRepository.findUnsettledTransactionsByGroupId("group-settle-5").size());
+    }
+
+    @Test
+    void recordPayments_BetweenOtherUsers_IsRejectedBeforeAnyPayment() {
+        // Arrange: bob and carol each owe alice 10.00
+        transactionSyncService.ingestTransactions(List.of(
+            new Transaction("group-settle-8-bob", "group-settle-8", "expense-1", "bob", "alice", new BigDecimal("10.00")),
+            new Transaction("group-settle-8-carol", "group-settle-8", "expense-1", "carol", "alice", new BigDecimal("10.00"))));
+        RecordPaymentDto fromBob = new RecordPaymentDto("group-settle-8", "alice", new BigDecimal("10.00"));
+        RecordPaymentDto fromCarol = new RecordPaymentDto("group-settle-8", "alice", new BigDecimal("10.00"));
+        fromCarol.setFromUserId("carol");
+
+        // Act: bob pays his own debt but also claims carol paid hers
+        assertThrows(SecurityException.class,
+            () -> settlementService.recordPayments("bob", List.of(fromBob, fromCarol)));
+
+        // Assert
+        assertEquals(2, transactionRepository.findUnsettledTransactionsByGroupId("group-settle-8").size());
+    }
+
+    @Test
+    void recordPaymentDto_SubCentAmount_FailsValidation() {
+        // Sub-cent amounts cannot be converted to cents, so they must be rejected as bad input
+        RecordPaymentDto payment = new RecordPaymentDto("group-settle-7", "alice", new BigDecimal("10.005"));
+
+        assertEquals(1, validator.validate(payment).size());
+        payment.setAmount(new BigDecimal("10.01"));
+        assertTrue(validator.validate(payment).isEmpty());
+    }
+
+    private void ingestDebts(String groupId, String fromUserId, String toUserId, int count) {
+        Instant createdAt = Instant.parse("2024-01-01T00:00:00Z");
+        List<Transaction> debts = new ArrayList<>();
+        for (int i = 0; i < count; i++) {
+            Transaction debt = new Transaction(groupId + "-debt-" + i, groupId, "expense-" + i,
+                fromUserId, toUserId, new BigDecimal("10.00"));
+            debt.setCreatedAt(createdAt.plusSeconds(i));
+            debts.add(debt);
+        }
+        transactionSyncService.ingestTransactions(debts);
+    }
+}
@@ -0,0 +1,96 @@
+package com.finshare.balance.service;
+
+import com.finshare.balance.dto.RecordPaymentDto;
+import com.finshare.balance.entity.GroupArchiveCheckpoint;
+import com.finshare.balance.entity.Transaction;
+import com.finshare.balance.repository.ArchivedTransactionRepository;
+import com.finshare.balance.repository.GroupArchiveCheckpointRepository;
+import com.finshare.balance.repository.TransactionRepository;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.math.BigDecimal;
+import java.time.Instant;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Integration tests for archiving settled transactions.
+ */
+@SpringBootTest(properties = "finshare.balance.compaction.batch-size=2")
+@Transactional
+class TransactionCompactionServiceTest {
+
+    @Autowired
+    private TransactionCompactionService transactionCompactionService;
+
+    @Autowired
+    private TransactionSyncService transactionSyncService;
+
+    @Autowired
+    private SettlementService settlementService;
+
+    @Autowired
+    private TransactionRepository transactionRepository;
+
+    @Autowired
+    private ArchivedTransactionRepository archivedTransactionRepository;
+
+    @Autowired
+    private GroupArchiveCheckpointRepository groupArchiveCheckpointRepository;
+
+    @Test
+    void compact_MovesSettledDebtsAndKeepsPaymentsAndOpenDebts() {
+        // Arrange: bob pays off three of four debts to alice
+        transactionSyncService.ingestTransactions(List.of(
+            debt("group-compact-1-0", 0), debt("group-compact-1-1", 1),
+            debt("group-compact-1-2", 2), debt("group-compact-1-3", 3)));
+        settlementService.recordPayment("bob", new RecordPaymentDto("group-compact-1", "alice", new BigDecimal("30.00")));
+
+        // Act: several batches of two
+        long archived = transactionCompactionService.compact(Instant.now().plusSeconds(60));
+
+        // Assert
+        assertEquals(3, archived);
+        for (int i = 0; i < 3; i++) {
+            assertFalse(transactionRepository.existsById("group-compact-1-" + i));
+            assertTrue(archivedTransactionRepository.existsById("group-compact-1-" + i));
+        }
+        assertFalse(transactionRepository.findById("group-compact-1-3").orElseThrow().getIsSettled());
+        assertEquals(1, transactionRepository.findUnsettledTransactionsByGroupId("group-compact-1").size());
+        assertEquals(1, settlementService.getSettlementHistory("bob", null, 20).getSettlements().size());
+
+        GroupArchiveCheckpoint checkpoint = groupArchiveCheckpointRepository.findById("group-compact-1").orElseThrow();
+        assertEquals(3, checkpoint.getArchivedCount());
+        assertEquals(0, new BigDecimal("30.00").compareTo(checkpoint.getArchivedAmount()));
+    }
+
+    @Test
+    void compact_RecentlySettled_IsKeptAndNotReingested() {
+        // Arrange
+        transactionSyncService.ingestTransactions(List.of(debt("group-compact-2-0", 0)));
+        settlementService.recordPayment("bob", new RecordPaymentDto("group-compact-2", "alice", new BigDecimal("10.00")));
+
+        // Act: nothing is old enough, then everything is
+        long none = transactionCompactionService.compact(Instant.parse("2024-01-01T00:00:00Z"));
+        long all = transactionCompactionService.compact(Instant.now().plusSeconds(60));
+        int reingested = transactionSyncService.ingestTransactions(List.of(debt("group-compact-2-0", 0)));
+
+        // Assert
+        assertEquals(0, none);
+        assertEquals(1, all);
+        assertEquals(0, reingested);
+        assertTrue(transactionRepository.findUnsettledTransactionsByGroupId("group-compact-2").isEmpty());
+    }
+
+    private Transaction debt(String transactionId, int index) {
+        String groupId = transactionId.substring(0, transactionId.lastIndexOf('-'));
+        Transaction debt = new Transaction(transactionId, groupId, "expense-" + index, "bob", "alice",
+            new BigDecimal("10.00"));
+        debt.setCreatedAt(Instant.parse("2024-01-01T00:00:00Z").plusSeconds(index));
+        return debt;
+    }
+}
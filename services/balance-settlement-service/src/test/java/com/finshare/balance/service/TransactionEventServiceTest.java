@@ -0,0 +1,85 @@
+package com.finshare.balance.service;
+
+import com.finshare.balance.dto.GroupBalanceDto;
+import com.finshare.balance.dto.RecordPaymentDto;
+import com.finshare.balance.dto.TransactionEventDto;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.math.BigDecimal;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Integration tests for applying transaction events from the Group & Expense Service.
+ */
+@SpringBootTest
+@Transactional
+class TransactionEventServiceTest {
+
+    @Autowired
+    private TransactionEventService transactionEventService;
+
+    @Autowired
+    private SettlementService settlementService;
+
+    @Autowired
+    private BalanceCalculationService balanceCalculationService;
+
+    @Test
+    void applyEvents_TransactionCreated_UpdatesGroupBalances() {
+        // Act
+        int applied = transactionEventService.applyEvents(List.of(
+            created("event-1", "txn-1", "group-events-1", "bob", "alice", "40.00")));
+        GroupBalanceDto result = balanceCalculationService.calculateGroupBalances("group-events-1", "alice");
+
+        // Assert
+        assertEquals(1, applied);
+        assertEquals(0, new BigDecimal("40.00").compareTo(result.getUserBalances().get("alice")));
+        assertEquals(0, new BigDecimal("-40.00").compareTo(result.getUserBalances().get("bob")));
+    }
+
+    @Test
+    void applyEvents_Redelivery_IsAppliedOnce() {
+        // Arrange
+        TransactionEventDto event = created("event-2", "txn-2", "group-events-2", "bob", "alice", "40.00");
+        transactionEventService.applyEvents(List.of(event));
+
+        // Act
+        int applied = transactionEventService.applyEvents(List.of(event));
+        GroupBalanceDto result = balanceCalculationService.calculateGroupBalances("group-events-2", "alice");
+
+        // Assert
+        assertEquals(0, applied);
+        assertEquals(0, new BigDecimal("40.00").compareTo(result.getUserBalances().get("alice")));
+    }
+
+    @Test
+    void applyEvents_TransactionDeletedAfterPartialSettlement_ReleasesUnsettledRemainder() {
+        // Arrange: bob owes alice 40.00 and has paid 15.00 of it
+        transactionEventService.applyEvents(List.of(
+            created("event-3", "txn-3", "group-events-3", "bob", "alice", "40.00")));
+        settlementService.recordPayment("bob", new RecordPaymentDto("group-events-3", "alice", new BigDecimal("15.00")));
+
+        // Act: the expense is deleted
+        transactionEventService.applyEvents(List.of(new TransactionEventDto("event-4",
+            TransactionEventDto.TRANSACTION_DELETED, "group-events-3",
+            new TransactionEventDto.TransactionPayload("txn-3", "expense-1", "group-events-3", "bob", "alice",
+                new BigDecimal("40.00")))));
+        GroupBalanceDto result = balanceCalculationService.calculateGroupBalances("group-events-3", "alice");
+
+        // Assert: only the unsettled 25.00 is removed
+        assertEquals(0, BigDecimal.ZERO.compareTo(result.getUserBalances().get("alice")));
+        assertEquals(0, BigDecimal.ZERO.compareTo(result.getUserBalances().get("bob")));
+    }
+
+    private static TransactionEventDto created(String eventId, String transactionId, String groupId,
+                                               String fromUserId, String toUserId, String amount) {
+        return new TransactionEventDto(eventId, TransactionEventDto.TRANSACTION_CREATED, groupId,
+            new TransactionEventDto.TransactionPayload(transactionId, "expense-1", groupId, fromUserId, toUserId,
+                new BigDecimal(amount)));
+    }
+}
@@ -0,0 +1,78 @@
+package com.finshare.balance.service;
+
+import com.finshare.balance.dto.GroupBalanceDto;
+import com.finshare.balance.entity.Transaction;
+import com.finshare.balance.repository.TransactionRepository;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.math.BigDecimal;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Integration tests for batched transaction ingestion.
+ */
+@SpringBootTest
+@Transactional
+class TransactionSyncServiceTest {
+
+    @Autowired
+    private TransactionSyncService transactionSyncService;
+
+    @Autowired
+    private TransactionRepository transactionRepository;
+
+    @Autowired
+    private BalanceCalculationService balanceCalculationService;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @Test
+    void ingestTransactions_NewPage_InsertsAllAndUpdatesBalances() {
+        // Act: bob owes alice twice, carol owes alice once
+        int inserted = transactionSyncService.ingestTransactions(List.of(
+            transaction("txn-ingest-1", "group-ingest-1", "bob", "alice", "30.00"),
+            transaction("txn-ingest-2", "group-ingest-1", "bob", "alice", "12.50"),
+            transaction("txn-ingest-3", "group-ingest-1", "carol", "alice", "7.50")));
+        GroupBalanceDto result = balanceCalculationService.calculateGroupBalances("group-ingest-1", "alice");
+
+        // Assert
+        assertEquals(3, inserted);
+        assertEquals(0, new BigDecimal("50.00").compareTo(result.getUserBalances().get("alice")));
+        assertEquals(0, new BigDecimal("-42.50").compareTo(result.getUserBalances().get("bob")));
+        assertEquals(0, new BigDecimal("-7.50").compareTo(result.getUserBalances().get("carol")));
+    }
+
+    @Test
+    void ingestTransactions_ExistingAndRepeatedIds_AreSkipped() {
+        // Arrange
+        transactionSyncService.ingestTransactions(List.of(
+            transaction("txn-ingest-4", "group-ingest-2", "bob", "alice", "20.00")));
+        double skippedBefore = meterRegistry.counter("finshare.transactions.ingested", "result", "skipped").count();
+
+        // Act: one already stored, one new transaction listed twice
+        int inserted = transactionSyncService.ingestTransactions(List.of(
+            transaction("txn-ingest-4", "group-ingest-2", "bob", "alice", "20.00"),
+            transaction("txn-ingest-5", "group-ingest-2", "alice", "bob", "5.00"),
+            transaction("txn-ingest-5", "group-ingest-2", "alice", "bob", "5.00")));
+        GroupBalanceDto result = balanceCalculationService.calculateGroupBalances("group-ingest-2", "alice");
+
+        // Assert
+        assertEquals(1, inserted);
+        assertTrue(transactionRepository.existsById("txn-ingest-5"));
+        assertEquals(0, new BigDecimal("15.00").compareTo(result.getUserBalances().get("alice")));
+        assertEquals(2, meterRegistry.counter("finshare.transactions.ingested", "result", "skipped").count()
+            - skippedBefore);
+    }
+
+    private static Transaction transaction(String transactionId, String groupId,
+                                           String fromUserId, String toUserId, String amount) {
+        return new Transaction(transactionId, groupId, "expense-1", fromUserId, toUserId, new BigDecimal(amount));
+    }
+}
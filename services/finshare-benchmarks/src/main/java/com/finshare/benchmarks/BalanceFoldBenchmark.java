@@ -0,0 +1,173 @@
+package com.finshare.benchmarks;
+
+import com.finshare.balance.dto.GroupBalanceDto;
+import com.finshare.balance.dto.OverallBalanceDto;
+import com.finshare.balance.entity.GroupMemberBalance;
+import com.finshare.balance.entity.GroupMemberBalanceId;
+import com.finshare.balance.entity.UserBalanceSummary;
+import com.finshare.balance.entity.UserCounterpartyBalance;
+import com.finshare.balance.entity.UserCounterpartyBalanceId;
+import com.finshare.balance.repository.GroupMemberBalanceRepository;
+import com.finshare.balance.repository.PairwiseBalanceRepository;
+import com.finshare.balance.repository.UserBalanceSummaryRepository;
+import com.finshare.balance.repository.UserCounterpartyBalanceRepository;
+import com.finshare.balance.service.BalanceCalculationService;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.Options;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.lang.reflect.Proxy;
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Function;
+
+/**
+ * JMH benchmark for balance folding in the balance service.
+ *
+ * {@code foldHistory} measures the write side: applying a transaction history to the
+ * per-member and per-counterparty projection rows the way {@code BalanceLedgerService} does.
+ * The read benchmarks run {@link BalanceCalculationService} against in-memory repositories
+ * holding the folded rows, so they measure the calculation rather than the database.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@State(Scope.Benchmark)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class BalanceFoldBenchmark {
+
+    private static final String GROUP_ID = "group-1";
+
+    @Param({"5", "20", "100"})
+    private int groupSize;
+
+    @Param({"1000", "10000", "100000"})
+    private int history;
+
+    private String[] fromUsers;
+    private String[] toUsers;
+    private BigDecimal[] amounts;
+    private BalanceCalculationService balanceCalculationService;
+
+    @Setup
+    public void setUp() {
+        Random random = new Random(42);
+        fromUsers = new String[history];
+        toUsers = new String[history];
+        amounts = new BigDecimal[history];
+        for (int i = 0; i < history; i++) {
+            int from = random.nextInt(groupSize);
+            int to = (from + 1 + random.nextInt(groupSize - 1)) % groupSize;
+            fromUsers[i] = "user-" + from;
+            toUsers[i] = "user-" + to;
+            amounts[i] = BigDecimal.valueOf(1 + random.nextInt(50_000), 2);
+        }
+
+        Projections projections = foldHistory();
+        balanceCalculationService = new BalanceCalculationService(
+            groupMemberBalanceRepository(projections),
+            userBalanceSummaryRepository(projections),
+            userCounterpartyBalanceRepository(projections),
+            stubRepository(PairwiseBalanceRepository.class, Map.of()),
+            null,
+            Runnable::run,
+            10);
+    }
+
+    /**
+     * Apply every transaction of the history to the projection rows.
+     */
+    @Benchmark
+    public Projections foldHistory() {
+        Projections projections = new Projections();
+        for (int i = 0; i < history; i++) {
+            String fromUser = fromUsers[i];
+            String toUser = toUsers[i];
+            BigDecimal amount = amounts[i];
+
+            projections.memberBalances
+                .computeIfAbsent(new GroupMemberBalanceId(GROUP_ID, fromUser), id -> new GroupMemberBalance(GROUP_ID, fromUser))
+                .adjust(amount.negate());
+            projections.memberBalances
+                .computeIfAbsent(new GroupMemberBalanceId(GROUP_ID, toUser), id -> new GroupMemberBalance(GROUP_ID, toUser))
+                .adjust(amount);
+
+            projections.summaries.computeIfAbsent(fromUser, UserBalanceSummary::new).adjust(BigDecimal.ZERO, amount);
+            projections.summaries.computeIfAbsent(toUser, UserBalanceSummary::new).adjust(amount, BigDecimal.ZERO);
+
+            projections.counterparties
+                .computeIfAbsent(new UserCounterpartyBalanceId(fromUser, toUser), id -> new UserCounterpartyBalance(fromUser, toUser))
+                .adjust(BigDecimal.ZERO, amount);
+            projections.counterparties
+                .computeIfAbsent(new UserCounterpartyBalanceId(toUser, fromUser), id -> new UserCounterpartyBalance(toUser, fromUser))
+                .adjust(amount, BigDecimal.ZERO);
+        }
+        return projections;
+    }
+
+    @Benchmark
+    public GroupBalanceDto groupBalances() {
+        return balanceCalculationService.calculateGroupBalances(GROUP_ID, "user-0");
+    }
+
+    @Benchmark
+    public OverallBalanceDto overallBalance() {
+        return balanceCalculationService.calculateOverallBalance("user-0");
+    }
+
+    /**
+     * Projection rows produced by folding a history.
+     */
+    public static class Projections {
+        private final Map<GroupMemberBalanceId, GroupMemberBalance> memberBalances = new HashMap<>();
+        private final Map<String, UserBalanceSummary> summaries = new HashMap<>();
+        private final Map<UserCounterpartyBalanceId, UserCounterpartyBalance> counterparties = new HashMap<>();
+    }
+
+    private static GroupMemberBalanceRepository groupMemberBalanceRepository(Projections projections) {
+        List<GroupMemberBalance> rows = new ArrayList<>(projections.memberBalances.values());
+        return stubRepository(GroupMemberBalanceRepository.class, Map.of("findByGroupId", args -> rows));
+    }
+
+    private static UserBalanceSummaryRepository userBalanceSummaryRepository(Projections projections) {
+        return stubRepository(UserBalanceSummaryRepository.class,
+            Map.of("findById", args -> Optional.ofNullable(projections.summaries.get((String) args[0]))));
+    }
+
+    private static UserCounterpartyBalanceRepository userCounterpartyBalanceRepository(Projections projections) {
+        Map<String, List<UserCounterpartyBalance>> byUser = new HashMap<>();
+        projections.counterparties.values()
+            .forEach(row -> byUser.computeIfAbsent(row.getUserId(), id -> new ArrayList<>()).add(row));
+        return stubRepository(UserCounterpartyBalanceRepository.class,
+            Map.of("findByUserId", args -> byUser.getOrDefault((String) args[0], List.of())));
+    }
+
+    /**
+     * Create an in-memory repository answering only the given methods.
+     */
+    private static <T> T stubRepository(Class<T> type, Map<String, Function<Object[], Object>> methods) {
+        return type.cast(Proxy.newProxyInstance(type.getClassLoader(), new Class<?>[]{type}, (proxy, method, args) -> {
+            Function<Object[], Object> handler = methods.get(method.getName());
+            if (handler == null) {
+                throw new UnsupportedOperationException(method.getName());
+            }
+            return handler.apply(args);
+        }));
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        Options options = new OptionsBuilder()
+            .include(BalanceFoldBenchmark.class.getSimpleName())
+            .build();
+        new Runner(options).run();
+    }
+}
@@ -0,0 +1,92 @@
+package com.finshare.benchmarks;
+
+import com.finshare.balance.dto.SimplifiedDebtsDto;
+import com.finshare.balance.service.DebtSimplificationService;
+import com.finshare.balance.service.ExactDebtSimplifier;
+import com.finshare.balance.service.GreedyDebtSimplifier;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.Options;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.math.BigDecimal;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * JMH benchmark for the debt simplification engines.
+ *
+ * {@code greedy} and {@code exact} call the engines directly; {@code service} goes through
+ * {@link DebtSimplificationService} with its default configuration, including the size and
+ * time-budget fallbacks and metric recording.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@State(Scope.Benchmark)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class DebtSimplificationBenchmark {
+
+    @Param({"5", "10", "16", "20"})
+    private int members;
+
+    @Param({"1000", "10000"})
+    private int history;
+
+    private Map<String, BigDecimal> balances;
+    private GreedyDebtSimplifier greedyDebtSimplifier;
+    private ExactDebtSimplifier exactDebtSimplifier;
+    private DebtSimplificationService debtSimplificationService;
+
+    @Setup
+    public void setUp() {
+        // Fold a random history so the balances have realistic magnitudes and always sum to zero
+        Random random = new Random(42);
+        long[] cents = new long[members];
+        for (int i = 0; i < history; i++) {
+            int from = random.nextInt(members);
+            int to = (from + 1 + random.nextInt(members - 1)) % members;
+            long amount = 1 + random.nextInt(50_000);
+            cents[from] -= amount;
+            cents[to] += amount;
+        }
+        balances = new HashMap<>();
+        for (int i = 0; i < members; i++) {
+            balances.put("user-" + i, BigDecimal.valueOf(cents[i], 2));
+        }
+
+        greedyDebtSimplifier = new GreedyDebtSimplifier();
+        exactDebtSimplifier = new ExactDebtSimplifier(greedyDebtSimplifier);
+        debtSimplificationService = new DebtSimplificationService(null, null,
+            List.of(greedyDebtSimplifier, exactDebtSimplifier), greedyDebtSimplifier,
+            new SimpleMeterRegistry(), ExactDebtSimplifier.NAME, 20, 200, 0, 10_000, 600);
+    }
+
+    @Benchmark
+    public List<SimplifiedDebtsDto.PaymentInstruction> greedy() {
+        return greedyDebtSimplifier.simplify(balances);
+    }
+
+    @Benchmark
+    public Object exact() {
+        return exactDebtSimplifier.simplify(balances, System.nanoTime() + TimeUnit.MINUTES.toNanos(1));
+    }
+
+    @Benchmark
+    public List<SimplifiedDebtsDto.PaymentInstruction> service() {
+        return debtSimplificationService.simplifyBalances(balances);
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        Options options = new OptionsBuilder()
+            .include(DebtSimplificationBenchmark.class.getSimpleName())
+            .build();
+        new Runner(options).run();
+    }
+}
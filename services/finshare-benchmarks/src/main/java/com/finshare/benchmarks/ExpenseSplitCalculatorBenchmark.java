@@ -0,0 +1,93 @@
+package com.finshare.benchmarks;
+
+import com.finshare.groupexpenseservice.enums.SplitMethod;
+import com.finshare.groupexpenseservice.model.ExpenseSplit;
+import com.finshare.groupexpenseservice.service.ExpenseSplitCalculator;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.Options;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * JMH benchmark for {@link ExpenseSplitCalculator#calculateSplits} across all split methods.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@State(Scope.Benchmark)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ExpenseSplitCalculatorBenchmark {
+
+    @Param({"EQUAL", "EXACT", "PERCENTAGE", "SHARES"})
+    private SplitMethod splitMethod;
+
+    @Param({"2", "10", "50"})
+    private int members;
+
+    private final ExpenseSplitCalculator calculator = new ExpenseSplitCalculator();
+    private BigDecimal totalAmount;
+    private List<String> memberIds;
+    private Map<String, Object> splitDetails;
+
+    @Setup
+    public void setUp() {
+        Random random = new Random(42);
+        memberIds = new ArrayList<>();
+        for (int i = 0; i < members; i++) {
+            memberIds.add("user-" + i);
+        }
+
+        // Per-member cents for exact splits; the total is derived so the amounts always balance
+        Map<String, Number> amounts = new LinkedHashMap<>();
+        long totalCents = 0;
+        for (String memberId : memberIds) {
+            long cents = 1 + random.nextInt(10_000);
+            amounts.put(memberId, BigDecimal.valueOf(cents, 2));
+            totalCents += cents;
+        }
+        totalAmount = BigDecimal.valueOf(totalCents, 2);
+
+        // Whole percentages summing to 100, with the remainder on the last member
+        Map<String, Number> percentages = new LinkedHashMap<>();
+        int remaining = 100;
+        for (int i = 0; i < members; i++) {
+            int percentage = i == members - 1 ? remaining : Math.min(remaining, 100 / members);
+            percentages.put(memberIds.get(i), percentage);
+            remaining -= percentage;
+        }
+
+        Map<String, Number> shares = new LinkedHashMap<>();
+        for (String memberId : memberIds) {
+            shares.put(memberId, 1 + random.nextInt(5));
+        }
+
+        splitDetails = switch (splitMethod) {
+            case EQUAL -> null;
+            case EXACT -> Map.of("amounts", amounts);
+            case PERCENTAGE -> Map.of("percentages", percentages);
+            case SHARES -> Map.of("shares", shares);
+        };
+    }
+
+    @Benchmark
+    public List<ExpenseSplit> calculateSplits() {
+        return calculator.calculateSplits(totalAmount, splitMethod, splitDetails, memberIds);
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        Options options = new OptionsBuilder()
+            .include(ExpenseSplitCalculatorBenchmark.class.getSimpleName())
+            .build();
+        new Runner(options).run();
+    }
+}
@@ -0,0 +1,79 @@
+package com.finshare.benchmarks;
+
+import com.finshare.groupexpenseservice.enums.SplitMethod;
+import com.finshare.groupexpenseservice.model.Expense;
+import com.finshare.groupexpenseservice.model.ExpensePayer;
+import com.finshare.groupexpenseservice.model.ExpenseSplit;
+import com.finshare.groupexpenseservice.model.Transaction;
+import com.finshare.groupexpenseservice.service.ExpenseSplitCalculator;
+import com.finshare.groupexpenseservice.service.ExpenseTransactionCalculator;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.Options;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * JMH benchmark for deriving the transactions created by an expense,
+ * for a varying number of split participants and payers.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@State(Scope.Benchmark)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ExpenseTransactionsBenchmark {
+
+    @Param({"2", "10", "50"})
+    private int members;
+
+    @Param({"1", "3"})
+    private int payers;
+
+    private final ExpenseTransactionCalculator calculator = new ExpenseTransactionCalculator();
+    private Expense expense;
+
+    @Setup
+    public void setUp() {
+        BigDecimal totalAmount = new BigDecimal("1234.56");
+        List<String> memberIds = new ArrayList<>();
+        for (int i = 0; i < members; i++) {
+            memberIds.add("user-" + i);
+        }
+
+        expense = new Expense("group-1", "Benchmark expense", totalAmount, "general", SplitMethod.EQUAL, "user-0");
+        expense.setExpenseId("expense-1");
+
+        int payerCount = Math.min(payers, members);
+        List<ExpenseSplit> payerShares = new ExpenseSplitCalculator()
+            .calculateSplits(totalAmount, SplitMethod.EQUAL, null, memberIds.subList(0, payerCount));
+        for (ExpenseSplit share : payerShares) {
+            expense.getPaidBy().add(new ExpensePayer(expense, share.getUserId(), share.getAmount()));
+        }
+
+        List<ExpenseSplit> splits = new ExpenseSplitCalculator()
+            .calculateSplits(totalAmount, SplitMethod.EQUAL, null, memberIds);
+        for (ExpenseSplit split : splits) {
+            split.setExpense(expense);
+            expense.getSplits().add(split);
+        }
+    }
+
+    @Benchmark
+    public List<Transaction> calculateTransactions() {
+        return calculator.calculateTransactions(expense);
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        Options options = new OptionsBuilder()
+            .include(ExpenseTransactionsBenchmark.class.getSimpleName())
+            .build();
+        new Runner(options).run();
+    }
+}
@@ -0,0 +1,106 @@
+package com.finshare.benchmarks;
+
+import com.finshare.balance.dto.SimplifiedDebtsDto;
+import com.finshare.balance.service.GreedyDebtSimplifier;
+import com.finshare.balance.util.CentsAccumulator;
+import com.finshare.balance.util.MoneyCents;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.profile.GCProfiler;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.Options;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.math.BigDecimal;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * JMH benchmark comparing BigDecimal and long-cents folding of transaction histories into net balances.
+ * 
+ * Run with {@code main} to include the GC profiler, which reports bytes allocated per operation
+ * ({@code gc.alloc.rate.norm}) alongside throughput.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@State(Scope.Benchmark)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class MoneyArithmeticBenchmark {
+
+    @Param({"1000", "10000", "100000"})
+    private int transactions;
+
+    @Param({"5", "20", "100"})
+    private int members;
+
+    private String[] fromUsers;
+    private String[] toUsers;
+    private BigDecimal[] amounts;
+    private Map<String, BigDecimal> netBalances;
+    private GreedyDebtSimplifier greedyDebtSimplifier;
+
+    @Setup
+    public void setUp() {
+        Random random = new Random(42);
+        fromUsers = new String[transactions];
+        toUsers = new String[transactions];
+        amounts = new BigDecimal[transactions];
+        for (int i = 0; i < transactions; i++) {
+            int from = random.nextInt(members);
+            int to = (from + 1 + random.nextInt(members - 1)) % members;
+            fromUsers[i] = "user-" + from;
+            toUsers[i] = "user-" + to;
+            amounts[i] = BigDecimal.valueOf(1 + random.nextInt(50_000), 2);
+        }
+        netBalances = foldBigDecimal();
+        greedyDebtSimplifier = new GreedyDebtSimplifier();
+    }
+
+    /**
+     * Baseline: the original BigDecimal fold, allocating a new value on every add/subtract.
+     */
+    @Benchmark
+    public Map<String, BigDecimal> foldBigDecimal() {
+        Map<String, BigDecimal> balances = new HashMap<>();
+        for (int i = 0; i < transactions; i++) {
+            balances.merge(fromUsers[i], amounts[i].negate(), BigDecimal::add);
+            balances.merge(toUsers[i], amounts[i], BigDecimal::add);
+        }
+        return balances;
+    }
+
+    /**
+     * Fixed-point fold used by the projection rebuild, converting to BigDecimal only at the end.
+     */
+    @Benchmark
+    public Map<String, BigDecimal> foldCents() {
+        CentsAccumulator<String> balances = new CentsAccumulator<>(members);
+        for (int i = 0; i < transactions; i++) {
+            long cents = MoneyCents.toCents(amounts[i]);
+            balances.add(fromUsers[i], -cents);
+            balances.add(toUsers[i], cents);
+        }
+        return balances.toBigDecimalMap();
+    }
+
+    /**
+     * Greedy simplification of the folded balances on long cents.
+     */
+    @Benchmark
+    public List<SimplifiedDebtsDto.PaymentInstruction> greedySimplify() {
+        return greedyDebtSimplifier.simplify(netBalances);
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        Options options = new OptionsBuilder()
+            .include(MoneyArithmeticBenchmark.class.getSimpleName())
+            .addProfiler(GCProfiler.class)
+            .build();
+        new Runner(options).run();
+    }
+}
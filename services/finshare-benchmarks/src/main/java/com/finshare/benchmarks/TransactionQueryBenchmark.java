@@ -0,0 +1,165 @@
+package com.finshare.benchmarks;
+
+import com.finshare.balance.BalanceSettlementServiceApplication;
+import com.finshare.balance.entity.Transaction;
+import com.finshare.balance.repository.TransactionRepository;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.Options;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.math.BigDecimal;
+import java.sql.Timestamp;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * JMH benchmark for the {@link TransactionRepository} read queries against a large
+ * {@code transactions} table.
+ *
+ * Boots the balance service's persistence layer on an in-memory H2 database, so the schema
+ * and indexes are the ones Hibernate generates from the entity, then loads {@code rows}
+ * transactions spread over 10,000 groups (80% of them settled). With {@code indexed=false}
+ * the declared indexes are dropped after loading, giving the full-scan baseline.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@State(Scope.Benchmark)
+@Warmup(iterations = 3, time = 3)
+@Measurement(iterations = 3, time = 2)
+@Fork(value = 1, jvmArgsAppend = "-Xmx4g")
+public class TransactionQueryBenchmark {
+
+    private static final int GROUPS = 10_000;
+    private static final int MEMBERS_PER_GROUP = 8;
+    private static final int USERS = 20_000;
+    private static final int SAMPLES = 1024;
+    private static final int INSERT_BATCH = 10_000;
+    private static final String[] INDEXES = {
+        "idx_transactions_group_settled",
+        "idx_transactions_from_settled",
+        "idx_transactions_to_settled",
+        "idx_transactions_pair_allocation"
+    };
+
+    @Param({"100000", "1000000"})
+    private int rows;
+
+    @Param({"true", "false"})
+    private boolean indexed;
+
+    private ConfigurableApplicationContext context;
+    private TransactionRepository transactionRepository;
+    private String[][] samples;
+    private int next;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        // Passed as arguments so they override whichever service's application.yml survived shading
+        context = new SpringApplicationBuilder(BalanceSettlementServiceApplication.class)
+            .web(WebApplicationType.NONE)
+            .run(
+                "--spring.datasource.url=jdbc:h2:mem:transaction-query-benchmark;DB_CLOSE_DELAY=-1",
+                "--spring.jpa.hibernate.ddl-auto=create-drop",
+                "--spring.jpa.show-sql=false",
+                "--spring.jpa.properties.hibernate.format_sql=false",
+                "--logging.level.com.finshare=WARN",
+                "--logging.level.org.hibernate.SQL=WARN",
+                "--logging.level.org.hibernate.type.descriptor.sql.BasicBinder=WARN");
+        transactionRepository = context.getBean(TransactionRepository.class);
+        JdbcTemplate jdbcTemplate = context.getBean(JdbcTemplate.class);
+
+        Random random = new Random(42);
+        Instant createdAt = Instant.parse("2024-01-01T00:00:00Z");
+        List<Object[]> batch = new ArrayList<>(INSERT_BATCH);
+        samples = new String[SAMPLES][];
+        for (int i = 0; i < rows; i++) {
+            int group = random.nextInt(GROUPS);
+            int from = random.nextInt(MEMBERS_PER_GROUP);
+            int to = (from + 1 + random.nextInt(MEMBERS_PER_GROUP - 1)) % MEMBERS_PER_GROUP;
+            String groupId = "group-" + group;
+            String fromUserId = memberOf(group, from);
+            String toUserId = memberOf(group, to);
+            boolean settled = random.nextInt(10) < 8;
+            batch.add(new Object[] {
+                "txn-" + i, groupId, "expense-" + i, fromUserId, toUserId,
+                BigDecimal.valueOf(1 + random.nextInt(50_000), 2), settled,
+                Timestamp.from(createdAt.plusSeconds(i)), settled ? Timestamp.from(createdAt.plusSeconds(i + 60)) : null
+            });
+            if (i < SAMPLES) {
+                samples[i] = new String[] {groupId, fromUserId, toUserId};
+            }
+            if (batch.size() == INSERT_BATCH) {
+                insert(jdbcTemplate, batch);
+            }
+        }
+        insert(jdbcTemplate, batch);
+
+        if (!indexed) {
+            for (String index : INDEXES) {
+                jdbcTemplate.execute("DROP INDEX " + index);
+            }
+        }
+        jdbcTemplate.execute("ANALYZE");
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        context.getBean(JdbcTemplate.class).execute("DROP ALL OBJECTS");
+        context.close();
+    }
+
+    @Benchmark
+    public List<Transaction> unsettledByGroup() {
+        return transactionRepository.findUnsettledTransactionsByGroupId(nextSample()[0]);
+    }
+
+    @Benchmark
+    public List<Transaction> unsettledByUser() {
+        return transactionRepository.findUnsettledTransactionsByUserId(nextSample()[1]);
+    }
+
+    @Benchmark
+    public long countByUser() {
+        return transactionRepository.countTransactionsByUserId(nextSample()[1]);
+    }
+
+    @Benchmark
+    public Object settlementAllocationScan() {
+        String[] sample = nextSample();
+        return transactionRepository.findUnsettledDebtAmountsBetweenUsers(sample[0], sample[1], sample[2],
+            PageRequest.of(0, 200)).getContent();
+    }
+
+    private String[] nextSample() {
+        next = (next + 1) & (SAMPLES - 1);
+        return samples[next];
+    }
+
+    private static String memberOf(int group, int member) {
+        // Groups overlap, so each user belongs to a few groups
+        return "user-" + (group * MEMBERS_PER_GROUP / 4 + member) % USERS;
+    }
+
+    private static void insert(JdbcTemplate jdbcTemplate, List<Object[]> batch) {
+        jdbcTemplate.batchUpdate("INSERT INTO transactions (transaction_id, group_id, expense_id, from_user_id, "
+            + "to_user_id, amount, is_settled, created_at, settled_at) VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?)", batch);
+        batch.clear();
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        Options options = new OptionsBuilder()
+            .include(TransactionQueryBenchmark.class.getSimpleName())
+            .build();
+        new Runner(options).run();
+    }
+}
@@ -0,0 +1,82 @@
+package com.finshare.groupexpenseservice.config;
+
+import com.finshare.groupexpenseservice.enums.OutboxEventType;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.EnumSet;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * Configuration of the transactional outbox and the services subscribed to it.
+ */
+@Component
+@ConfigurationProperties(prefix = "finshare.outbox")
+public class OutboxProperties {
+
+    private List<Subscriber> subscribers = new ArrayList<>();
+
+    // Getters and setters
+
+    public List<Subscriber> getSubscribers() {
+        return subscribers;
+    }
+
+    public void setSubscribers(List<Subscriber> subscribers) {
+        this.subscribers = subscribers;
+    }
+
+    /**
+     * A downstream service receiving outbox events over HTTP.
+     */
+    public static class Subscriber {
+
+        private String name;
+        private String baseUrl;
+        private String path;
+        private Set<OutboxEventType> eventTypes = EnumSet.allOf(OutboxEventType.class);
+
+        /**
+         * Whether this subscriber receives events of the given type.
+         */
+        public boolean accepts(OutboxEventType eventType) {
+            return eventTypes.contains(eventType);
+        }
+
+        // Getters and setters
+
+        public String getName() {
+            return name;
+        }
+
+        public void setName(String name) {
+            this.name = name;
+        }
+
+        public String getBaseUrl() {
+            return baseUrl;
+        }
+
+        public void setBaseUrl(String baseUrl) {
+            this.baseUrl = baseUrl;
+        }
+
+        public String getPath() {
+            return path;
+        }
+
+        public void setPath(String path) {
+            this.path = path;
+        }
+
+        public Set<OutboxEventType> getEventTypes() {
+            return eventTypes;
+        }
+
+        public void setEventTypes(Set<OutboxEventType> eventTypes) {
+            this.eventTypes = eventTypes;
+        }
+    }
+}
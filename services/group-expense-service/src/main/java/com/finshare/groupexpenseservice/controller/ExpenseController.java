@@ -1,18 +1,25 @@
 package com.finshare.groupexpenseservice.controller;
 
+import com.finshare.groupexpenseservice.dto.BulkExpenseResultDto;
 import com.finshare.groupexpenseservice.dto.CreateExpenseDto;
+import com.finshare.groupexpenseservice.dto.ExpenseDetailsPageDto;
 import com.finshare.groupexpenseservice.dto.ExpenseDto;
+import com.finshare.groupexpenseservice.dto.ExpenseFeedDto;
+import com.finshare.groupexpenseservice.dto.PairBalanceDto;
 import com.finshare.groupexpenseservice.dto.UpdateExpenseDto;
+import com.finshare.groupexpenseservice.service.ExpenseImportService;
 import com.finshare.groupexpenseservice.service.ExpenseService;
 import jakarta.validation.Valid;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.validation.annotation.Validated;
 import org.springframework.web.bind.annotation.*;
 
+import java.io.InputStream;
 import java.util.List;
 
 /**
@@ -28,6 +35,9 @@ public class ExpenseController {
     @Autowired
     private ExpenseService expenseService;
 
+    @Autowired
+    private ExpenseImportService expenseImportService;
+
     /**
      * Create a new expense in a group.
      *
@@ -51,6 +61,52 @@ public class ExpenseController {
         return ResponseEntity.status(HttpStatus.CREATED).body(expenseDto);
     }
 
+    /**
+     * Import many expenses into a group from a JSON array.
+     *
+     * @param authenticatedUserId The authenticated user's ID from the gateway
+     * @param groupId The group ID
+     * @param body The request body, a JSON array of expenses
+     * @return ResponseEntity containing the outcome of every expense
+     */
+    @PostMapping(path = "/groups/{groupId}/expenses:bulk", consumes = MediaType.APPLICATION_JSON_VALUE)
+    public ResponseEntity<BulkExpenseResultDto> importExpenses(
+            @RequestHeader(AUTHENTICATED_USER_HEADER) String authenticatedUserId,
+            @PathVariable String groupId,
+            InputStream body) {
+        
+        logger.debug("POST /groups/{}/expenses:bulk - Importing JSON expenses by user: {}", 
+                    groupId, authenticatedUserId);
+        
+        BulkExpenseResultDto result = expenseImportService.importJson(groupId, body, authenticatedUserId);
+        logger.debug("Imported {} expenses, {} failed", result.getCreated(), result.getFailed());
+        
+        return ResponseEntity.ok(result);
+    }
+
+    /**
+     * Import many expenses into a group from newline-delimited JSON, one expense per line.
+     *
+     * @param authenticatedUserId The authenticated user's ID from the gateway
+     * @param groupId The group ID
+     * @param body The request body
+     * @return ResponseEntity containing the outcome of every expense
+     */
+    @PostMapping(path = "/groups/{groupId}/expenses:bulk", consumes = MediaType.APPLICATION_NDJSON_VALUE)
+    public ResponseEntity<BulkExpenseResultDto> importExpensesNdjson(
+            @RequestHeader(AUTHENTICATED_USER_HEADER) String authenticatedUserId,
+            @PathVariable String groupId,
+            InputStream body) {
+        
+        logger.debug("POST /groups/{}/expenses:bulk - Importing NDJSON expenses by user: {}", 
+                    groupId, authenticatedUserId);
+        
+        BulkExpenseResultDto result = expenseImportService.importNdjson(groupId, body, authenticatedUserId);
+        logger.debug("Imported {} expenses, {} failed", result.getCreated(), result.getFailed());
+        
+        return ResponseEntity.ok(result);
+    }
+
     /**
      * Update an existing expense.
      *
@@ -94,23 +150,71 @@ public class ExpenseController {
     }
 
     /**
-     * Get all expenses for a group.
+     * Get a group's expenses, newest first, a page at a time.
      *
      * @param authenticatedUserId The authenticated user's ID from the gateway
      * @param groupId The group ID
-     * @return ResponseEntity containing the list of expenses
+     * @param cursor The nextCursor of the previous page; omit for the first page
+     * @param limit Maximum expenses per page (1-100)
+     * @return ResponseEntity containing a page of expense summaries
      */
     @GetMapping("/groups/{groupId}/expenses")
-    public ResponseEntity<List<ExpenseDto>> getGroupExpenses(
+    public ResponseEntity<ExpenseFeedDto> getGroupExpenses(
             @RequestHeader(AUTHENTICATED_USER_HEADER) String authenticatedUserId,
-            @PathVariable String groupId) {
+            @PathVariable String groupId,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "20") int limit) {
         
         logger.debug("GET /groups/{}/expenses - Getting expenses by user: {}", groupId, authenticatedUserId);
         
-        List<ExpenseDto> expenses = expenseService.getGroupExpenses(groupId, authenticatedUserId);
-        logger.debug("Successfully retrieved {} expenses for group: {}", expenses.size(), groupId);
+        ExpenseFeedDto feed = expenseService.getGroupExpenses(groupId, cursor, limit, authenticatedUserId);
+        logger.debug("Successfully retrieved {} expenses for group: {}", feed.getExpenses().size(), groupId);
+        
+        return ResponseEntity.ok(feed);
+    }
+
+    /**
+     * Get a group's expenses with their payers and splits, newest first, a page at a time.
+     *
+     * @param authenticatedUserId The authenticated user's ID from the gateway
+     * @param groupId The group ID
+     * @param cursor The nextCursor of the previous page; omit for the first page
+     * @param limit Maximum expenses per page (1-100)
+     * @return ResponseEntity containing a page of full expenses
+     */
+    @GetMapping("/groups/{groupId}/expenses/details")
+    public ResponseEntity<ExpenseDetailsPageDto> getGroupExpenseDetails(
+            @RequestHeader(AUTHENTICATED_USER_HEADER) String authenticatedUserId,
+            @PathVariable String groupId,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "20") int limit) {
+        
+        logger.debug("GET /groups/{}/expenses/details - Getting expenses by user: {}", groupId, authenticatedUserId);
+        
+        ExpenseDetailsPageDto page = expenseService.getGroupExpenseDetails(groupId, cursor, limit, authenticatedUserId);
+        logger.debug("Successfully retrieved {} expenses for group: {}", page.getExpenses().size(), groupId);
+        
+        return ResponseEntity.ok(page);
+    }
+
+    /**
+     * Get what each pair of members in a group owes the other, after netting all expenses.
+     *
+     * @param authenticatedUserId The authenticated user's ID from the gateway
+     * @param groupId The group ID
+     * @return ResponseEntity containing one entry per pair with an outstanding debt
+     */
+    @GetMapping("/groups/{groupId}/pair-balances")
+    public ResponseEntity<List<PairBalanceDto>> getGroupPairBalances(
+            @RequestHeader(AUTHENTICATED_USER_HEADER) String authenticatedUserId,
+            @PathVariable String groupId) {
+        
+        logger.debug("GET /groups/{}/pair-balances - Getting pair balances by user: {}", groupId, authenticatedUserId);
+        
+        List<PairBalanceDto> balances = expenseService.getGroupPairBalances(groupId, authenticatedUserId);
+        logger.debug("Successfully retrieved {} pair balances for group: {}", balances.size(), groupId);
         
-        return ResponseEntity.ok(expenses);
+        return ResponseEntity.ok(balances);
     }
 
     /**
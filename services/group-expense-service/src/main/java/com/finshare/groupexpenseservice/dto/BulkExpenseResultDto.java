@@ -0,0 +1,104 @@
+package com.finshare.groupexpenseservice.dto;
+
+import com.fasterxml.jackson.annotation.JsonProperty;
+
+import java.util.List;
+
+/**
+ * Data Transfer Object reporting the outcome of a bulk expense import, item by item.
+ */
+public class BulkExpenseResultDto {
+
+    @JsonProperty("created")
+    private int created;
+
+    @JsonProperty("failed")
+    private int failed;
+
+    @JsonProperty("results")
+    private List<ItemResultDto> results; // In request order
+
+    /**
+     * Default constructor.
+     */
+    public BulkExpenseResultDto() {
+    }
+
+    public BulkExpenseResultDto(List<ItemResultDto> results) {
+        this.results = results;
+        this.created = (int) results.stream().filter(result -> result.getError() == null).count();
+        this.failed = results.size() - created;
+    }
+
+    // Getters and setters
+
+    public int getCreated() {
+        return created;
+    }
+
+    public void setCreated(int created) {
+        this.created = created;
+    }
+
+    public int getFailed() {
+        return failed;
+    }
+
+    public void setFailed(int failed) {
+        this.failed = failed;
+    }
+
+    public List<ItemResultDto> getResults() {
+        return results;
+    }
+
+    public void setResults(List<ItemResultDto> results) {
+        this.results = results;
+    }
+
+    /**
+     * DTO for the outcome of one imported expense: its new ID, or why it was rejected.
+     */
+    public static class ItemResultDto {
+        @JsonProperty("index")
+        private int index; // Zero-based position in the request
+
+        @JsonProperty("expenseId")
+        private String expenseId;
+
+        @JsonProperty("error")
+        private String error;
+
+        public ItemResultDto() {}
+
+        public ItemResultDto(int index, String expenseId, String error) {
+            this.index = index;
+            this.expenseId = expenseId;
+            this.error = error;
+        }
+
+        public int getIndex() {
+            return index;
+        }
+
+        public void setIndex(int index) {
+            this.index = index;
+        }
+
+        public String getExpenseId() {
+            return expenseId;
+        }
+
+        public void setExpenseId(String expenseId) {
+            this.expenseId = expenseId;
+        }
+
+        public String getError() {
+            return error;
+        }
+
+        public void setError(String error) {
+            this.error = error;
+        }
+    }
+}
@@ -0,0 +1,46 @@
+package com.finshare.groupexpenseservice.dto;
+
+import com.fasterxml.jackson.annotation.JsonProperty;
+
+import java.util.List;
+
+/**
+ * Data Transfer Object for one page of a group's expenses with their payers and splits, newest first.
+ */
+public class ExpenseDetailsPageDto {
+
+    @JsonProperty("expenses")
+    private List<ExpenseDto> expenses;
+
+    @JsonProperty("nextCursor")
+    private String nextCursor; // Null on the last page
+
+    /**
+     * Default constructor.
+     */
+    public ExpenseDetailsPageDto() {
+    }
+
+    public ExpenseDetailsPageDto(List<ExpenseDto> expenses, String nextCursor) {
+        this.expenses = expenses;
+        this.nextCursor = nextCursor;
+    }
+
+    // Getters and setters
+
+    public List<ExpenseDto> getExpenses() {
+        return expenses;
+    }
+
+    public void setExpenses(List<ExpenseDto> expenses) {
+        this.expenses = expenses;
+    }
+
+    public String getNextCursor() {
+        return nextCursor;
+    }
+
+    public void setNextCursor(String nextCursor) {
+        this.nextCursor = nextCursor;
+    }
+}
@@ -0,0 +1,46 @@
+package com.finshare.groupexpenseservice.dto;
+
+import com.fasterxml.jackson.annotation.JsonProperty;
+
+import java.util.List;
+
+/**
+ * Data Transfer Object for one page of a group's expense feed, newest first.
+ */
+public class ExpenseFeedDto {
+
+    @JsonProperty("expenses")
+    private List<ExpenseSummaryDto> expenses;
+
+    @JsonProperty("nextCursor")
+    private String nextCursor; // Null on the last page
+
+    /**
+     * Default constructor.
+     */
+    public ExpenseFeedDto() {
+    }
+
+    public ExpenseFeedDto(List<ExpenseSummaryDto> expenses, String nextCursor) {
+        this.expenses = expenses;
+        this.nextCursor = nextCursor;
+    }
+
+    // Getters and setters
+
+    public List<ExpenseSummaryDto> getExpenses() {
+        return expenses;
+    }
+
+    public void setExpenses(List<ExpenseSummaryDto> expenses) {
+        this.expenses = expenses;
+    }
+
+    public String getNextCursor() {
+        return nextCursor;
+    }
+
+    public void setNextCursor(String nextCursor) {
+        this.nextCursor = nextCursor;
+    }
+}
@@ -0,0 +1,113 @@
+package com.finshare.groupexpenseservice.dto;
+
+import com.fasterxml.jackson.annotation.JsonProperty;
+import com.finshare.groupexpenseservice.enums.SplitMethod;
+
+import java.math.BigDecimal;
+import java.time.Instant;
+
+/**
+ * Data Transfer Object for one row of a group's expense feed.
+ * Read directly from the expenses table; payers and splits are fetched per expense on demand.
+ */
+public class ExpenseSummaryDto {
+
+    @JsonProperty("expenseId")
+    private String expenseId;
+
+    @JsonProperty("description")
+    private String description;
+
+    @JsonProperty("amount")
+    private BigDecimal amount;
+
+    @JsonProperty("category")
+    private String category;
+
+    @JsonProperty("splitMethod")
+    private SplitMethod splitMethod;
+
+    @JsonProperty("createdBy")
+    private String createdBy;
+
+    @JsonProperty("createdAt")
+    private Instant createdAt;
+
+    /**
+     * Default constructor.
+     */
+    public ExpenseSummaryDto() {
+    }
+
+    /**
+     * Constructor used by the feed query's projection.
+     */
+    public ExpenseSummaryDto(String expenseId, String description, BigDecimal amount, String category,
+                             SplitMethod splitMethod, String createdBy, Instant createdAt) {
+        this.expenseId = expenseId;
+        this.description = description;
+        this.amount = amount;
+        this.category = category;
+        this.splitMethod = splitMethod;
+        this.createdBy = createdBy;
+        this.createdAt = createdAt;
+    }
+
+    // Getters and setters
+
+    public String getExpenseId() {
+        return expenseId;
+    }
+
+    public void setExpenseId(String expenseId) {
+        this.expenseId = expenseId;
+    }
+
+    public String getDescription() {
+        return description;
+    }
+
+    public void setDescription(String description) {
+        this.description = description;
+    }
+
+    public BigDecimal getAmount() {
+        return amount;
+    }
+
+    public void setAmount(BigDecimal amount) {
+        this.amount = amount;
+    }
+
+    public String getCategory() {
+        return category;
+    }
+
+    public void setCategory(String category) {
+        this.category = category;
+    }
+
+    public SplitMethod getSplitMethod() {
+        return splitMethod;
+    }
+
+    public void setSplitMethod(SplitMethod splitMethod) {
+        this.splitMethod = splitMethod;
+    }
+
+    public String getCreatedBy() {
+        return createdBy;
+    }
+
+    public void setCreatedBy(String createdBy) {
+        this.createdBy = createdBy;
+    }
+
+    public Instant getCreatedAt() {
+        return createdAt;
+    }
+
+    public void setCreatedAt(Instant createdAt) {
+        this.createdAt = createdAt;
+    }
+}
@@ -0,0 +1,82 @@
+package com.finshare.groupexpenseservice.dto;
+
+import com.fasterxml.jackson.annotation.JsonProperty;
+import com.fasterxml.jackson.annotation.JsonRawValue;
+import com.finshare.groupexpenseservice.enums.OutboxEventType;
+import com.finshare.groupexpenseservice.model.OutboxEvent;
+
+import java.time.Instant;
+
+/**
+ * Data Transfer Object for an outbox event as delivered to consumers.
+ */
+public class OutboxEventDto {
+
+    @JsonProperty("eventId")
+    private String eventId;
+
+    @JsonProperty("eventType")
+    private OutboxEventType eventType;
+
+    @JsonProperty("groupId")
+    private String groupId;
+
+    @JsonProperty("occurredAt")
+    private Instant occurredAt;
+
+    @JsonProperty("payload")
+    @JsonRawValue
+    private String payload; // Already serialized when the event was written
+
+    // Constructors
+    public OutboxEventDto() {}
+
+    public OutboxEventDto(OutboxEvent event) {
+        this.eventId = event.getEventId();
+        this.eventType = event.getEventType();
+        this.groupId = event.getGroupId();
+        this.occurredAt = event.getCreatedAt();
+        this.payload = event.getPayload();
+    }
+
+    // Getters and setters
+    public String getEventId() {
+        return eventId;
+    }
+
+    public void setEventId(String eventId) {
+        this.eventId = eventId;
+    }
+
+    public OutboxEventType getEventType() {
+        return eventType;
+    }
+
+    public void setEventType(OutboxEventType eventType) {
+        this.eventType = eventType;
+    }
+
+    public String getGroupId() {
+        return groupId;
+    }
+
+    public void setGroupId(String groupId) {
+        this.groupId = groupId;
+    }
+
+    public Instant getOccurredAt() {
+        return occurredAt;
+    }
+
+    public void setOccurredAt(Instant occurredAt) {
+        this.occurredAt = occurredAt;
+    }
+
+    public String getPayload() {
+        return payload;
+    }
+
+    public void setPayload(String payload) {
+        this.payload = payload;
+    }
+}
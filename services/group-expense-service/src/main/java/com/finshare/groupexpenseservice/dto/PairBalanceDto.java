@@ -0,0 +1,58 @@
+package com.finshare.groupexpenseservice.dto;
+
+import com.fasterxml.jackson.annotation.JsonProperty;
+
+import java.math.BigDecimal;
+
+/**
+ * Data Transfer Object for what one group member owes another after netting all their transactions.
+ */
+public class PairBalanceDto {
+
+    @JsonProperty("fromUserId")
+    private String fromUserId; // Who owes the money
+
+    @JsonProperty("toUserId")
+    private String toUserId; // Who is owed the money
+
+    @JsonProperty("amount")
+    private BigDecimal amount;
+
+    /**
+     * Default constructor.
+     */
+    public PairBalanceDto() {
+    }
+
+    public PairBalanceDto(String fromUserId, String toUserId, BigDecimal amount) {
+        this.fromUserId = fromUserId;
+        this.toUserId = toUserId;
+        this.amount = amount;
+    }
+
+    // Getters and setters
+
+    public String getFromUserId() {
+        return fromUserId;
+    }
+
+    public void setFromUserId(String fromUserId) {
+        this.fromUserId = fromUserId;
+    }
+
+    public String getToUserId() {
+        return toUserId;
+    }
+
+    public void setToUserId(String toUserId) {
+        this.toUserId = toUserId;
+    }
+
+    public BigDecimal getAmount() {
+        return amount;
+    }
+
+    public void setAmount(BigDecimal amount) {
+        this.amount = amount;
+    }
+}
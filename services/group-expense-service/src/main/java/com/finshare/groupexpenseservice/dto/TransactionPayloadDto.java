@@ -0,0 +1,104 @@
+package com.finshare.groupexpenseservice.dto;
+
+import com.fasterxml.jackson.annotation.JsonProperty;
+import com.finshare.groupexpenseservice.model.Transaction;
+
+import java.math.BigDecimal;
+import java.time.Instant;
+
+/**
+ * Data Transfer Object for the transaction carried by a transaction event.
+ */
+public class TransactionPayloadDto {
+
+    @JsonProperty("transactionId")
+    private String transactionId;
+
+    @JsonProperty("expenseId")
+    private String expenseId;
+
+    @JsonProperty("groupId")
+    private String groupId;
+
+    @JsonProperty("fromUserId")
+    private String fromUserId;
+
+    @JsonProperty("toUserId")
+    private String toUserId;
+
+    @JsonProperty("amount")
+    private BigDecimal amount;
+
+    @JsonProperty("createdAt")
+    private Instant createdAt;
+
+    // Constructors
+    public TransactionPayloadDto() {}
+
+    public TransactionPayloadDto(Transaction transaction) {
+        this.transactionId = transaction.getTransactionId();
+        this.expenseId = transaction.getExpenseId();
+        this.groupId = transaction.getGroupId();
+        this.fromUserId = transaction.getFromUserId();
+        this.toUserId = transaction.getToUserId();
+        this.amount = transaction.getAmount();
+        this.createdAt = transaction.getCreatedAt();
+    }
+
+    // Getters and setters
+    public String getTransactionId() {
+        return transactionId;
+    }
+
+    public void setTransactionId(String transactionId) {
+        this.transactionId = transactionId;
+    }
+
+    public String getExpenseId() {
+        return expenseId;
+    }
+
+    public void setExpenseId(String expenseId) {
+        this.expenseId = expenseId;
+    }
+
+    public String getGroupId() {
+        return groupId;
+    }
+
+    public void setGroupId(String groupId) {
+        this.groupId = groupId;
+    }
+
+    public String getFromUserId() {
+        return fromUserId;
+    }
+
+    public void setFromUserId(String fromUserId) {
+        this.fromUserId = fromUserId;
+    }
+
+    public String getToUserId() {
+        return toUserId;
+    }
+
+    public void setToUserId(String toUserId) {
+        this.toUserId = toUserId;
+    }
+
+    public BigDecimal getAmount() {
+        return amount;
+    }
+
+    public void setAmount(BigDecimal amount) {
+        this.amount = amount;
+    }
+
+    public Instant getCreatedAt() {
+        return createdAt;
+    }
+
+    public void setCreatedAt(Instant createdAt) {
+        this.createdAt = createdAt;
+    }
+}
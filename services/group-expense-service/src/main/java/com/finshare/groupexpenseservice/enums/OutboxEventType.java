@@ -0,0 +1,12 @@
+package com.finshare.groupexpenseservice.enums;
+
+/**
+ * Enumeration of the event types published through the outbox.
+ */
+public enum OutboxEventType {
+    EXPENSE_CREATED,     // An expense was added to a group
+    EXPENSE_UPDATED,     // An expense's details, payers or splits changed
+    EXPENSE_DELETED,     // An expense was removed from a group
+    TRANSACTION_CREATED, // A debt relationship was created by an expense
+    TRANSACTION_DELETED  // A debt relationship was removed by an expense update or deletion
+}
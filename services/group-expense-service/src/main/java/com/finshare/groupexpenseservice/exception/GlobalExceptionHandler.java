@@ -72,6 +72,23 @@ public class GlobalExceptionHandler {
         return ResponseEntity.status(HttpStatus.FORBIDDEN).body(errorResponse);
     }
 
+    /**
+     * Handle bulk imports over the item limit.
+     */
+    @ExceptionHandler(ImportTooLargeException.class)
+    public ResponseEntity<ErrorResponse> handleImportTooLargeException(ImportTooLargeException ex) {
+        logger.warn("Import too large: {}", ex.getMessage());
+        
+        ErrorResponse errorResponse = new ErrorResponse(
+                HttpStatus.PAYLOAD_TOO_LARGE.value(),
+                "Import Too Large",
+                ex.getMessage(),
+                Instant.now()
+        );
+        
+        return ResponseEntity.status(HttpStatus.PAYLOAD_TOO_LARGE).body(errorResponse);
+    }
+
     /**
      * Handle validation errors.
      */
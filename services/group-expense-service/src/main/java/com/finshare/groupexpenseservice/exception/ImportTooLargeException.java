@@ -0,0 +1,11 @@
+package com.finshare.groupexpenseservice.exception;
+
+/**
+ * Exception thrown when a bulk import holds more expenses than one request may import.
+ */
+public class ImportTooLargeException extends RuntimeException {
+
+    public ImportTooLargeException(String message) {
+        super(message);
+    }
+}
@@ -2,6 +2,7 @@ package com.finshare.groupexpenseservice.model;
 
 import com.finshare.groupexpenseservice.enums.SplitMethod;
 import jakarta.persistence.*;
+import org.hibernate.annotations.BatchSize;
 import java.math.BigDecimal;
 import java.time.Instant;
 import java.util.ArrayList;
@@ -11,7 +12,10 @@ import java.util.List;
  * Expense entity representing a financial expense in a group.
  */
 @Entity
-@Table(name = "expenses")
+@Table(name = "expenses", indexes = {
+    // Serves the group expense feed, newest first, without sorting
+    @Index(name = "idx_expenses_group_created", columnList = "group_id, created_at, expense_id")
+})
 public class Expense {
 
     @Id
@@ -33,10 +37,13 @@ public class Expense {
     @Column(nullable = false)
     private SplitMethod splitMethod;
 
+    // Batch-fetched: touching one expense's collection loads it for up to a page of loaded expenses
     @OneToMany(mappedBy = "expense", cascade = CascadeType.ALL, fetch = FetchType.LAZY)
+    @BatchSize(size = 100)
     private List<ExpensePayer> paidBy = new ArrayList<>();
 
     @OneToMany(mappedBy = "expense", cascade = CascadeType.ALL, fetch = FetchType.LAZY)
+    @BatchSize(size = 100)
     private List<ExpenseSplit> splits = new ArrayList<>();
 
     private boolean isRecurring = false;
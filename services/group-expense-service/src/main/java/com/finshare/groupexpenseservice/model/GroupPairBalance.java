@@ -0,0 +1,110 @@
+package com.finshare.groupexpenseservice.model;
+
+import jakarta.persistence.*;
+import java.math.BigDecimal;
+import java.time.Instant;
+
+/**
+ * Entity holding the net of all transactions between two users of a group.
+ *
+ * Each pair is stored once in canonical order ({@code userA < userB}); a positive
+ * {@code netAmount} means userA owes userB, a negative one means userB owes userA.
+ */
+@Entity
+@Table(name = "group_pair_balances")
+@IdClass(GroupPairBalanceId.class)
+public class GroupPairBalance {
+
+    @Id
+    @Column(name = "group_id", nullable = false)
+    private String groupId;
+
+    @Id
+    @Column(name = "user_a", nullable = false)
+    private String userA;
+
+    @Id
+    @Column(name = "user_b", nullable = false)
+    private String userB;
+
+    @Column(nullable = false, precision = 19, scale = 2)
+    private BigDecimal netAmount = BigDecimal.ZERO;
+
+    @Column(nullable = false)
+    private Instant updatedAt;
+
+    /**
+     * Default constructor required by JPA.
+     */
+    public GroupPairBalance() {
+    }
+
+    /**
+     * Constructor for the zero balance of a canonically ordered pair.
+     */
+    public GroupPairBalance(GroupPairBalanceId id) {
+        this.groupId = id.getGroupId();
+        this.userA = id.getUserA();
+        this.userB = id.getUserB();
+        this.updatedAt = Instant.now();
+    }
+
+    /**
+     * Build the canonical key for a pair of users in a group.
+     */
+    public static GroupPairBalanceId keyOf(String groupId, String user1, String user2) {
+        return user1.compareTo(user2) <= 0
+                ? new GroupPairBalanceId(groupId, user1, user2)
+                : new GroupPairBalanceId(groupId, user2, user1);
+    }
+
+    /**
+     * Record that fromUser owes toUser {@code amount} more (negative amounts reduce the debt).
+     */
+    public void applyDebt(String fromUserId, BigDecimal amount) {
+        this.netAmount = fromUserId.equals(userA) ? netAmount.add(amount) : netAmount.subtract(amount);
+        this.updatedAt = Instant.now();
+    }
+
+    // Getters and setters
+
+    public String getGroupId() {
+        return groupId;
+    }
+
+    public void setGroupId(String groupId) {
+        this.groupId = groupId;
+    }
+
+    public String getUserA() {
+        return userA;
+    }
+
+    public void setUserA(String userA) {
+        this.userA = userA;
+    }
+
+    public String getUserB() {
+        return userB;
+    }
+
+    public void setUserB(String userB) {
+        this.userB = userB;
+    }
+
+    public BigDecimal getNetAmount() {
+        return netAmount;
+    }
+
+    public void setNetAmount(BigDecimal netAmount) {
+        this.netAmount = netAmount;
+    }
+
+    public Instant getUpdatedAt() {
+        return updatedAt;
+    }
+
+    public void setUpdatedAt(Instant updatedAt) {
+        this.updatedAt = updatedAt;
+    }
+}
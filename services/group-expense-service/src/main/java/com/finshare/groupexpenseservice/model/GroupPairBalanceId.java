@@ -0,0 +1,53 @@
+package com.finshare.groupexpenseservice.model;
+
+import java.io.Serializable;
+import java.util.Objects;
+
+/**
+ * Composite primary key for {@link GroupPairBalance}.
+ */
+public class GroupPairBalanceId implements Serializable {
+
+    private String groupId;
+    private String userA;
+    private String userB;
+
+    /**
+     * Default constructor required by JPA.
+     */
+    public GroupPairBalanceId() {
+    }
+
+    public GroupPairBalanceId(String groupId, String userA, String userB) {
+        this.groupId = groupId;
+        this.userA = userA;
+        this.userB = userB;
+    }
+
+    // Getters
+
+    public String getGroupId() {
+        return groupId;
+    }
+
+    public String getUserA() {
+        return userA;
+    }
+
+    public String getUserB() {
+        return userB;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) return true;
+        if (!(o instanceof GroupPairBalanceId that)) return false;
+        return Objects.equals(groupId, that.groupId) && Objects.equals(userA, that.userA)
+                && Objects.equals(userB, that.userB);
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hash(groupId, userA, userB);
+    }
+}
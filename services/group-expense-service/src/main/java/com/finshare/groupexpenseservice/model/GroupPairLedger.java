@@ -0,0 +1,54 @@
+package com.finshare.groupexpenseservice.model;
+
+import jakarta.persistence.*;
+import java.time.Instant;
+
+/**
+ * Marker of a group whose pair ledger covers all of its transactions.
+ *
+ * Groups without one have expenses the ledger never saw, because they predate it or were
+ * changed while it was disabled; their ledger is rebuilt from the transactions first.
+ */
+@Entity
+@Table(name = "group_pair_ledgers")
+public class GroupPairLedger {
+
+    @Id
+    @Column(name = "group_id", nullable = false)
+    private String groupId;
+
+    @Column(nullable = false)
+    private Instant builtAt;
+
+    /**
+     * Default constructor required by JPA.
+     */
+    public GroupPairLedger() {
+    }
+
+    /**
+     * Constructor for a ledger rebuilt now.
+     */
+    public GroupPairLedger(String groupId) {
+        this.groupId = groupId;
+        this.builtAt = Instant.now();
+    }
+
+    // Getters and setters
+
+    public String getGroupId() {
+        return groupId;
+    }
+
+    public void setGroupId(String groupId) {
+        this.groupId = groupId;
+    }
+
+    public Instant getBuiltAt() {
+        return builtAt;
+    }
+
+    public void setBuiltAt(Instant builtAt) {
+        this.builtAt = builtAt;
+    }
+}
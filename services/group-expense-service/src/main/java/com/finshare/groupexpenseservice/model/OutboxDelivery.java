@@ -0,0 +1,109 @@
+package com.finshare.groupexpenseservice.model;
+
+import jakarta.persistence.*;
+import java.time.Instant;
+
+/**
+ * Delivery of an outbox event to one subscriber.
+ * Created together with the event for every subscriber accepting its type,
+ * and marked delivered once the subscriber acknowledged it, or parked once the
+ * relay gave up on it.
+ */
+@Entity
+@Table(name = "outbox_deliveries", indexes = {
+        @Index(name = "idx_outbox_deliveries_pending", columnList = "subscriber, deliveredAt, parkedAt")
+})
+public class OutboxDelivery {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long deliveryId;
+
+    @ManyToOne(fetch = FetchType.LAZY, optional = false)
+    @JoinColumn(name = "event_sequence_number", nullable = false)
+    private OutboxEvent event;
+
+    @Column(nullable = false)
+    private String subscriber;
+
+    private Instant deliveredAt;
+
+    private Instant parkedAt; // Set when the relay stopped retrying; cleared to redeliver
+
+    private int attempts = 0;
+
+    /**
+     * Default constructor required by JPA.
+     */
+    public OutboxDelivery() {
+    }
+
+    /**
+     * Constructor for creating a pending delivery.
+     */
+    public OutboxDelivery(OutboxEvent event, String subscriber) {
+        this.event = event;
+        this.subscriber = subscriber;
+    }
+
+    // Getters and setters
+
+    public Long getDeliveryId() {
+        return deliveryId;
+    }
+
+    public void setDeliveryId(Long deliveryId) {
+        this.deliveryId = deliveryId;
+    }
+
+    public OutboxEvent getEvent() {
+        return event;
+    }
+
+    public void setEvent(OutboxEvent event) {
+        this.event = event;
+    }
+
+    public String getSubscriber() {
+        return subscriber;
+    }
+
+    public void setSubscriber(String subscriber) {
+        this.subscriber = subscriber;
+    }
+
+    public Instant getDeliveredAt() {
+        return deliveredAt;
+    }
+
+    public void setDeliveredAt(Instant deliveredAt) {
+        this.deliveredAt = deliveredAt;
+    }
+
+    public Instant getParkedAt() {
+        return parkedAt;
+    }
+
+    public void setParkedAt(Instant parkedAt) {
+        this.parkedAt = parkedAt;
+    }
+
+    public int getAttempts() {
+        return attempts;
+    }
+
+    public void setAttempts(int attempts) {
+        this.attempts = attempts;
+    }
+
+    @Override
+    public String toString() {
+        return "OutboxDelivery{" +
+                "deliveryId=" + deliveryId +
+                ", subscriber='" + subscriber + '\'' +
+                ", deliveredAt=" + deliveredAt +
+                ", parkedAt=" + parkedAt +
+                ", attempts=" + attempts +
+                '}';
+    }
+}
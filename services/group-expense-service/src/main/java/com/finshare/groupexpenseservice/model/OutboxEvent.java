@@ -0,0 +1,115 @@
+package com.finshare.groupexpenseservice.model;
+
+import com.finshare.groupexpenseservice.enums.OutboxEventType;
+import jakarta.persistence.*;
+import java.time.Instant;
+import java.util.UUID;
+
+/**
+ * Outbox entry for an event that must be delivered to other services.
+ * Written in the same database transaction as the change it describes and
+ * delivered afterwards by the outbox relay, tracked per subscriber by {@link OutboxDelivery}.
+ */
+@Entity
+@Table(name = "outbox_events")
+public class OutboxEvent {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long sequenceNumber; // Delivery order
+
+    @Column(nullable = false, unique = true, updatable = false)
+    private String eventId; // Stable ID consumers use to discard redeliveries
+
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false)
+    private OutboxEventType eventType;
+
+    @Column(nullable = false)
+    private String groupId;
+
+    @Lob
+    @Column(nullable = false)
+    private String payload;
+
+    @Column(nullable = false)
+    private Instant createdAt;
+
+    /**
+     * Default constructor required by JPA.
+     */
+    public OutboxEvent() {
+    }
+
+    /**
+     * Constructor for creating a new event.
+     */
+    public OutboxEvent(OutboxEventType eventType, String groupId, String payload) {
+        this.eventId = UUID.randomUUID().toString();
+        this.eventType = eventType;
+        this.groupId = groupId;
+        this.payload = payload;
+        this.createdAt = Instant.now();
+    }
+
+    // Getters and setters
+
+    public Long getSequenceNumber() {
+        return sequenceNumber;
+    }
+
+    public void setSequenceNumber(Long sequenceNumber) {
+        this.sequenceNumber = sequenceNumber;
+    }
+
+    public String getEventId() {
+        return eventId;
+    }
+
+    public void setEventId(String eventId) {
+        this.eventId = eventId;
+    }
+
+    public OutboxEventType getEventType() {
+        return eventType;
+    }
+
+    public void setEventType(OutboxEventType eventType) {
+        this.eventType = eventType;
+    }
+
+    public String getGroupId() {
+        return groupId;
+    }
+
+    public void setGroupId(String groupId) {
+        this.groupId = groupId;
+    }
+
+    public String getPayload() {
+        return payload;
+    }
+
+    public void setPayload(String payload) {
+        this.payload = payload;
+    }
+
+    public Instant getCreatedAt() {
+        return createdAt;
+    }
+
+    public void setCreatedAt(Instant createdAt) {
+        this.createdAt = createdAt;
+    }
+
+    @Override
+    public String toString() {
+        return "OutboxEvent{" +
+                "sequenceNumber=" + sequenceNumber +
+                ", eventId='" + eventId + '\'' +
+                ", eventType=" + eventType +
+                ", groupId='" + groupId + '\'' +
+                ", createdAt=" + createdAt +
+                '}';
+    }
+}
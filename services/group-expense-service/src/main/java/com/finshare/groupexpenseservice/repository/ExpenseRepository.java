@@ -1,12 +1,15 @@
 package com.finshare.groupexpenseservice.repository;
 
+import com.finshare.groupexpenseservice.dto.ExpenseSummaryDto;
 import com.finshare.groupexpenseservice.model.Expense;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 import java.time.Instant;
+import java.util.Collection;
 import java.util.List;
 
 /**
@@ -16,12 +19,35 @@ import java.util.List;
 public interface ExpenseRepository extends JpaRepository<Expense, String> {
 
     /**
-     * Find all expenses for a specific group.
+     * Find a page of a group's expense summaries older than a position, newest first.
+     * Keyset pagination on (createdAt, expenseId), so each page costs the same however deep it is.
      *
      * @param groupId The group ID
-     * @return List of expenses for the group
+     * @param createdAt Creation time of the last expense on the previous page
+     * @param expenseId ID of the last expense on the previous page
+     * @param pageable Limits the number of expenses returned
+     * @return Summaries of the expenses after the given position
      */
-    List<Expense> findByGroupIdOrderByCreatedAtDesc(String groupId);
+    @Query("SELECT new com.finshare.groupexpenseservice.dto.ExpenseSummaryDto(e.expenseId, e.description, e.amount, " +
+           "e.category, e.splitMethod, e.createdBy, e.createdAt) FROM Expense e " +
+           "WHERE e.groupId = :groupId AND e.createdAt <= :createdAt " +
+           "AND (e.createdAt < :createdAt OR e.expenseId < :expenseId) " +
+           "ORDER BY e.createdAt DESC, e.expenseId DESC")
+    List<ExpenseSummaryDto> findSummariesBefore(@Param("groupId") String groupId,
+                                                @Param("createdAt") Instant createdAt,
+                                                @Param("expenseId") String expenseId,
+                                                Pageable pageable);
+
+    /**
+     * Find expenses by ID with their payers, in a single query.
+     * Splits are left to batch fetching: fetching both collections in one join would
+     * multiply the rows returned.
+     *
+     * @param expenseIds The expense IDs
+     * @return The expenses found, in no particular order
+     */
+    @Query("SELECT DISTINCT e FROM Expense e LEFT JOIN FETCH e.paidBy WHERE e.expenseId IN :expenseIds")
+    List<Expense> findWithPayersByExpenseIdIn(@Param("expenseIds") Collection<String> expenseIds);
 
     /**
      * Find all recurring expenses that are due for processing.
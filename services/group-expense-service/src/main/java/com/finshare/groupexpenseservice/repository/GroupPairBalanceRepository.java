@@ -0,0 +1,34 @@
+package com.finshare.groupexpenseservice.repository;
+
+import com.finshare.groupexpenseservice.model.GroupPairBalance;
+import com.finshare.groupexpenseservice.model.GroupPairBalanceId;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.util.List;
+
+/**
+ * Repository interface for GroupPairBalance entities.
+ */
+@Repository
+public interface GroupPairBalanceRepository extends JpaRepository<GroupPairBalance, GroupPairBalanceId> {
+
+    /**
+     * Find the pairs of a group that still owe each other something.
+     *
+     * @param groupId The group ID
+     * @return List of non-zero pair balances
+     */
+    @Query("SELECT p FROM GroupPairBalance p WHERE p.groupId = :groupId AND p.netAmount <> 0 ORDER BY p.userA, p.userB")
+    List<GroupPairBalance> findOutstandingByGroupId(@Param("groupId") String groupId);
+
+    /**
+     * Find all pair balances of a group, including settled ones.
+     *
+     * @param groupId The group ID
+     * @return List of pair balances
+     */
+    List<GroupPairBalance> findByGroupId(String groupId);
+}
@@ -0,0 +1,27 @@
+package com.finshare.groupexpenseservice.repository;
+
+import com.finshare.groupexpenseservice.model.GroupPairLedger;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.util.Collection;
+
+/**
+ * Repository interface for GroupPairLedger entities.
+ */
+@Repository
+public interface GroupPairLedgerRepository extends JpaRepository<GroupPairLedger, String> {
+
+    /**
+     * Forget that the groups' pair ledgers are complete, so they are rebuilt before next use.
+     *
+     * @param groupIds The group IDs
+     * @return Number of markers removed
+     */
+    @Modifying
+    @Query("DELETE FROM GroupPairLedger l WHERE l.groupId IN :groupIds")
+    int deleteByGroupIds(@Param("groupIds") Collection<String> groupIds);
+}
@@ -1,12 +1,15 @@
 package com.finshare.groupexpenseservice.repository;
 
 import com.finshare.groupexpenseservice.model.Group;
+import jakarta.persistence.LockModeType;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 import java.util.List;
+import java.util.Optional;
 
 /**
  * Repository interface for Group entities.
@@ -32,4 +35,11 @@ public interface GroupRepository extends JpaRepository<Group, String> {
      */
     @Query("SELECT COUNT(g) > 0 FROM Group g JOIN g.memberIds m WHERE g.groupId = :groupId AND m = :userId")
     boolean isUserMemberOfGroup(@Param("groupId") String groupId, @Param("userId") String userId);
-}
\ No newline at end of file
+
+    /**
+     * Find a group, locking its row for the remainder of the transaction.
+     */
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("SELECT g FROM Group g WHERE g.groupId = :groupId")
+    Optional<Group> findForUpdate(@Param("groupId") String groupId);
+}
@@ -0,0 +1,65 @@
+package com.finshare.groupexpenseservice.repository;
+
+import com.finshare.groupexpenseservice.model.OutboxDelivery;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.Instant;
+import java.util.List;
+
+/**
+ * Repository interface for OutboxDelivery entities.
+ */
+@Repository
+public interface OutboxDeliveryRepository extends JpaRepository<OutboxDelivery, Long> {
+
+    /**
+     * Find the oldest pending deliveries for a subscriber, with their events.
+     * Parked deliveries are not pending.
+     *
+     * @param subscriber The subscriber name
+     * @param pageable Limits the number of deliveries returned
+     * @return Pending deliveries in event order
+     */
+    @Query("SELECT d FROM OutboxDelivery d JOIN FETCH d.event e " +
+           "WHERE d.subscriber = :subscriber AND d.deliveredAt IS NULL AND d.parkedAt IS NULL " +
+           "ORDER BY e.sequenceNumber ASC")
+    List<OutboxDelivery> findPending(@Param("subscriber") String subscriber, Pageable pageable);
+
+    /**
+     * Mark deliveries as delivered.
+     *
+     * @param deliveryIds The IDs of the acknowledged deliveries
+     * @param deliveredAt The delivery time
+     * @return Number of deliveries updated
+     */
+    @Modifying
+    @Query("UPDATE OutboxDelivery d SET d.deliveredAt = :deliveredAt WHERE d.deliveryId IN :deliveryIds")
+    int markDelivered(@Param("deliveryIds") List<Long> deliveryIds, @Param("deliveredAt") Instant deliveredAt);
+
+    /**
+     * Record a failed delivery attempt.
+     *
+     * @param deliveryIds The IDs of the deliveries that could not be made
+     * @return Number of deliveries updated
+     */
+    @Modifying
+    @Query("UPDATE OutboxDelivery d SET d.attempts = d.attempts + 1 WHERE d.deliveryId IN :deliveryIds")
+    int incrementAttempts(@Param("deliveryIds") List<Long> deliveryIds);
+
+    /**
+     * Stop retrying a delivery after its final failed attempt.
+     *
+     * @param deliveryId The ID of the delivery to park
+     * @param parkedAt The time the relay gave up
+     * @return Number of deliveries updated
+     */
+    @Modifying
+    @Query("UPDATE OutboxDelivery d SET d.attempts = d.attempts + 1, d.parkedAt = :parkedAt " +
+           "WHERE d.deliveryId = :deliveryId")
+    int markParked(@Param("deliveryId") Long deliveryId, @Param("parkedAt") Instant parkedAt);
+}
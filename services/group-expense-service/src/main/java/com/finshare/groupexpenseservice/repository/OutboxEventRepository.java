@@ -0,0 +1,12 @@
+package com.finshare.groupexpenseservice.repository;
+
+import com.finshare.groupexpenseservice.model.OutboxEvent;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.stereotype.Repository;
+
+/**
+ * Repository interface for OutboxEvent entities.
+ */
+@Repository
+public interface OutboxEventRepository extends JpaRepository<OutboxEvent, Long> {
+}
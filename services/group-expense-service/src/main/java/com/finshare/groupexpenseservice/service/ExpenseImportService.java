@@ -0,0 +1,352 @@
+package com.finshare.groupexpenseservice.service;
+
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.finshare.groupexpenseservice.dto.BulkExpenseResultDto;
+import com.finshare.groupexpenseservice.dto.CreateExpenseDto;
+import com.finshare.groupexpenseservice.enums.OutboxEventType;
+import com.finshare.groupexpenseservice.exception.GroupNotFoundException;
+import com.finshare.groupexpenseservice.exception.ImportTooLargeException;
+import com.finshare.groupexpenseservice.exception.UnauthorizedAccessException;
+import com.finshare.groupexpenseservice.mapper.ExpenseMapper;
+import com.finshare.groupexpenseservice.model.Expense;
+import com.finshare.groupexpenseservice.model.ExpensePayer;
+import com.finshare.groupexpenseservice.model.ExpenseSplit;
+import com.finshare.groupexpenseservice.model.Group;
+import com.finshare.groupexpenseservice.model.Transaction;
+import com.finshare.groupexpenseservice.repository.ExpenseRepository;
+import com.finshare.groupexpenseservice.repository.GroupRepository;
+import com.finshare.groupexpenseservice.repository.TransactionRepository;
+import jakarta.persistence.EntityManager;
+import jakarta.validation.ConstraintViolation;
+import jakarta.validation.Validator;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.TreeSet;
+
+/**
+ * Service importing many expenses into a group at once, such as when migrating from another app.
+ *
+ * Items are validated and split in parallel, then the valid ones are saved in chunks, each
+ * in its own database transaction with inserts sent as JDBC batches. An item that fails
+ * validation is reported and skipped without affecting the others; if saving a chunk
+ * fails, only the items of that chunk are reported as failed. Each saved expense records
+ * the same outbox events as one created through {@link ExpenseService}.
+ *
+ * Request bodies are read one expense at a time, so an import over {@code max-items} is
+ * refused as soon as the extra expense is reached, whatever its content type.
+ */
+@Service
+public class ExpenseImportService {
+
+    private static final Logger logger = LoggerFactory.getLogger(ExpenseImportService.class);
+
+    private final GroupRepository groupRepository;
+    private final ExpenseRepository expenseRepository;
+    private final TransactionRepository transactionRepository;
+    private final ExpenseSplitCalculator splitCalculator;
+    private final ExpenseTransactionCalculator transactionCalculator;
+    private final ExpenseMapper expenseMapper;
+    private final OutboxEventPublisher outboxEventPublisher;
+    private final PairLedgerService pairLedgerService;
+    private final Validator validator;
+    private final ObjectMapper objectMapper;
+    private final TransactionTemplate transactionTemplate;
+    private final EntityManager entityManager;
+    private final int maxItems;
+    private final int chunkSize;
+
+    public ExpenseImportService(GroupRepository groupRepository,
+                                ExpenseRepository expenseRepository,
+                                TransactionRepository transactionRepository,
+                                ExpenseSplitCalculator splitCalculator,
+                                ExpenseTransactionCalculator transactionCalculator,
+                                ExpenseMapper expenseMapper,
+                                OutboxEventPublisher outboxEventPublisher,
+                                PairLedgerService pairLedgerService,
+                                Validator validator,
+                                ObjectMapper objectMapper,
+                                TransactionTemplate transactionTemplate,
+                                EntityManager entityManager,
+                                @Value("${finshare.expenses.bulk.max-items:5000}") int maxItems,
+                                @Value("${finshare.expenses.bulk.chunk-size:200}") int chunkSize) {
+        this.groupRepository = groupRepository;
+        this.expenseRepository = expenseRepository;
+        this.transactionRepository = transactionRepository;
+        this.splitCalculator = splitCalculator;
+        this.transactionCalculator = transactionCalculator;
+        this.expenseMapper = expenseMapper;
+        this.outboxEventPublisher = outboxEventPublisher;
+        this.pairLedgerService = pairLedgerService;
+        this.validator = validator;
+        this.objectMapper = objectMapper;
+        this.transactionTemplate = transactionTemplate;
+        this.entityManager = entityManager;
+        this.maxItems = maxItems;
+        this.chunkSize = chunkSize;
+    }
+
+    /**
+     * Import expenses given as a JSON array.
+     *
+     * An element that is not a valid expense is reported as a failed item; a body that
+     * is not a JSON array is rejected as a whole.
+     *
+     * @param groupId The group ID
+     * @param body The request body
+     * @param authenticatedUserId The authenticated user's ID, recorded as creator of every expense
+     * @return The outcome of every item, in request order
+     * @throws ImportTooLargeException if there are more expenses than one import may hold
+     */
+    public BulkExpenseResultDto importJson(String groupId, InputStream body, String authenticatedUserId) {
+        List<ImportItem> items = new ArrayList<>();
+        try (JsonParser parser = objectMapper.getFactory().createParser(body)) {
+            if (parser.nextToken() != JsonToken.START_ARRAY) {
+                throw new IllegalArgumentException("Expected a JSON array of expenses");
+            }
+            while (parser.nextToken() != JsonToken.END_ARRAY) {
+                checkLimit(items.size() + 1);
+                JsonNode element = objectMapper.readTree(parser);
+                try {
+                    items.add(new ImportItem(items.size(), objectMapper.treeToValue(element, CreateExpenseDto.class)));
+                } catch (JsonProcessingException e) {
+                    items.add(malformed(items.size(), e));
+                }
+            }
+        } catch (JsonProcessingException e) {
+            throw new IllegalArgumentException("Malformed JSON array of expenses: " + e.getOriginalMessage(), e);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Failed to read the expenses to import", e);
+        }
+
+        if (items.isEmpty()) {
+            throw new IllegalArgumentException("At least one expense is required");
+        }
+        return importItems(groupId, items, authenticatedUserId);
+    }
+
+    /**
+     * Import expenses given as newline-delimited JSON, one expense per line.
+     *
+     * Blank lines are skipped; a line that is not a valid expense is reported as a failed
+     * item, and its index counts only the non-blank lines before it.
+     *
+     * @param groupId The group ID
+     * @param body The request body
+     * @param authenticatedUserId The authenticated user's ID, recorded as creator of every expense
+     * @return The outcome of every item, in request order
+     * @throws ImportTooLargeException if there are more expenses than one import may hold
+     */
+    public BulkExpenseResultDto importNdjson(String groupId, InputStream body, String authenticatedUserId) {
+        List<ImportItem> items = new ArrayList<>();
+        try (BufferedReader reader = new BufferedReader(new InputStreamReader(body, StandardCharsets.UTF_8))) {
+            String line;
+            while ((line = reader.readLine()) != null) {
+                if (line.isBlank()) {
+                    continue;
+                }
+                checkLimit(items.size() + 1);
+                try {
+                    items.add(new ImportItem(items.size(), objectMapper.readValue(line, CreateExpenseDto.class)));
+                } catch (JsonProcessingException e) {
+                    items.add(malformed(items.size(), e));
+                }
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException("Failed to read the expenses to import", e);
+        }
+
+        if (items.isEmpty()) {
+            throw new IllegalArgumentException("At least one expense is required");
+        }
+        return importItems(groupId, items, authenticatedUserId);
+    }
+
+    private void checkLimit(int count) {
+        if (count > maxItems) {
+            throw new ImportTooLargeException("At most " + maxItems + " expenses can be imported at once");
+        }
+    }
+
+    private static ImportItem malformed(int index, JsonProcessingException e) {
+        ImportItem item = new ImportItem(index, null);
+        item.error = "Malformed expense: " + e.getOriginalMessage();
+        return item;
+    }
+
+    private BulkExpenseResultDto importItems(String groupId, List<ImportItem> items, String authenticatedUserId) {
+        logger.debug("Importing {} expenses into group: {} by user: {}", items.size(), groupId, authenticatedUserId);
+
+        List<String> memberIds = transactionTemplate.execute(status -> {
+            Group group = groupRepository.findById(groupId)
+                    .orElseThrow(() -> new GroupNotFoundException("Group not found with ID: " + groupId));
+            if (!group.getMemberIds().contains(authenticatedUserId)) {
+                throw new UnauthorizedAccessException("User is not a member of this group");
+            }
+            return List.copyOf(group.getMemberIds());
+        });
+
+        // Validation and splitting only touch the item itself, so they can run side by side
+        items.parallelStream()
+                .filter(item -> item.error == null)
+                .forEach(item -> prepare(item, memberIds));
+
+        List<ImportItem> valid = items.stream().filter(item -> item.error == null).toList();
+        for (int start = 0; start < valid.size(); start += chunkSize) {
+            List<ImportItem> chunk = valid.subList(start, Math.min(start + chunkSize, valid.size()));
+            try {
+                transactionTemplate.executeWithoutResult(status -> saveChunk(groupId, chunk, authenticatedUserId));
+            } catch (RuntimeException e) {
+                // Whatever went wrong, the chunk's transaction was rolled back and the others stand
+                logger.warn("Failed to save {} imported expenses for group: {}", chunk.size(), groupId, e);
+                for (ImportItem item : chunk) {
+                    item.expenseId = null;
+                    item.error = "Could not be saved";
+                }
+            }
+        }
+
+        List<BulkExpenseResultDto.ItemResultDto> results = new ArrayList<>(items.size());
+        for (ImportItem item : items) {
+            results.add(new BulkExpenseResultDto.ItemResultDto(item.index, item.expenseId, item.error));
+        }
+        BulkExpenseResultDto result = new BulkExpenseResultDto(results);
+
+        logger.info("Imported {} of {} expenses into group: {}", result.getCreated(), items.size(), groupId);
+        return result;
+    }
+
+    /**
+     * Validate an item and calculate its splits, or record why it cannot be imported.
+     */
+    private void prepare(ImportItem item, List<String> memberIds) {
+        CreateExpenseDto expense = item.expense;
+
+        // Check the payers and split as well, which a single create leaves unchecked
+        Set<String> violations = new TreeSet<>(messages(validator.validate(expense)));
+        if (expense.getPaidBy() != null) {
+            if (expense.getPaidBy().isEmpty()) {
+                violations.add("At least one payer is required");
+            }
+            for (CreateExpenseDto.PayerDto payer : expense.getPaidBy()) {
+                if (payer == null) {
+                    violations.add("Payer is empty");
+                } else {
+                    violations.addAll(messages(validator.validate(payer)));
+                }
+            }
+        }
+        if (expense.getSplit() != null) {
+            violations.addAll(messages(validator.validate(expense.getSplit())));
+        }
+        if (!violations.isEmpty()) {
+            item.error = String.join("; ", violations);
+            return;
+        }
+
+        try {
+            item.splits = splitCalculator.calculateSplits(
+                    expense.getAmount(),
+                    expense.getSplit().getMethod(),
+                    expense.getSplit().getDetails(),
+                    memberIds
+            );
+        } catch (IllegalArgumentException e) {
+            item.error = e.getMessage();
+        }
+    }
+
+    /**
+     * Save a chunk of prepared items with their transactions and outbox events.
+     */
+    private void saveChunk(String groupId, List<ImportItem> chunk, String authenticatedUserId) {
+        List<Expense> expenses = new ArrayList<>(chunk.size());
+        for (ImportItem item : chunk) {
+            expenses.add(toExpense(groupId, item, authenticatedUserId));
+        }
+        expenseRepository.saveAll(expenses);
+
+        List<Transaction> transactions = new ArrayList<>();
+        for (Expense expense : expenses) {
+            transactions.addAll(transactionCalculator.calculateTransactions(expense));
+        }
+        transactions = transactionRepository.saveAll(transactions);
+        outboxEventPublisher.publishTransactionsCreated(transactions);
+        pairLedgerService.applyChange(List.of(), transactions);
+
+        for (int i = 0; i < chunk.size(); i++) {
+            outboxEventPublisher.publishExpense(OutboxEventType.EXPENSE_CREATED,
+                    expenseMapper.toExpenseDto(expenses.get(i)));
+            chunk.get(i).expenseId = expenses.get(i).getExpenseId();
+        }
+
+        // Write the chunk out and let it go, so the persistence context stays chunk-sized
+        entityManager.flush();
+        entityManager.clear();
+    }
+
+    private Expense toExpense(String groupId, ImportItem item, String authenticatedUserId) {
+        CreateExpenseDto dto = item.expense;
+        Expense expense = new Expense(
+                groupId,
+                dto.getDescription(),
+                dto.getAmount(),
+                dto.getCategory(),
+                dto.getSplit().getMethod(),
+                authenticatedUserId
+        );
+        expense.setRecurring(dto.isRecurring());
+        expense.setRecurrenceRule(dto.getRecurrenceRule());
+
+        List<ExpensePayer> payers = new ArrayList<>();
+        for (CreateExpenseDto.PayerDto payerDto : dto.getPaidBy()) {
+            payers.add(new ExpensePayer(expense, payerDto.getUserId(), payerDto.getAmount()));
+        }
+        expense.setPaidBy(payers);
+
+        for (ExpenseSplit split : item.splits) {
+            split.setExpense(expense);
+        }
+        expense.setSplits(item.splits);
+        return expense;
+    }
+
+    private static List<String> messages(Set<? extends ConstraintViolation<?>> violations) {
+        return violations.stream().map(ConstraintViolation::getMessage).toList();
+    }
+
+    /**
+     * One expense of an import and what became of it.
+     */
+    private static class ImportItem {
+        final int index;
+        final CreateExpenseDto expense;
+        List<ExpenseSplit> splits;
+        String expenseId;
+        String error;
+
+        ImportItem(int index, CreateExpenseDto expense) {
+            this.index = index;
+            this.expense = expense;
+            if (expense == null) {
+                error = "Expense is empty";
+            }
+        }
+    }
+}
@@ -1,8 +1,13 @@
 package com.finshare.groupexpenseservice.service;
 
 import com.finshare.groupexpenseservice.dto.CreateExpenseDto;
+import com.finshare.groupexpenseservice.dto.ExpenseDetailsPageDto;
 import com.finshare.groupexpenseservice.dto.ExpenseDto;
+import com.finshare.groupexpenseservice.dto.ExpenseFeedDto;
+import com.finshare.groupexpenseservice.dto.ExpenseSummaryDto;
+import com.finshare.groupexpenseservice.dto.PairBalanceDto;
 import com.finshare.groupexpenseservice.dto.UpdateExpenseDto;
+import com.finshare.groupexpenseservice.enums.OutboxEventType;
 import com.finshare.groupexpenseservice.exception.ExpenseNotFoundException;
 import com.finshare.groupexpenseservice.exception.GroupNotFoundException;
 import com.finshare.groupexpenseservice.exception.UnauthorizedAccessException;
@@ -14,21 +19,31 @@ import com.finshare.groupexpenseservice.repository.TransactionRepository;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
-import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.time.Instant;
+import java.time.format.DateTimeParseException;
+import java.time.temporal.ChronoUnit;
 import java.util.ArrayList;
+import java.util.Base64;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.Objects;
 
 /**
  * Service class for managing expense operations with transactional integrity.
+ * Every change is also recorded as outbox events in the same transaction.
  */
 @Service
 @Transactional
 public class ExpenseService {
 
     private static final Logger logger = LoggerFactory.getLogger(ExpenseService.class);
+    private static final int MAX_FEED_PAGE_SIZE = 100;
 
     @Autowired
     private ExpenseRepository expenseRepository;
@@ -42,9 +57,18 @@ public class ExpenseService {
     @Autowired
     private ExpenseSplitCalculator splitCalculator;
 
+    @Autowired
+    private ExpenseTransactionCalculator transactionCalculator;
+
     @Autowired
     private ExpenseMapper expenseMapper;
 
+    @Autowired
+    private OutboxEventPublisher outboxEventPublisher;
+
+    @Autowired
+    private PairLedgerService pairLedgerService;
+
     /**
      * Create a new expense with transactional integrity.
      *
@@ -105,13 +129,18 @@ public class ExpenseService {
         savedExpense = expenseRepository.save(savedExpense);
         
         // Create transactions (debt relationships)
-        List<Transaction> transactions = calculateTransactions(savedExpense);
-        transactionRepository.saveAll(transactions);
+        List<Transaction> transactions = transactionRepository.saveAll(
+                transactionCalculator.calculateTransactions(savedExpense));
+        outboxEventPublisher.publishTransactionsCreated(transactions);
+        pairLedgerService.applyChange(List.of(), transactions);
+        
+        ExpenseDto expenseDto = expenseMapper.toExpenseDto(savedExpense);
+        outboxEventPublisher.publishExpense(OutboxEventType.EXPENSE_CREATED, expenseDto);
         
         logger.info("Successfully created expense '{}' with {} splits and {} transactions", 
                    savedExpense.getDescription(), splits.size(), transactions.size());
         
-        return expenseMapper.toExpenseDto(savedExpense);
+        return expenseDto;
     }
 
     /**
@@ -139,7 +168,7 @@ public class ExpenseService {
         }
         
         // Delete existing transactions
-        transactionRepository.deleteByExpenseId(expenseId);
+        List<Transaction> previousTransactions = deleteTransactions(expenseId);
         
         // Update expense fields
         if (updateExpenseDto.getDescription() != null) {
@@ -189,11 +218,16 @@ public class ExpenseService {
         Expense savedExpense = expenseRepository.save(expense);
         
         // Recalculate and create new transactions
-        List<Transaction> transactions = calculateTransactions(savedExpense);
-        transactionRepository.saveAll(transactions);
+        List<Transaction> transactions = transactionRepository.saveAll(
+                transactionCalculator.calculateTransactions(savedExpense));
+        outboxEventPublisher.publishTransactionsCreated(transactions);
+        pairLedgerService.applyChange(previousTransactions, transactions);
+        
+        ExpenseDto expenseDto = expenseMapper.toExpenseDto(savedExpense);
+        outboxEventPublisher.publishExpense(OutboxEventType.EXPENSE_UPDATED, expenseDto);
         
         logger.info("Successfully updated expense: {}", expenseId);
-        return expenseMapper.toExpenseDto(savedExpense);
+        return expenseDto;
     }
 
     /**
@@ -214,35 +248,74 @@ public class ExpenseService {
         }
         
         // Delete associated transactions
-        transactionRepository.deleteByExpenseId(expenseId);
+        pairLedgerService.applyChange(deleteTransactions(expenseId), List.of());
         
         // Delete expense
+        outboxEventPublisher.publishExpense(OutboxEventType.EXPENSE_DELETED, expenseMapper.toExpenseDto(expense));
         expenseRepository.delete(expense);
         
         logger.info("Successfully deleted expense: {}", expenseId);
     }
 
     /**
-     * Get all expenses for a group.
+     * Get a page of a group's expense feed, newest first.
      *
      * @param groupId The group ID
+     * @param cursor The nextCursor of the previous page, or null for the first page
+     * @param limit Maximum number of expenses to return
      * @param authenticatedUserId The authenticated user's ID
-     * @return List of expenses for the group
+     * @return Expense summaries and the cursor for the following page
      */
-    public List<ExpenseDto> getGroupExpenses(String groupId, String authenticatedUserId) {
+    @Transactional(readOnly = true)
+    public ExpenseFeedDto getGroupExpenses(String groupId, String cursor, int limit, String authenticatedUserId) {
         logger.debug("Getting expenses for group: {} by user: {}", groupId, authenticatedUserId);
         
-        Group group = findGroupById(groupId);
-        if (!group.getMemberIds().contains(authenticatedUserId)) {
-            throw new UnauthorizedAccessException("User is not a member of this group");
+        ExpenseFeedDto feed = readFeedPage(groupId, cursor, limit, authenticatedUserId);
+        logger.debug("Found {} expenses for group: {}", feed.getExpenses().size(), groupId);
+        
+        return feed;
+    }
+
+    /**
+     * Get a page of a group's expenses with their payers and splits, newest first.
+     *
+     * Loads in two phases so the query count per page is fixed: the keyset query picks the
+     * page's expense IDs, then one query fetches those expenses with their payers and one
+     * batch fetch loads all their splits.
+     *
+     * @param groupId The group ID
+     * @param cursor The nextCursor of the previous page, or null for the first page
+     * @param limit Maximum number of expenses to return
+     * @param authenticatedUserId The authenticated user's ID
+     * @return Full expenses and the cursor for the following page
+     */
+    @Transactional(readOnly = true)
+    public ExpenseDetailsPageDto getGroupExpenseDetails(String groupId, String cursor, int limit,
+                                                        String authenticatedUserId) {
+        logger.debug("Getting expense details for group: {} by user: {}", groupId, authenticatedUserId);
+        
+        ExpenseFeedDto feed = readFeedPage(groupId, cursor, limit, authenticatedUserId);
+        List<String> expenseIds = feed.getExpenses().stream()
+                .map(ExpenseSummaryDto::getExpenseId)
+                .toList();
+        if (expenseIds.isEmpty()) {
+            return new ExpenseDetailsPageDto(List.of(), feed.getNextCursor());
         }
         
-        List<Expense> expenses = expenseRepository.findByGroupIdOrderByCreatedAtDesc(groupId);
-        logger.debug("Found {} expenses for group: {}", expenses.size(), groupId);
+        Map<String, Expense> expensesById = new HashMap<>();
+        for (Expense expense : expenseRepository.findWithPayersByExpenseIdIn(expenseIds)) {
+            expensesById.put(expense.getExpenseId(), expense);
+        }
         
-        return expenses.stream()
+        // Keep the feed order; an expense deleted between the two phases is skipped
+        List<ExpenseDto> expenses = expenseIds.stream()
+                .map(expensesById::get)
+                .filter(Objects::nonNull)
                 .map(expenseMapper::toExpenseDto)
                 .toList();
+        logger.debug("Found {} expenses with details for group: {}", expenses.size(), groupId);
+        
+        return new ExpenseDetailsPageDto(expenses, feed.getNextCursor());
     }
 
     /**
@@ -267,45 +340,91 @@ public class ExpenseService {
     }
 
     /**
-     * Calculate transactions (debt relationships) from an expense.
+     * Get what each pair of members in a group owes the other, after netting all expenses.
+     *
+     * @param groupId The group ID
+     * @param authenticatedUserId The authenticated user's ID
+     * @return One entry per pair with an outstanding debt
      */
-    private List<Transaction> calculateTransactions(Expense expense) {
-        List<Transaction> transactions = new ArrayList<>();
+    @Transactional(readOnly = true)
+    public List<PairBalanceDto> getGroupPairBalances(String groupId, String authenticatedUserId) {
+        logger.debug("Getting pair balances for group: {} by user: {}", groupId, authenticatedUserId);
         
-        // For each split, create transactions from split participants to payers
-        for (ExpenseSplit split : expense.getSplits()) {
-            String owingUserId = split.getUserId();
-            BigDecimal owedAmount = split.getAmount();
-            
-            // Distribute the owed amount among payers proportionally
-            BigDecimal totalPaid = expense.getPaidBy().stream()
-                    .map(ExpensePayer::getAmount)
-                    .reduce(BigDecimal.ZERO, BigDecimal::add);
-            
-            for (ExpensePayer payer : expense.getPaidBy()) {
-                if (!payer.getUserId().equals(owingUserId)) {
-                    // Calculate proportional amount owed to this payer
-                    BigDecimal payerProportion = payer.getAmount().divide(totalPaid, 4, BigDecimal.ROUND_HALF_UP);
-                    BigDecimal amountOwedToPayer = owedAmount.multiply(payerProportion)
-                            .setScale(2, BigDecimal.ROUND_HALF_UP);
-                    
-                    if (amountOwedToPayer.compareTo(BigDecimal.ZERO) > 0) {
-                        Transaction transaction = new Transaction(
-                                expense.getExpenseId(),
-                                expense.getGroupId(),
-                                owingUserId,
-                                payer.getUserId(),
-                                amountOwedToPayer
-                        );
-                        transactions.add(transaction);
-                    }
-                }
-            }
+        Group group = findGroupById(groupId);
+        if (!group.getMemberIds().contains(authenticatedUserId)) {
+            throw new UnauthorizedAccessException("User is not a member of this group");
+        }
+        
+        return pairLedgerService.getPairBalances(groupId);
+    }
+
+    /**
+     * Read one page of expense summaries after checking the user may see the group.
+     */
+    private ExpenseFeedDto readFeedPage(String groupId, String cursor, int limit, String authenticatedUserId) {
+        if (limit < 1 || limit > MAX_FEED_PAGE_SIZE) {
+            throw new IllegalArgumentException("limit must be between 1 and " + MAX_FEED_PAGE_SIZE);
         }
         
+        Group group = findGroupById(groupId);
+        if (!group.getMemberIds().contains(authenticatedUserId)) {
+            throw new UnauthorizedAccessException("User is not a member of this group");
+        }
+        
+        FeedCursor position = cursor != null ? FeedCursor.decode(cursor) : FeedCursor.START;
+        // Fetch one extra row to learn whether another page follows
+        List<ExpenseSummaryDto> expenses = expenseRepository.findSummariesBefore(
+                groupId, position.createdAt(), position.expenseId(), PageRequest.of(0, limit + 1));
+        
+        String nextCursor = null;
+        if (expenses.size() > limit) {
+            expenses = expenses.subList(0, limit);
+            ExpenseSummaryDto last = expenses.get(limit - 1);
+            nextCursor = new FeedCursor(last.getCreatedAt(), last.getExpenseId()).encode();
+        }
+        return new ExpenseFeedDto(List.copyOf(expenses), nextCursor);
+    }
+
+    /**
+     * Delete all transactions of an expense and record their deletion in the outbox.
+     *
+     * @return The deleted transactions
+     */
+    private List<Transaction> deleteTransactions(String expenseId) {
+        List<Transaction> transactions = transactionRepository.findByExpenseId(expenseId);
+        outboxEventPublisher.publishTransactionsDeleted(transactions);
+        transactionRepository.deleteAll(transactions);
         return transactions;
     }
 
+    /**
+     * Position in a group's expense feed: the last expense returned so far.
+     */
+    private record FeedCursor(Instant createdAt, String expenseId) {
+
+        /** Sorts before every real expense, so the first page starts at the newest one. */
+        static final FeedCursor START = new FeedCursor(Instant.parse("9999-12-31T23:59:59Z"), "");
+
+        String encode() {
+            // Stored timestamps keep microseconds, so compare against the same precision
+            String value = createdAt.truncatedTo(ChronoUnit.MICROS) + " " + expenseId;
+            return Base64.getUrlEncoder().withoutPadding().encodeToString(value.getBytes(StandardCharsets.UTF_8));
+        }
+
+        static FeedCursor decode(String cursor) {
+            try {
+                String value = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8);
+                int separator = value.indexOf(' ');
+                if (separator < 0) {
+                    throw new IllegalArgumentException("Invalid cursor");
+                }
+                return new FeedCursor(Instant.parse(value.substring(0, separator)), value.substring(separator + 1));
+            } catch (IllegalArgumentException | DateTimeParseException e) {
+                throw new IllegalArgumentException("Invalid cursor", e);
+            }
+        }
+    }
+
     /**
      * Find group by ID or throw exception if not found.
      */
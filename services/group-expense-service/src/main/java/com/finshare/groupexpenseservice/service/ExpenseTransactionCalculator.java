@@ -0,0 +1,107 @@
+package com.finshare.groupexpenseservice.service;
+
+import com.finshare.groupexpenseservice.model.Expense;
+import com.finshare.groupexpenseservice.model.ExpensePayer;
+import com.finshare.groupexpenseservice.model.ExpenseSplit;
+import com.finshare.groupexpenseservice.model.Transaction;
+import org.springframework.stereotype.Service;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Service for deriving the debt relationships (transactions) created by an expense.
+ */
+@Service
+public class ExpenseTransactionCalculator {
+
+    /**
+     * Calculate transactions (debt relationships) from an expense.
+     *
+     * Each participant's share is divided among the payers in proportion to what they paid,
+     * in whole cents: every payer first gets the rounded-down amount, then the cents left
+     * over go to the payers with the largest fractional parts, so the parts always add up
+     * to the share exactly. The part a payer would owe themselves is dropped, and the
+     * result holds at most one transaction per (participant, payer) pair.
+     *
+     * @param expense The expense with its payers and splits populated
+     * @return List of transactions from split participants to payers
+     */
+    public List<Transaction> calculateTransactions(Expense expense) {
+        // Totals per payer and per participant, computed once for the whole expense
+        Map<String, Long> paidCents = new LinkedHashMap<>();
+        for (ExpensePayer payer : expense.getPaidBy()) {
+            paidCents.merge(payer.getUserId(), toCents(payer.getAmount()), Long::sum);
+        }
+        Map<String, Long> owedCents = new LinkedHashMap<>();
+        for (ExpenseSplit split : expense.getSplits()) {
+            owedCents.merge(split.getUserId(), toCents(split.getAmount()), Long::sum);
+        }
+
+        String[] payerIds = paidCents.keySet().toArray(new String[0]);
+        long[] paid = new long[payerIds.length];
+        long totalPaid = 0;
+        for (int i = 0; i < payerIds.length; i++) {
+            paid[i] = paidCents.get(payerIds[i]);
+            totalPaid += paid[i];
+        }
+        if (totalPaid <= 0) {
+            return List.of();
+        }
+
+        List<Transaction> transactions = new ArrayList<>();
+        long[] parts = new long[payerIds.length];
+        long[] remainders = new long[payerIds.length];
+        for (Map.Entry<String, Long> participant : owedCents.entrySet()) {
+            String owingUserId = participant.getKey();
+            allocate(participant.getValue(), paid, totalPaid, parts, remainders);
+
+            for (int i = 0; i < payerIds.length; i++) {
+                if (parts[i] > 0 && !payerIds[i].equals(owingUserId)) {
+                    transactions.add(new Transaction(
+                            expense.getExpenseId(),
+                            expense.getGroupId(),
+                            owingUserId,
+                            payerIds[i],
+                            BigDecimal.valueOf(parts[i], 2)
+                    ));
+                }
+            }
+        }
+
+        return transactions;
+    }
+
+    /**
+     * Split {@code owed} cents in proportion to {@code paid}, writing the parts into {@code parts}.
+     * The parts sum to {@code owed}; leftover cents go to the largest remainders, earlier payers first on ties.
+     */
+    private static void allocate(long owed, long[] paid, long totalPaid, long[] parts, long[] remainders) {
+        long assigned = 0;
+        for (int i = 0; i < paid.length; i++) {
+            long product = Math.multiplyExact(owed, paid[i]);
+            parts[i] = Math.floorDiv(product, totalPaid);
+            remainders[i] = Math.floorMod(product, totalPaid);
+            assigned += parts[i];
+        }
+
+        for (long leftover = owed - assigned; leftover > 0; leftover--) {
+            int largest = 0;
+            for (int i = 1; i < paid.length; i++) {
+                if (remainders[i] > remainders[largest]) {
+                    largest = i;
+                }
+            }
+            parts[largest]++;
+            remainders[largest] = -1; // At most one extra cent per payer
+        }
+    }
+
+    private static long toCents(BigDecimal amount) {
+        return amount.setScale(2, RoundingMode.HALF_UP).unscaledValue().longValueExact();
+    }
+}
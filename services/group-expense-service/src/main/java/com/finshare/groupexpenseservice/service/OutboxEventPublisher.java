@@ -0,0 +1,103 @@
+package com.finshare.groupexpenseservice.service;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.finshare.groupexpenseservice.config.OutboxProperties;
+import com.finshare.groupexpenseservice.dto.ExpenseDto;
+import com.finshare.groupexpenseservice.dto.TransactionPayloadDto;
+import com.finshare.groupexpenseservice.enums.OutboxEventType;
+import com.finshare.groupexpenseservice.model.OutboxDelivery;
+import com.finshare.groupexpenseservice.model.OutboxEvent;
+import com.finshare.groupexpenseservice.model.Transaction;
+import com.finshare.groupexpenseservice.repository.OutboxDeliveryRepository;
+import com.finshare.groupexpenseservice.repository.OutboxEventRepository;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Service for recording expense and transaction change events in the outbox.
+ * Must be called within the transaction that makes the change, so an event
+ * exists if and only if the change was committed.
+ */
+@Service
+@Transactional(propagation = Propagation.MANDATORY)
+public class OutboxEventPublisher {
+
+    @Autowired
+    private OutboxEventRepository outboxEventRepository;
+
+    @Autowired
+    private OutboxDeliveryRepository outboxDeliveryRepository;
+
+    @Autowired
+    private OutboxProperties outboxProperties;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    /**
+     * Record a change to an expense.
+     *
+     * @param eventType One of the expense event types
+     * @param expense The expense as it is after the change (or before deletion)
+     */
+    public void publishExpense(OutboxEventType eventType, ExpenseDto expense) {
+        publish(List.of(new OutboxEvent(eventType, expense.getGroupId(), toJson(expense))));
+    }
+
+    /**
+     * Record that transactions were created.
+     *
+     * @param transactions The saved transactions (with IDs assigned)
+     */
+    public void publishTransactionsCreated(List<Transaction> transactions) {
+        publishTransactions(OutboxEventType.TRANSACTION_CREATED, transactions);
+    }
+
+    /**
+     * Record that transactions were deleted.
+     *
+     * @param transactions The transactions being deleted
+     */
+    public void publishTransactionsDeleted(List<Transaction> transactions) {
+        publishTransactions(OutboxEventType.TRANSACTION_DELETED, transactions);
+    }
+
+    private void publishTransactions(OutboxEventType eventType, List<Transaction> transactions) {
+        List<OutboxEvent> events = new ArrayList<>(transactions.size());
+        for (Transaction transaction : transactions) {
+            events.add(new OutboxEvent(eventType, transaction.getGroupId(), toJson(new TransactionPayloadDto(transaction))));
+        }
+        publish(events);
+    }
+
+    /**
+     * Save events and a pending delivery for every subscriber accepting them.
+     */
+    private void publish(List<OutboxEvent> events) {
+        outboxEventRepository.saveAll(events);
+
+        List<OutboxDelivery> deliveries = new ArrayList<>();
+        for (OutboxEvent event : events) {
+            for (OutboxProperties.Subscriber subscriber : outboxProperties.getSubscribers()) {
+                if (subscriber.accepts(event.getEventType())) {
+                    deliveries.add(new OutboxDelivery(event, subscriber.getName()));
+                }
+            }
+        }
+        outboxDeliveryRepository.saveAll(deliveries);
+    }
+
+    private String toJson(Object payload) {
+        try {
+            return objectMapper.writeValueAsString(payload);
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("Failed to serialize event payload", e);
+        }
+    }
+}
@@ -0,0 +1,204 @@
+package com.finshare.groupexpenseservice.service;
+
+import com.finshare.groupexpenseservice.config.OutboxProperties;
+import com.finshare.groupexpenseservice.dto.OutboxEventDto;
+import com.finshare.groupexpenseservice.model.OutboxDelivery;
+import com.finshare.groupexpenseservice.repository.OutboxDeliveryRepository;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Tags;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.springframework.web.reactive.function.client.WebClient;
+import org.springframework.web.reactive.function.client.WebClientResponseException;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Relay delivering outbox events to the subscribed services in batches.
+ *
+ * Each subscriber receives its events at least once and in outbox order, which keeps
+ * every group's changes in the order they were made: a failed batch is retried on the
+ * next run before any later event is sent to that subscriber. Subscribers are independent,
+ * so one being unavailable does not hold back the others. Consumers discard
+ * redeliveries by event ID.
+ *
+ * After a failure the oldest event is retried on its own, with exponential backoff capped at
+ * {@code max-backoff-ms}. Transient failures (connection errors, timeouts, 5xx responses) are
+ * retried until the subscriber recovers; once an event has failed
+ * {@code stalled-after-attempts} times the subscriber is reported as stalled through the
+ * {@code finshare.outbox.stalled} gauge and an error log. Only an event the subscriber rejected
+ * as invalid with a 4xx response is parked, so it does not block everything behind it.
+ * Parked deliveries are kept for investigation and are redelivered once their
+ * {@code parkedAt} is cleared.
+ */
+@Component
+@ConditionalOnProperty(name = "finshare.outbox.relay.enabled", havingValue = "true", matchIfMissing = true)
+public class OutboxRelay {
+
+    private static final Logger logger = LoggerFactory.getLogger(OutboxRelay.class);
+    private static final Duration DELIVERY_TIMEOUT = Duration.ofSeconds(10);
+    private static final String DELIVERIES_METRIC = "finshare.outbox.deliveries";
+    private static final String STALLED_METRIC = "finshare.outbox.stalled";
+
+    private final OutboxDeliveryRepository outboxDeliveryRepository;
+    private final OutboxProperties outboxProperties;
+    private final TransactionTemplate transactionTemplate;
+    private final MeterRegistry meterRegistry;
+    private final Map<String, WebClient> webClients = new HashMap<>();
+    private final Map<String, Instant> retryAfter = new HashMap<>(); // Per subscriber, while backing off
+    private final Map<String, AtomicInteger> stalled = new HashMap<>(); // Per subscriber, 1 while stalled
+    private final int batchSize;
+    private final long intervalMs;
+    private final int stalledAfterAttempts;
+    private final long maxBackoffMs;
+
+    public OutboxRelay(OutboxDeliveryRepository outboxDeliveryRepository,
+                       OutboxProperties outboxProperties,
+                       TransactionTemplate transactionTemplate,
+                       MeterRegistry meterRegistry,
+                       @Value("${finshare.outbox.relay.batch-size:100}") int batchSize,
+                       @Value("${finshare.outbox.relay.interval-ms:1000}") long intervalMs,
+                       @Value("${finshare.outbox.relay.stalled-after-attempts:10}") int stalledAfterAttempts,
+                       @Value("${finshare.outbox.relay.max-backoff-ms:300000}") long maxBackoffMs) {
+        this.outboxDeliveryRepository = outboxDeliveryRepository;
+        this.outboxProperties = outboxProperties;
+        this.transactionTemplate = transactionTemplate;
+        this.meterRegistry = meterRegistry;
+        this.batchSize = batchSize;
+        this.intervalMs = intervalMs;
+        this.stalledAfterAttempts = stalledAfterAttempts;
+        this.maxBackoffMs = maxBackoffMs;
+        for (OutboxProperties.Subscriber subscriber : outboxProperties.getSubscribers()) {
+            webClients.put(subscriber.getName(), WebClient.builder()
+                    .baseUrl(subscriber.getBaseUrl())
+                    .build());
+            stalled.put(subscriber.getName(), meterRegistry.gauge(STALLED_METRIC,
+                    Tags.of("subscriber", subscriber.getName()), new AtomicInteger()));
+        }
+    }
+
+    /**
+     * Deliver pending events to every subscriber.
+     */
+    @Scheduled(fixedDelayString = "${finshare.outbox.relay.interval-ms:1000}")
+    public void relayPendingEvents() {
+        for (OutboxProperties.Subscriber subscriber : outboxProperties.getSubscribers()) {
+            relayTo(subscriber);
+        }
+    }
+
+    /**
+     * Deliver a subscriber's pending events until none are left or a delivery fails.
+     */
+    private void relayTo(OutboxProperties.Subscriber subscriber) {
+        Instant backoffUntil = retryAfter.get(subscriber.getName());
+        if (backoffUntil != null && Instant.now().isBefore(backoffUntil)) {
+            return;
+        }
+        while (true) {
+            List<OutboxDelivery> pending = outboxDeliveryRepository.findPending(subscriber.getName(),
+                    PageRequest.of(0, batchSize));
+            if (pending.isEmpty()) {
+                return;
+            }
+            // Retry a failed event alone, so it can be told apart from the events behind it
+            List<OutboxDelivery> batch = pending.get(0).getAttempts() > 0 ? pending.subList(0, 1) : pending;
+            if (!deliver(subscriber, batch) || (batch == pending && pending.size() < batchSize)) {
+                return;
+            }
+        }
+    }
+
+    /**
+     * Send a batch to a subscriber.
+     *
+     * @return Whether the relay can go on with the following events
+     */
+    private boolean deliver(OutboxProperties.Subscriber subscriber, List<OutboxDelivery> batch) {
+        List<Long> deliveryIds = batch.stream().map(OutboxDelivery::getDeliveryId).toList();
+        try {
+            webClients.get(subscriber.getName()).post()
+                    .uri(subscriber.getPath())
+                    .bodyValue(batch.stream().map(delivery -> new OutboxEventDto(delivery.getEvent())).toList())
+                    .retrieve()
+                    .toBodilessEntity()
+                    .block(DELIVERY_TIMEOUT);
+        } catch (Exception e) {
+            meterRegistry.counter(DELIVERIES_METRIC, "subscriber", subscriber.getName(), "result", "failed")
+                    .increment(batch.size());
+            OutboxDelivery oldest = batch.get(0);
+            int attempts = oldest.getAttempts() + 1;
+            if (batch.size() == 1 && isRejected(e)) {
+                park(subscriber, oldest, attempts, e);
+                return true;
+            }
+
+            Duration backoff = backoff(attempts);
+            if (attempts >= stalledAfterAttempts) {
+                stalled.get(subscriber.getName()).set(1);
+                logger.error("Outbox delivery to {} stalled on event {} after {} attempts, will retry in {} ms: {}",
+                        subscriber.getName(), oldest.getEvent().getEventId(), attempts, backoff.toMillis(),
+                        e.getMessage());
+            } else {
+                logger.warn("Failed to deliver {} outbox events to {}, will retry in {} ms: {}",
+                        batch.size(), subscriber.getName(), backoff.toMillis(), e.getMessage());
+            }
+            transactionTemplate.executeWithoutResult(status -> outboxDeliveryRepository.incrementAttempts(deliveryIds));
+            retryAfter.put(subscriber.getName(), Instant.now().plus(backoff));
+            return false;
+        }
+
+        transactionTemplate.executeWithoutResult(status -> outboxDeliveryRepository.markDelivered(deliveryIds, Instant.now()));
+        retryAfter.remove(subscriber.getName());
+        stalled.get(subscriber.getName()).set(0);
+        meterRegistry.counter(DELIVERIES_METRIC, "subscriber", subscriber.getName(), "result", "delivered")
+                .increment(batch.size());
+        logger.debug("Delivered {} outbox events to {}", batch.size(), subscriber.getName());
+        return true;
+    }
+
+    /**
+     * Give up on a delivery the subscriber rejected, so its later events can go through.
+     */
+    private void park(OutboxProperties.Subscriber subscriber, OutboxDelivery delivery, int attempts, Exception cause) {
+        transactionTemplate.executeWithoutResult(status ->
+                outboxDeliveryRepository.markParked(delivery.getDeliveryId(), Instant.now()));
+        retryAfter.remove(subscriber.getName());
+        stalled.get(subscriber.getName()).set(0);
+        meterRegistry.counter(DELIVERIES_METRIC, "subscriber", subscriber.getName(), "result", "parked").increment();
+        logger.error("Parked outbox event {} ({} in group {}) for {} after {} attempts: {}",
+                delivery.getEvent().getEventId(), delivery.getEvent().getEventType(), delivery.getEvent().getGroupId(),
+                subscriber.getName(), attempts, cause.getMessage());
+    }
+
+    /**
+     * Whether the subscriber refused the request itself, so sending it again cannot succeed.
+     * Timeouts and rate limiting are client errors worth retrying.
+     */
+    private static boolean isRejected(Exception e) {
+        if (!(e instanceof WebClientResponseException response) || !response.getStatusCode().is4xxClientError()) {
+            return false;
+        }
+        int status = response.getStatusCode().value();
+        return status != 408 && status != 429;
+    }
+
+    /**
+     * Delay before the next attempt, doubling with every failure up to the configured maximum.
+     */
+    private Duration backoff(int attempts) {
+        long delayMs = intervalMs << Math.min(attempts - 1, 20);
+        return Duration.ofMillis(Math.min(delayMs, maxBackoffMs));
+    }
+}
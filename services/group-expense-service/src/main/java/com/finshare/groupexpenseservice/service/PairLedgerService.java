@@ -0,0 +1,179 @@
+package com.finshare.groupexpenseservice.service;
+
+import com.finshare.groupexpenseservice.dto.PairBalanceDto;
+import com.finshare.groupexpenseservice.model.GroupPairBalance;
+import com.finshare.groupexpenseservice.model.GroupPairBalanceId;
+import com.finshare.groupexpenseservice.model.GroupPairLedger;
+import com.finshare.groupexpenseservice.model.Transaction;
+import com.finshare.groupexpenseservice.repository.GroupPairBalanceRepository;
+import com.finshare.groupexpenseservice.repository.GroupPairLedgerRepository;
+import com.finshare.groupexpenseservice.repository.GroupRepository;
+import com.finshare.groupexpenseservice.repository.TransactionRepository;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.math.BigDecimal;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.TreeSet;
+
+/**
+ * Service maintaining the net balance of every pair of users in a group.
+ *
+ * Each expense leaves a transaction per (participant, payer) pair behind as its audit
+ * trail, and expenses going back and forth between the same people pile up opposing rows.
+ * When enabled, every expense change also adds its delta to one netted row per pair, so
+ * reading what a group owes touches a row per pair rather than every transaction ever made.
+ * When disabled, reads fold the group's transactions instead. Must be called within the
+ * transaction that changes the transactions, like {@link OutboxEventPublisher}.
+ *
+ * A group's ledger is only trusted once it is known to be complete (see {@link GroupPairLedger}).
+ * Groups with expenses from before the ledger was enabled, or changed while it was disabled,
+ * are read by folding until their next change rebuilds the ledger from their transactions.
+ */
+@Service
+@Transactional(propagation = Propagation.MANDATORY)
+public class PairLedgerService {
+
+    private static final Comparator<GroupPairBalanceId> PAIR_ORDER = Comparator
+            .comparing(GroupPairBalanceId::getGroupId)
+            .thenComparing(GroupPairBalanceId::getUserA)
+            .thenComparing(GroupPairBalanceId::getUserB);
+
+    private final GroupPairBalanceRepository groupPairBalanceRepository;
+    private final GroupPairLedgerRepository groupPairLedgerRepository;
+    private final GroupRepository groupRepository;
+    private final TransactionRepository transactionRepository;
+    private final boolean enabled;
+
+    @Autowired
+    public PairLedgerService(GroupPairBalanceRepository groupPairBalanceRepository,
+                             GroupPairLedgerRepository groupPairLedgerRepository,
+                             GroupRepository groupRepository,
+                             TransactionRepository transactionRepository,
+                             @Value("${finshare.pair-ledger.enabled:false}") boolean enabled) {
+        this.groupPairBalanceRepository = groupPairBalanceRepository;
+        this.groupPairLedgerRepository = groupPairLedgerRepository;
+        this.groupRepository = groupRepository;
+        this.transactionRepository = transactionRepository;
+        this.enabled = enabled;
+    }
+
+    /**
+     * Apply a change to an expense's transactions to the pair ledger.
+     *
+     * Removed and added transactions are netted per pair first, so an update that leaves a
+     * pair's debt unchanged does not touch its row. The groups' rows are locked in ID order
+     * first, so concurrent changes to a group apply one after the other and cannot deadlock,
+     * even when both insert the same new pair. A group whose ledger is not
+     * complete is rebuilt instead, from its transactions as they are after the change.
+     * While disabled, the groups are marked incomplete, so the ledger is never read stale.
+     *
+     * @param removed Transactions being deleted
+     * @param added Transactions being created
+     */
+    public void applyChange(List<Transaction> removed, List<Transaction> added) {
+        Set<String> groupIds = new TreeSet<>();
+        removed.forEach(transaction -> groupIds.add(transaction.getGroupId()));
+        added.forEach(transaction -> groupIds.add(transaction.getGroupId()));
+        if (!enabled) {
+            if (!groupIds.isEmpty()) {
+                groupPairLedgerRepository.deleteByGroupIds(groupIds);
+            }
+            return;
+        }
+
+        // Serialize the group's writers on its row, so a pair's first row is only inserted once
+        Set<String> rebuilt = new TreeSet<>();
+        for (String groupId : groupIds) {
+            groupRepository.findForUpdate(groupId);
+            if (!groupPairLedgerRepository.existsById(groupId)) {
+                rebuild(groupId);
+                rebuilt.add(groupId);
+            }
+        }
+
+        Map<GroupPairBalanceId, GroupPairBalance> deltas = new TreeMap<>(PAIR_ORDER);
+        addDeltas(deltas, removed, true);
+        addDeltas(deltas, added, false);
+
+        for (Map.Entry<GroupPairBalanceId, GroupPairBalance> delta : deltas.entrySet()) {
+            BigDecimal netChange = delta.getValue().getNetAmount();
+            GroupPairBalanceId key = delta.getKey();
+            if (netChange.signum() == 0 || rebuilt.contains(key.getGroupId())) {
+                continue;
+            }
+            GroupPairBalance balance = groupPairBalanceRepository.findById(key)
+                    .orElseGet(() -> new GroupPairBalance(key));
+            balance.applyDebt(key.getUserA(), netChange);
+            groupPairBalanceRepository.save(balance);
+        }
+    }
+
+    /**
+     * Get what each pair of users in a group owes after netting, ordered by pair.
+     *
+     * @param groupId The group ID
+     * @return One entry per pair with an outstanding debt
+     */
+    public List<PairBalanceDto> getPairBalances(String groupId) {
+        List<GroupPairBalance> balances;
+        if (enabled && groupPairLedgerRepository.existsById(groupId)) {
+            balances = groupPairBalanceRepository.findOutstandingByGroupId(groupId);
+        } else {
+            Map<GroupPairBalanceId, GroupPairBalance> folded = new TreeMap<>(PAIR_ORDER);
+            addDeltas(folded, transactionRepository.findByGroupId(groupId), false);
+            balances = new ArrayList<>(folded.values());
+        }
+
+        List<PairBalanceDto> result = new ArrayList<>();
+        for (GroupPairBalance balance : balances) {
+            int sign = balance.getNetAmount().signum();
+            if (sign > 0) {
+                result.add(new PairBalanceDto(balance.getUserA(), balance.getUserB(), balance.getNetAmount()));
+            } else if (sign < 0) {
+                result.add(new PairBalanceDto(balance.getUserB(), balance.getUserA(), balance.getNetAmount().negate()));
+            }
+        }
+        return result;
+    }
+
+    /**
+     * Recompute a group's ledger from its stored transactions and mark it complete.
+     *
+     * Called under the group's row lock, so concurrent first changes rebuild it only once.
+     */
+    private void rebuild(String groupId) {
+        Map<GroupPairBalanceId, GroupPairBalance> folded = new TreeMap<>(PAIR_ORDER);
+        addDeltas(folded, transactionRepository.findByGroupId(groupId), false);
+        for (GroupPairBalance existing : groupPairBalanceRepository.findByGroupId(groupId)) {
+            GroupPairBalance balance = folded.remove(
+                    new GroupPairBalanceId(groupId, existing.getUserA(), existing.getUserB()));
+            existing.setNetAmount(balance != null ? balance.getNetAmount() : BigDecimal.ZERO);
+            existing.setUpdatedAt(Instant.now());
+        }
+        groupPairBalanceRepository.saveAll(folded.values());
+        groupPairLedgerRepository.save(new GroupPairLedger(groupId));
+    }
+
+    /**
+     * Fold transactions into unsaved per-pair balances, subtracting them when {@code reverse} is set.
+     */
+    private static void addDeltas(Map<GroupPairBalanceId, GroupPairBalance> balances,
+                                  List<Transaction> transactions, boolean reverse) {
+        for (Transaction transaction : transactions) {
+            GroupPairBalanceId key = GroupPairBalance.keyOf(
+                    transaction.getGroupId(), transaction.getFromUserId(), transaction.getToUserId());
+            BigDecimal amount = reverse ? transaction.getAmount().negate() : transaction.getAmount();
+            balances.computeIfAbsent(key, GroupPairBalance::new).applyDebt(transaction.getFromUserId(), amount);
+        }
+    }
+}
@@ -0,0 +1,213 @@
+package com.finshare.groupexpenseservice.service;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.finshare.groupexpenseservice.dto.BulkExpenseResultDto;
+import com.finshare.groupexpenseservice.dto.CreateExpenseDto;
+import com.finshare.groupexpenseservice.enums.SplitMethod;
+import com.finshare.groupexpenseservice.exception.ImportTooLargeException;
+import com.finshare.groupexpenseservice.mapper.ExpenseMapper;
+import com.finshare.groupexpenseservice.model.Expense;
+import com.finshare.groupexpenseservice.model.Group;
+import com.finshare.groupexpenseservice.repository.ExpenseRepository;
+import com.finshare.groupexpenseservice.repository.GroupRepository;
+import com.finshare.groupexpenseservice.repository.TransactionRepository;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.mock.mockito.SpyBean;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.io.ByteArrayInputStream;
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.doAnswer;
+
+/**
+ * Integration tests for importing many expenses into a group in one request.
+ */
+@SpringBootTest(properties = {
+        "finshare.outbox.relay.enabled=false",
+        "finshare.expenses.bulk.max-items=10",
+        "finshare.expenses.bulk.chunk-size=2"
+})
+@Transactional
+class ExpenseImportServiceTest {
+
+    @Autowired
+    private ExpenseImportService expenseImportService;
+
+    @Autowired
+    private GroupRepository groupRepository;
+
+    @Autowired
+    private ExpenseRepository expenseRepository;
+
+    @Autowired
+    private TransactionRepository transactionRepository;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @SpyBean
+    private ExpenseMapper expenseMapper;
+
+    @Test
+    void importJson_InvalidItems_AreReportedWithoutStoppingTheRest() throws JsonProcessingException {
+        // Arrange: five expenses, the second with a negative amount and the fourth missing its exact amounts
+        String groupId = createGroup();
+        List<CreateExpenseDto> expenses = new ArrayList<>();
+        for (int i = 0; i < 5; i++) {
+            expenses.add(expense("Expense " + i, "30.00"));
+        }
+        expenses.get(1).setAmount(new BigDecimal("-5.00"));
+        expenses.get(3).setSplit(new CreateExpenseDto.SplitDto(SplitMethod.EXACT, null));
+
+        // Act
+        BulkExpenseResultDto result = expenseImportService.importJson(groupId, json(expenses), "alice");
+
+        // Assert
+        assertEquals(3, result.getCreated());
+        assertEquals(2, result.getFailed());
+        assertEquals(5, result.getResults().size());
+        for (int i : new int[] {0, 2, 4}) {
+            BulkExpenseResultDto.ItemResultDto item = result.getResults().get(i);
+            assertEquals(i, item.getIndex());
+            assertNotNull(item.getExpenseId());
+            assertNull(item.getError());
+            assertEquals(2, transactionRepository.findByExpenseId(item.getExpenseId()).size());
+        }
+        assertEquals("Amount must be positive", result.getResults().get(1).getError());
+        assertNull(result.getResults().get(1).getExpenseId());
+        assertNotNull(result.getResults().get(3).getError());
+        assertEquals(3, expenseRepository.findAll().stream().filter(e -> e.getGroupId().equals(groupId)).count());
+    }
+
+    @Test
+    void importNdjson_MalformedLine_IsReportedAndBlankLinesSkipped() {
+        // Arrange
+        String groupId = createGroup();
+        String body = """
+                {"description": "Groceries", "amount": 45.00, "paidBy": [{"userId": "bob", "amount": 45.00}], "split": {"method": "EQUAL"}}
+
+                {"description": "Fuel", "amount":
+                {"description": "Tickets", "amount": 90.00, "paidBy": [{"userId": "carol", "amount": 90.00}], "split": {"method": "EQUAL"}}
+                """;
+
+        // Act
+        BulkExpenseResultDto result = expenseImportService.importNdjson(groupId, stream(body), "alice");
+
+        // Assert
+        assertEquals(2, result.getCreated());
+        assertEquals(1, result.getFailed());
+        assertNotNull(result.getResults().get(0).getExpenseId());
+        assertEquals(1, result.getResults().get(1).getIndex());
+        assertTrue(result.getResults().get(1).getError().startsWith("Malformed expense"));
+        assertNotNull(result.getResults().get(2).getExpenseId());
+    }
+
+    @Test
+    @Transactional(propagation = Propagation.NOT_SUPPORTED) // Each chunk commits on its own
+    void importNdjson_ChunkThrowing_FailsOnlyThatChunk() throws JsonProcessingException {
+        // Arrange: mapping the third expense blows up, in the second chunk of two
+        doAnswer(invocation -> {
+            Expense expense = invocation.getArgument(0);
+            if (expense.getDescription().equals("Broken")) {
+                throw new IllegalStateException("Mapping failed");
+            }
+            return invocation.callRealMethod();
+        }).when(expenseMapper).toExpenseDto(any(Expense.class));
+        String groupId = createGroup();
+        List<CreateExpenseDto> expenses = new ArrayList<>();
+        for (int i = 0; i < 5; i++) {
+            expenses.add(expense(i == 2 ? "Broken" : "Expense " + i, "30.00"));
+        }
+
+        // Act
+        BulkExpenseResultDto result = expenseImportService.importNdjson(groupId, ndjson(expenses), "alice");
+
+        // Assert: the first and last chunks are saved, the second is reported and rolled back
+        assertEquals(3, result.getCreated());
+        assertEquals(2, result.getFailed());
+        for (int i : new int[] {0, 1, 4}) {
+            assertNotNull(result.getResults().get(i).getExpenseId());
+        }
+        for (int i : new int[] {2, 3}) {
+            assertNull(result.getResults().get(i).getExpenseId());
+            assertEquals("Could not be saved", result.getResults().get(i).getError());
+        }
+        assertEquals(3, expenseRepository.findAll().stream().filter(e -> e.getGroupId().equals(groupId)).count());
+    }
+
+    @Test
+    void importJson_ElementNotAnExpense_IsReported() {
+        // Arrange
+        String groupId = createGroup();
+        String body = """
+                [{"description": "Groceries", "amount": 45.00, "paidBy": [{"userId": "bob", "amount": 45.00}], "split": {"method": "EQUAL"}},
+                 {"description": "Fuel", "amount": "lots"},
+                 null]
+                """;
+
+        // Act
+        BulkExpenseResultDto result = expenseImportService.importJson(groupId, stream(body), "alice");
+
+        // Assert
+        assertEquals(1, result.getCreated());
+        assertTrue(result.getResults().get(1).getError().startsWith("Malformed expense"));
+        assertEquals("Expense is empty", result.getResults().get(2).getError());
+    }
+
+    @Test
+    void importJsonAndNdjson_OverTheLimit_AreRejected() throws JsonProcessingException {
+        // Arrange: one expense more than the limit of ten
+        String groupId = createGroup();
+        List<CreateExpenseDto> expenses = Collections.nCopies(11, expense("Too many", "10.00"));
+
+        // Act & Assert
+        assertThrows(ImportTooLargeException.class,
+                () -> expenseImportService.importJson(groupId, json(expenses), "alice"));
+        assertThrows(ImportTooLargeException.class,
+                () -> expenseImportService.importNdjson(groupId, ndjson(expenses), "alice"));
+        assertEquals(0, expenseRepository.findAll().stream().filter(e -> e.getGroupId().equals(groupId)).count());
+    }
+
+    private String createGroup() {
+        Group group = new Group("Migrated", null, "alice");
+        group.addMember("bob");
+        group.addMember("carol");
+        return groupRepository.save(group).getGroupId();
+    }
+
+    private static ByteArrayInputStream stream(String body) {
+        return new ByteArrayInputStream(body.getBytes(StandardCharsets.UTF_8));
+    }
+
+    private ByteArrayInputStream json(List<CreateExpenseDto> expenses) throws JsonProcessingException {
+        return stream(objectMapper.writeValueAsString(expenses));
+    }
+
+    private ByteArrayInputStream ndjson(List<CreateExpenseDto> expenses) throws JsonProcessingException {
+        StringBuilder body = new StringBuilder();
+        for (CreateExpenseDto expense : expenses) {
+            body.append(objectMapper.writeValueAsString(expense)).append('\n');
+        }
+        return stream(body.toString());
+    }
+
+    private static CreateExpenseDto expense(String description, String amount) {
+        CreateExpenseDto expense = new CreateExpenseDto();
+        expense.setDescription(description);
+        expense.setAmount(new BigDecimal(amount));
+        expense.setPaidBy(List.of(new CreateExpenseDto.PayerDto("alice", new BigDecimal(amount))));
+        expense.setSplit(new CreateExpenseDto.SplitDto(SplitMethod.EQUAL, null));
+        return expense;
+    }
+}
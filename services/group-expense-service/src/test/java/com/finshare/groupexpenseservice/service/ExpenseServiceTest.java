@@ -0,0 +1,119 @@
+package com.finshare.groupexpenseservice.service;
+
+import com.finshare.groupexpenseservice.dto.CreateExpenseDto;
+import com.finshare.groupexpenseservice.dto.ExpenseDetailsPageDto;
+import com.finshare.groupexpenseservice.dto.ExpenseDto;
+import com.finshare.groupexpenseservice.enums.SplitMethod;
+import com.finshare.groupexpenseservice.model.Group;
+import com.finshare.groupexpenseservice.repository.GroupRepository;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.math.BigDecimal;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Integration tests for loading pages of expenses without per-expense queries.
+ */
+@SpringBootTest(properties = {
+        "finshare.outbox.relay.enabled=false",
+        "spring.jpa.show-sql=false",
+        "spring.jpa.properties.hibernate.generate_statistics=true"
+})
+@Transactional
+class ExpenseServiceTest {
+
+    // Group, its member IDs, the keyset page, the expenses with payers, the batch of splits
+    private static final long QUERIES_PER_PAGE = 5;
+
+    @Autowired
+    private ExpenseService expenseService;
+
+    @Autowired
+    private GroupRepository groupRepository;
+
+    @Autowired
+    private EntityManager entityManager;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    private Statistics statistics;
+
+    @BeforeEach
+    void setUp() {
+        statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+    }
+
+    @Test
+    void getGroupExpenseDetails_QueryCountDoesNotGrowWithPageSize() {
+        // Arrange
+        String groupId = createGroupWithExpenses(30);
+
+        // Act
+        long smallPageQueries = countQueries(() -> expenseService.getGroupExpenseDetails(groupId, null, 5, "alice"));
+        long largePageQueries = countQueries(() -> expenseService.getGroupExpenseDetails(groupId, null, 25, "alice"));
+
+        // Assert
+        assertEquals(QUERIES_PER_PAGE, smallPageQueries);
+        assertEquals(QUERIES_PER_PAGE, largePageQueries);
+    }
+
+    @Test
+    void getGroupExpenseDetails_PagesThroughFullExpensesNewestFirst() {
+        // Arrange
+        String groupId = createGroupWithExpenses(7);
+
+        // Act
+        ExpenseDetailsPageDto first = expenseService.getGroupExpenseDetails(groupId, null, 4, "alice");
+        ExpenseDetailsPageDto second = expenseService.getGroupExpenseDetails(groupId, first.getNextCursor(), 4, "alice");
+
+        // Assert
+        assertEquals(4, first.getExpenses().size());
+        assertEquals(3, second.getExpenses().size());
+        assertNull(second.getNextCursor());
+        assertEquals("Expense 6", first.getExpenses().get(0).getDescription());
+        assertEquals("Expense 0", second.getExpenses().get(2).getDescription());
+        for (ExpenseDto expense : first.getExpenses()) {
+            assertEquals(1, expense.getPaidBy().size());
+            assertEquals(3, expense.getSplits().size());
+        }
+    }
+
+    private String createGroupWithExpenses(int count) {
+        Group group = new Group("Flat", null, "alice");
+        group.addMember("bob");
+        group.addMember("carol");
+        String groupId = groupRepository.save(group).getGroupId();
+
+        for (int i = 0; i < count; i++) {
+            CreateExpenseDto expense = new CreateExpenseDto();
+            expense.setDescription("Expense " + i);
+            expense.setAmount(new BigDecimal("30.00"));
+            expense.setPaidBy(List.of(new CreateExpenseDto.PayerDto("alice", new BigDecimal("30.00"))));
+            expense.setSplit(new CreateExpenseDto.SplitDto(SplitMethod.EQUAL, null));
+            expenseService.createExpense(groupId, expense, "alice");
+        }
+
+        // Start each read from an empty persistence context, as a new request would
+        entityManager.flush();
+        entityManager.clear();
+        return groupId;
+    }
+
+    private long countQueries(Runnable action) {
+        entityManager.clear();
+        statistics.clear();
+        action.run();
+        return statistics.getPrepareStatementCount();
+    }
+}
@@ -0,0 +1,90 @@
+package com.finshare.groupexpenseservice.service;
+
+import com.finshare.groupexpenseservice.enums.SplitMethod;
+import com.finshare.groupexpenseservice.model.Expense;
+import com.finshare.groupexpenseservice.model.ExpensePayer;
+import com.finshare.groupexpenseservice.model.ExpenseSplit;
+import com.finshare.groupexpenseservice.model.Transaction;
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for ExpenseTransactionCalculator.
+ */
+class ExpenseTransactionCalculatorTest {
+
+    private final ExpenseTransactionCalculator calculator = new ExpenseTransactionCalculator();
+
+    @Test
+    void calculateTransactions_SinglePayer_EachOtherParticipantOwesTheirShare() {
+        // Arrange: alice pays 30.00 split equally three ways
+        Expense expense = expense(new String[] {"alice"}, new String[] {"30.00"},
+                new String[] {"alice", "bob", "carol"}, new String[] {"10.00", "10.00", "10.00"});
+
+        // Act
+        List<Transaction> transactions = calculator.calculateTransactions(expense);
+
+        // Assert
+        assertEquals(2, transactions.size());
+        assertTransaction(transactions.get(0), "bob", "alice", "10.00");
+        assertTransaction(transactions.get(1), "carol", "alice", "10.00");
+    }
+
+    @Test
+    void calculateTransactions_UnevenPayers_PartsAddUpToEachShareExactly() {
+        // Arrange: three payers covering 100.00 in thirds that do not divide evenly
+        Expense expense = expense(new String[] {"alice", "bob", "carol"}, new String[] {"33.33", "33.33", "33.34"},
+                new String[] {"dave", "erin"}, new String[] {"50.01", "49.99"});
+
+        // Act
+        List<Transaction> transactions = calculator.calculateTransactions(expense);
+
+        // Assert: every cent of each share is owed to someone, none invented
+        assertEquals(6, transactions.size());
+        assertEquals(0, new BigDecimal("50.01").compareTo(owedBy(transactions, "dave")));
+        assertEquals(0, new BigDecimal("49.99").compareTo(owedBy(transactions, "erin")));
+    }
+
+    @Test
+    void calculateTransactions_RepeatedParticipantAndPayer_EmitsOneRowPerPair() {
+        // Arrange: bob appears in two splits and alice in two payer rows
+        Expense expense = expense(new String[] {"alice", "alice"}, new String[] {"5.00", "15.00"},
+                new String[] {"bob", "bob", "alice"}, new String[] {"6.00", "4.00", "10.00"});
+
+        // Act
+        List<Transaction> transactions = calculator.calculateTransactions(expense);
+
+        // Assert
+        assertEquals(1, transactions.size());
+        assertTransaction(transactions.get(0), "bob", "alice", "10.00");
+    }
+
+    private static Expense expense(String[] payerIds, String[] paid, String[] participantIds, String[] owed) {
+        Expense expense = new Expense("group-1", "Dinner", BigDecimal.ZERO, null, SplitMethod.EXACT, payerIds[0]);
+        expense.setExpenseId("expense-1");
+        for (int i = 0; i < payerIds.length; i++) {
+            expense.getPaidBy().add(new ExpensePayer(expense, payerIds[i], new BigDecimal(paid[i])));
+        }
+        for (int i = 0; i < participantIds.length; i++) {
+            expense.getSplits().add(new ExpenseSplit(expense, participantIds[i], new BigDecimal(owed[i])));
+        }
+        return expense;
+    }
+
+    private static BigDecimal owedBy(List<Transaction> transactions, String userId) {
+        return transactions.stream()
+                .filter(t -> t.getFromUserId().equals(userId))
+                .map(Transaction::getAmount)
+                .reduce(BigDecimal.ZERO, BigDecimal::add);
+    }
+
+    private static void assertTransaction(Transaction transaction, String fromUserId, String toUserId, String amount) {
+        assertEquals(fromUserId, transaction.getFromUserId());
+        assertEquals(toUserId, transaction.getToUserId());
+        assertEquals(0, new BigDecimal(amount).compareTo(transaction.getAmount()));
+    }
+}
@@ -0,0 +1,175 @@
+package com.finshare.groupexpenseservice.service;
+
+import com.finshare.groupexpenseservice.config.OutboxProperties;
+import com.finshare.groupexpenseservice.dto.CreateExpenseDto;
+import com.finshare.groupexpenseservice.enums.SplitMethod;
+import com.finshare.groupexpenseservice.model.Group;
+import com.finshare.groupexpenseservice.model.OutboxDelivery;
+import com.finshare.groupexpenseservice.repository.GroupRepository;
+import com.finshare.groupexpenseservice.repository.OutboxDeliveryRepository;
+import com.sun.net.httpserver.HttpServer;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.net.InetSocketAddress;
+import java.util.Comparator;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Integration tests for retrying outbox deliveries and parking those a subscriber rejects.
+ */
+@SpringBootTest(properties = {
+        "finshare.outbox.relay.enabled=false",
+        "balance-service.base-url=http://localhost:1"
+})
+class OutboxRelayTest {
+
+    private static final String SUBSCRIBER = "balance-settlement-service";
+
+    @Autowired
+    private ExpenseService expenseService;
+
+    @Autowired
+    private GroupRepository groupRepository;
+
+    @Autowired
+    private OutboxDeliveryRepository outboxDeliveryRepository;
+
+    @Autowired
+    private OutboxProperties outboxProperties;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    @Test
+    void relayPendingEvents_UnreachableSubscriber_IsRetriedAloneAndReportedAsStalled() {
+        // Arrange: an expense split three ways queues two transaction events for an unreachable subscriber
+        List<Long> deliveryIds = createExpenseWithTwoDeliveries();
+        SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+        OutboxRelay relay = new OutboxRelay(outboxDeliveryRepository, outboxProperties, transactionTemplate,
+                meterRegistry, 100, 0, 3, 0);
+
+        // Act: the batch fails once, then the oldest event alone keeps failing
+        for (int run = 0; run < 4; run++) {
+            relay.relayPendingEvents();
+        }
+
+        // Assert: nothing is parked, but the subscriber is reported as stalled
+        OutboxDelivery oldest = outboxDeliveryRepository.findById(deliveryIds.get(0)).orElseThrow();
+        assertNull(oldest.getParkedAt());
+        assertNull(oldest.getDeliveredAt());
+        assertEquals(4, oldest.getAttempts());
+        OutboxDelivery next = outboxDeliveryRepository.findById(deliveryIds.get(1)).orElseThrow();
+        assertNull(next.getParkedAt());
+        assertEquals(1, next.getAttempts());
+        assertEquals(1.0, meterRegistry.get("finshare.outbox.stalled").tag("subscriber", SUBSCRIBER).gauge().value());
+        assertEquals(0, meterRegistry.find("finshare.outbox.deliveries").tag("result", "parked").counters().size());
+    }
+
+    @Test
+    void relayPendingEvents_SubscriberUnavailableBeyondStallThreshold_DeliversOnceItRecovers() throws IOException {
+        // Arrange: a subscriber answering 503 Service Unavailable to its first five requests
+        AtomicInteger requests = new AtomicInteger();
+        HttpServer server = HttpServer.create(new InetSocketAddress("localhost", 0), 0);
+        server.createContext("/", exchange -> {
+            exchange.getRequestBody().readAllBytes();
+            exchange.sendResponseHeaders(requests.incrementAndGet() <= 5 ? 503 : 200, -1);
+            exchange.close();
+        });
+        server.start();
+        try {
+            List<Long> deliveryIds = createExpenseWithTwoDeliveries();
+            SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+            OutboxRelay relay = new OutboxRelay(outboxDeliveryRepository, propertiesFor(server), transactionTemplate,
+                    meterRegistry, 100, 0, 3, 0);
+
+            // Act: more failed runs than the stall threshold, then the subscriber recovers
+            for (int run = 0; run < 6; run++) {
+                relay.relayPendingEvents();
+            }
+
+            // Assert: both events are delivered and nothing was parked
+            for (Long deliveryId : deliveryIds) {
+                OutboxDelivery delivery = outboxDeliveryRepository.findById(deliveryId).orElseThrow();
+                assertNotNull(delivery.getDeliveredAt());
+                assertNull(delivery.getParkedAt());
+            }
+            assertEquals(5, outboxDeliveryRepository.findById(deliveryIds.get(0)).orElseThrow().getAttempts());
+            assertEquals(0.0, meterRegistry.get("finshare.outbox.stalled").tag("subscriber", SUBSCRIBER).gauge().value());
+        } finally {
+            server.stop(0);
+        }
+    }
+
+    @Test
+    void relayPendingEvents_RejectedEvents_AreParkedWithoutFurtherRetries() throws IOException {
+        // Arrange: a subscriber answering 400 Bad Request to every batch
+        HttpServer server = HttpServer.create(new InetSocketAddress("localhost", 0), 0);
+        server.createContext("/", exchange -> {
+            exchange.sendResponseHeaders(400, -1);
+            exchange.close();
+        });
+        server.start();
+        try {
+            List<Long> deliveryIds = createExpenseWithTwoDeliveries();
+            OutboxRelay relay = new OutboxRelay(outboxDeliveryRepository, propertiesFor(server), transactionTemplate,
+                    new SimpleMeterRegistry(), 100, 0, 10, 0);
+
+            // Act: the batch is rejected, then each event is rejected on its own
+            relay.relayPendingEvents();
+            relay.relayPendingEvents();
+
+            // Assert: both are parked without waiting for the subscriber to recover
+            for (Long deliveryId : deliveryIds) {
+                OutboxDelivery parked = outboxDeliveryRepository.findById(deliveryId).orElseThrow();
+                assertNotNull(parked.getParkedAt());
+                assertEquals(2, parked.getAttempts());
+            }
+        } finally {
+            server.stop(0);
+        }
+    }
+
+    private OutboxProperties propertiesFor(HttpServer server) {
+        OutboxProperties.Subscriber subscriber = new OutboxProperties.Subscriber();
+        subscriber.setName(SUBSCRIBER);
+        subscriber.setBaseUrl("http://localhost:" + server.getAddress().getPort());
+        subscriber.setPath("/internal/transaction-events");
+        OutboxProperties properties = new OutboxProperties();
+        properties.setSubscribers(List.of(subscriber));
+        return properties;
+    }
+
+    private List<Long> createExpenseWithTwoDeliveries() {
+        Group group = new Group("Outbox", null, "alice");
+        group.addMember("bob");
+        group.addMember("carol");
+        String groupId = groupRepository.save(group).getGroupId();
+        CreateExpenseDto expense = new CreateExpenseDto();
+        expense.setDescription("Dinner");
+        expense.setAmount(new BigDecimal("30.00"));
+        expense.setPaidBy(List.of(new CreateExpenseDto.PayerDto("alice", new BigDecimal("30.00"))));
+        expense.setSplit(new CreateExpenseDto.SplitDto(SplitMethod.EQUAL, null));
+        expenseService.createExpense(groupId, expense, "alice");
+        List<Long> deliveryIds = deliveryIds(groupId);
+        assertEquals(2, deliveryIds.size());
+        return deliveryIds;
+    }
+
+    private List<Long> deliveryIds(String groupId) {
+        return transactionTemplate.execute(status -> outboxDeliveryRepository.findAll().stream()
+                .filter(delivery -> delivery.getSubscriber().equals(SUBSCRIBER))
+                .filter(delivery -> delivery.getEvent().getGroupId().equals(groupId))
+                .sorted(Comparator.comparing(delivery -> delivery.getEvent().getSequenceNumber()))
+                .map(OutboxDelivery::getDeliveryId)
+                .toList());
+    }
+}
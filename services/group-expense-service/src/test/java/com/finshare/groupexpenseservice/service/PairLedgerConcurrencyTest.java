@@ -0,0 +1,100 @@
+package com.finshare.groupexpenseservice.service;
+
+import com.finshare.groupexpenseservice.dto.CreateExpenseDto;
+import com.finshare.groupexpenseservice.dto.PairBalanceDto;
+import com.finshare.groupexpenseservice.enums.SplitMethod;
+import com.finshare.groupexpenseservice.model.Group;
+import com.finshare.groupexpenseservice.repository.GroupRepository;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Integration tests for concurrent expense changes to the netted pair ledger.
+ *
+ * Not transactional: each expense must commit on its own thread, as it would in production.
+ */
+@SpringBootTest(properties = {
+        "finshare.outbox.relay.enabled=false",
+        "finshare.pair-ledger.enabled=true"
+})
+class PairLedgerConcurrencyTest {
+
+    private static final int EXPENSES = 4;
+
+    @Autowired
+    private ExpenseService expenseService;
+
+    @Autowired
+    private GroupRepository groupRepository;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    @Test
+    void createExpense_ConcurrentExpensesFirstTouchingAPair_InsertItsRowOnce() throws Exception {
+        // Arrange: a group with a complete ledger that aaron joins after its first expense;
+        // his pair with alice sorts first, so no existing row is locked before it is inserted
+        Group group = new Group("Trip", null, "alice");
+        group.addMember("bob");
+        String groupId = groupRepository.save(group).getGroupId();
+        createExpense(groupId, "10.00");
+        transactionTemplate.executeWithoutResult(status -> {
+            Group joined = groupRepository.findById(groupId).orElseThrow();
+            joined.addMember("aaron");
+            groupRepository.save(joined);
+        });
+
+        // Act: several expenses race to add aaron's first debt to alice
+        ExecutorService executor = Executors.newFixedThreadPool(EXPENSES);
+        CountDownLatch start = new CountDownLatch(1);
+        try {
+            List<Future<?>> futures = new ArrayList<>();
+            for (int i = 0; i < EXPENSES; i++) {
+                futures.add(executor.submit(() -> {
+                    start.await();
+                    return createExpense(groupId, "30.00");
+                }));
+            }
+            start.countDown();
+            for (Future<?> future : futures) {
+                future.get();
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+        List<PairBalanceDto> balances = transactionTemplate.execute(status ->
+                expenseService.getGroupPairBalances(groupId, "alice"));
+
+        // Assert: every expense was applied to the one row per pair
+        assertEquals(2, balances.size());
+        assertBalance(balances.get(0), "aaron", "alice", "40.00");
+        assertBalance(balances.get(1), "bob", "alice", "45.00");
+    }
+
+    private String createExpense(String groupId, String amount) {
+        CreateExpenseDto expense = new CreateExpenseDto();
+        expense.setDescription("Paid by alice");
+        expense.setAmount(new BigDecimal(amount));
+        expense.setPaidBy(List.of(new CreateExpenseDto.PayerDto("alice", new BigDecimal(amount))));
+        expense.setSplit(new CreateExpenseDto.SplitDto(SplitMethod.EQUAL, null));
+        return expenseService.createExpense(groupId, expense, "alice").getExpenseId();
+    }
+
+    private static void assertBalance(PairBalanceDto balance, String fromUserId, String toUserId, String amount) {
+        assertEquals(fromUserId, balance.getFromUserId());
+        assertEquals(toUserId, balance.getToUserId());
+        assertEquals(0, new BigDecimal(amount).compareTo(balance.getAmount()));
+    }
+}
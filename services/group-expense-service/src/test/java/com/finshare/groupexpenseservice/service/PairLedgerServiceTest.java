@@ -0,0 +1,144 @@
+package com.finshare.groupexpenseservice.service;
+
+import com.finshare.groupexpenseservice.dto.CreateExpenseDto;
+import com.finshare.groupexpenseservice.dto.PairBalanceDto;
+import com.finshare.groupexpenseservice.dto.UpdateExpenseDto;
+import com.finshare.groupexpenseservice.enums.SplitMethod;
+import com.finshare.groupexpenseservice.model.Group;
+import com.finshare.groupexpenseservice.model.Transaction;
+import com.finshare.groupexpenseservice.repository.GroupPairBalanceRepository;
+import com.finshare.groupexpenseservice.repository.GroupPairLedgerRepository;
+import com.finshare.groupexpenseservice.repository.GroupRepository;
+import com.finshare.groupexpenseservice.repository.TransactionRepository;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.math.BigDecimal;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Integration tests for keeping the netted pair ledger in step with expense changes.
+ */
+@SpringBootTest(properties = {
+        "finshare.outbox.relay.enabled=false",
+        "finshare.pair-ledger.enabled=true"
+})
+@Transactional
+class PairLedgerServiceTest {
+
+    @Autowired
+    private ExpenseService expenseService;
+
+    @Autowired
+    private GroupRepository groupRepository;
+
+    @Autowired
+    private GroupPairBalanceRepository groupPairBalanceRepository;
+
+    @Autowired
+    private GroupPairLedgerRepository groupPairLedgerRepository;
+
+    @Autowired
+    private TransactionRepository transactionRepository;
+
+    @Test
+    void getGroupPairBalances_OpposingExpenses_AreNettedPerPair() {
+        // Arrange: alice pays 30.00 and bob pays 60.00, each split three ways
+        String groupId = createGroup();
+        createExpense(groupId, "alice", "30.00");
+        createExpense(groupId, "bob", "60.00");
+
+        // Act
+        List<PairBalanceDto> balances = expenseService.getGroupPairBalances(groupId, "alice");
+
+        // Assert: bob's 10.00 debt to alice cancels half of alice's 20.00 debt to bob
+        assertEquals(3, balances.size());
+        assertBalance(balances.get(0), "alice", "bob", "10.00");
+        assertBalance(balances.get(1), "carol", "alice", "10.00");
+        assertBalance(balances.get(2), "carol", "bob", "20.00");
+        assertEquals(3, groupPairBalanceRepository.findAll().size());
+        assertEquals(4, transactionRepository.findByGroupId(groupId).size());
+    }
+
+    @Test
+    void getGroupPairBalances_AfterUpdateAndDelete_MatchesFoldedTransactions() {
+        // Arrange
+        String groupId = createGroup();
+        String lunch = createExpense(groupId, "alice", "30.00");
+        String taxi = createExpense(groupId, "bob", "60.00");
+
+        // Act: shrink bob's expense to 30.00, then remove alice's
+        UpdateExpenseDto update = new UpdateExpenseDto();
+        update.setAmount(new BigDecimal("30.00"));
+        update.setPaidBy(List.of(new CreateExpenseDto.PayerDto("bob", new BigDecimal("30.00"))));
+        update.setSplit(new CreateExpenseDto.SplitDto(SplitMethod.EQUAL, null));
+        expenseService.updateExpense(taxi, update, "bob");
+        List<PairBalanceDto> afterUpdate = expenseService.getGroupPairBalances(groupId, "alice");
+        expenseService.deleteExpense(lunch, "alice");
+        List<PairBalanceDto> afterDelete = expenseService.getGroupPairBalances(groupId, "alice");
+
+        // Assert: alice and bob are square after the update, and the ledger agrees with the audit trail
+        assertEquals(2, afterUpdate.size());
+        assertBalance(afterUpdate.get(0), "carol", "alice", "10.00");
+        assertBalance(afterUpdate.get(1), "carol", "bob", "10.00");
+        assertEquals(2, afterDelete.size());
+        assertBalance(afterDelete.get(0), "alice", "bob", "10.00");
+        assertBalance(afterDelete.get(1), "carol", "bob", "10.00");
+
+        List<PairBalanceDto> folded = new PairLedgerService(groupPairBalanceRepository,
+                groupPairLedgerRepository, groupRepository, transactionRepository, false)
+                .getPairBalances(groupId);
+        assertEquals(afterDelete.size(), folded.size());
+        for (int i = 0; i < folded.size(); i++) {
+            assertBalance(afterDelete.get(i), folded.get(i).getFromUserId(), folded.get(i).getToUserId(),
+                    folded.get(i).getAmount().toPlainString());
+        }
+    }
+
+    @Test
+    void getGroupPairBalances_TransactionsFromBeforeTheLedger_AreFoldedThenRebuilt() {
+        // Arrange: bob already owes alice 40.00 from an expense recorded before the ledger existed
+        String groupId = createGroup();
+        transactionRepository.save(new Transaction("legacy-expense", groupId, "bob", "alice", new BigDecimal("40.00")));
+
+        // Act: read before and after the group's first change
+        List<PairBalanceDto> beforeChange = expenseService.getGroupPairBalances(groupId, "alice");
+        createExpense(groupId, "alice", "30.00");
+        List<PairBalanceDto> afterChange = expenseService.getGroupPairBalances(groupId, "alice");
+
+        // Assert: the rebuilt ledger includes the old debt as well as the new expense
+        assertEquals(1, beforeChange.size());
+        assertBalance(beforeChange.get(0), "bob", "alice", "40.00");
+        assertTrue(groupPairLedgerRepository.existsById(groupId));
+        assertEquals(2, afterChange.size());
+        assertBalance(afterChange.get(0), "bob", "alice", "50.00");
+        assertBalance(afterChange.get(1), "carol", "alice", "10.00");
+        assertEquals(2, groupPairBalanceRepository.findByGroupId(groupId).size());
+    }
+
+    private String createGroup() {
+        Group group = new Group("Trip", null, "alice");
+        group.addMember("bob");
+        group.addMember("carol");
+        return groupRepository.save(group).getGroupId();
+    }
+
+    private String createExpense(String groupId, String payerId, String amount) {
+        CreateExpenseDto expense = new CreateExpenseDto();
+        expense.setDescription("Paid by " + payerId);
+        expense.setAmount(new BigDecimal(amount));
+        expense.setPaidBy(List.of(new CreateExpenseDto.PayerDto(payerId, new BigDecimal(amount))));
+        expense.setSplit(new CreateExpenseDto.SplitDto(SplitMethod.EQUAL, null));
+        return expenseService.createExpense(groupId, expense, payerId).getExpenseId();
+    }
+
+    private static void assertBalance(PairBalanceDto balance, String fromUserId, String toUserId, String amount) {
+        assertEquals(fromUserId, balance.getFromUserId());
+        assertEquals(toUserId, balance.getToUserId());
+        assertEquals(0, new BigDecimal(amount).compareTo(balance.getAmount()));
+    }
+}